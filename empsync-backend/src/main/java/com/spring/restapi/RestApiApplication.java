@@ -7,6 +7,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -14,6 +15,7 @@ import com.spring.restapi.service.AuthService;
 
 @SpringBootApplication
 @EnableScheduling  // ADD THIS to enable scheduled tasks for token cleanup
+@EnableCaching
 public class RestApiApplication {
 
     private static final Logger logger = LoggerFactory.getLogger(RestApiApplication.class);
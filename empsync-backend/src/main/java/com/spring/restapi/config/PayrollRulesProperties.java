@@ -0,0 +1,46 @@
+package com.spring.restapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Payroll rule configuration. Tax tables are keyed by "financialYear.REGIME"
+ * (e.g. {@code empsync.payroll.tax-tables[2025-26.OLD]}) and written as
+ * comma-separated "lowerBound:ratePercent" slabs. Tables stored in the
+ * tax_slabs table override configured ones with the same key.
+ */
+@Component
+@ConfigurationProperties(prefix = "empsync.payroll")
+public class PayrollRulesProperties {
+
+    // Blank means the financial year containing today (April to March)
+    private String financialYear;
+
+    private String taxRegime = "OLD";
+
+    private BigDecimal bonusRatePercent = BigDecimal.valueOf(10);
+
+    private BigDecimal pfRatePercent = BigDecimal.valueOf(12);
+
+    private Map<String, String> taxTables = new LinkedHashMap<>(Map.of(
+            "2025-26.OLD", "0:0,250000:5,500000:20,1000000:30"));
+
+    public String getFinancialYear() { return financialYear; }
+    public void setFinancialYear(String financialYear) { this.financialYear = financialYear; }
+
+    public String getTaxRegime() { return taxRegime; }
+    public void setTaxRegime(String taxRegime) { this.taxRegime = taxRegime; }
+
+    public BigDecimal getBonusRatePercent() { return bonusRatePercent; }
+    public void setBonusRatePercent(BigDecimal bonusRatePercent) { this.bonusRatePercent = bonusRatePercent; }
+
+    public BigDecimal getPfRatePercent() { return pfRatePercent; }
+    public void setPfRatePercent(BigDecimal pfRatePercent) { this.pfRatePercent = pfRatePercent; }
+
+    public Map<String, String> getTaxTables() { return taxTables; }
+    public void setTaxTables(Map<String, String> taxTables) { this.taxTables = taxTables; }
+}
@@ -0,0 +1,45 @@
+package com.spring.restapi.config;
+
+import com.spring.restapi.service.EmployeeSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Enables trigram search once the indexes created by the V3 migration are in
+ * place and valid. A CONCURRENTLY build that failed leaves an invalid index
+ * behind, in which case search stays on the substring fallback.
+ */
+@Component
+public class SearchIndexInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexInitializer.class);
+
+    private static final String VALID_INDEXES_SQL = "SELECT count(*) FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+            + "WHERE c.relname IN ('idx_employees_name_trgm_gist', 'idx_employees_email_trgm_gist', 'idx_employees_name_prefix') "
+            + "AND i.indisvalid";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeSearchService employeeSearchService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            Integer valid = jdbcTemplate.queryForObject(VALID_INDEXES_SQL, Integer.class);
+            if (valid != null && valid == 3) {
+                employeeSearchService.setTrigramAvailable(true);
+                logger.info("🔍 Employee search indexes ready");
+            } else {
+                logger.warn("⚠️ Trigram search indexes missing or invalid; using substring search");
+            }
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not check trigram search indexes: {}", e.getMessage());
+        }
+    }
+}
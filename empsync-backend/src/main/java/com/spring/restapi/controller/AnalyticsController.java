@@ -0,0 +1,57 @@
+package com.spring.restapi.controller;
+
+import com.spring.restapi.dto.SalaryDistribution;
+import com.spring.restapi.service.SalaryAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    private static final int MAX_BINS = 100;
+
+    @Autowired
+    private SalaryAnalyticsService salaryAnalyticsService;
+
+    @GetMapping("/salary")
+    public ResponseEntity<Map<String, Object>> getSalaryDistribution(
+            @RequestParam(defaultValue = "department,position") List<String> groupBy,
+            @RequestParam(defaultValue = "10") int bins) {
+        logger.info("GET SALARY ANALYTICS REQUEST - Group By: {}, Bins: {}", groupBy, bins);
+
+        if (bins < 1 || bins > MAX_BINS) {
+            throw new IllegalArgumentException("bins must be between 1 and " + MAX_BINS);
+        }
+        for (String group : groupBy) {
+            if (!group.equals("department") && !group.equals("position")) {
+                throw new IllegalArgumentException("Unsupported groupBy: " + group + " (allowed: department, position)");
+            }
+        }
+
+        SalaryDistribution overall = salaryAnalyticsService.getOverall(bins);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", overall.count());
+        response.put("overall", overall);
+        if (groupBy.contains("department")) {
+            response.put("departments", salaryAnalyticsService.getByDepartment(bins));
+        }
+        if (groupBy.contains("position")) {
+            response.put("positions", salaryAnalyticsService.getByPosition(bins));
+        }
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,15 +1,28 @@
 package com.spring.restapi.controller;
 
+import com.spring.restapi.dto.AttendanceRequest;
+import com.spring.restapi.dto.AttendanceTrend;
+import com.spring.restapi.dto.PunchStatus;
 import com.spring.restapi.models.Attendance;
 import com.spring.restapi.service.AttendanceService;
+import com.spring.restapi.service.AttendanceWriteBehind;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -26,16 +39,39 @@ public class AttendanceController {
     @Autowired
     private AttendanceService attendanceService;
 
+    @Autowired
+    private NdjsonResponseWriter ndjsonResponseWriter;
+
+    @Autowired
+    private PresenceBroadcaster presenceBroadcaster;
+
+    @Autowired
+    private AttendanceWriteBehind attendanceWriteBehind;
+
+    @Value("${empsync.attendance.write-behind.ack-timeout-ms:2000}")
+    private long ackTimeoutMs;
+
     @PostMapping("/check-in")
-    public ResponseEntity<?> checkIn(@RequestBody Map<String, Object> checkInData) {
-        logger.info("CHECK-IN REQUEST - Data: {}", checkInData);
+    public ResponseEntity<?> checkIn(@Valid @RequestBody AttendanceRequest request,
+                                     @RequestParam(defaultValue = "committed") String ack) {
+        logger.info("CHECK-IN REQUEST - Employee ID: {}, Location: {}", request.employeeId(), request.location());
 
         try {
-            Long employeeId = ((Number) checkInData.get("employeeId")).longValue();
-            String location = (String) checkInData.get("location");
-            String notes = (String) checkInData.get("notes");
-
-            Attendance attendance = attendanceService.checkIn(employeeId, location, notes);
+            Attendance attendance = null;
+            if (attendanceWriteBehind.isEnabled()) {
+                Optional<PunchStatus> punch = attendanceWriteBehind.submit(AttendanceWriteBehind.CHECK_IN,
+                        request.employeeId(), request.location(), request.notes());
+                if (punch.isPresent()) {
+                    Optional<Attendance> committed = awaitPunch(punch.get(), ack);
+                    if (committed.isEmpty()) {
+                        return punchAccepted(punch.get());
+                    }
+                    attendance = committed.get();
+                }
+            }
+            if (attendance == null) {
+                attendance = attendanceService.checkIn(request.employeeId(), request.location(), request.notes());
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -63,15 +99,26 @@ public class AttendanceController {
     }
 
     @PostMapping("/check-out")
-    public ResponseEntity<?> checkOut(@RequestBody Map<String, Object> checkOutData) {
-        logger.info("CHECK-OUT REQUEST - Data: {}", checkOutData);
+    public ResponseEntity<?> checkOut(@Valid @RequestBody AttendanceRequest request,
+                                      @RequestParam(defaultValue = "committed") String ack) {
+        logger.info("CHECK-OUT REQUEST - Employee ID: {}, Location: {}", request.employeeId(), request.location());
 
         try {
-            Long employeeId = ((Number) checkOutData.get("employeeId")).longValue();
-            String location = (String) checkOutData.get("location");
-            String notes = (String) checkOutData.get("notes");
-
-            Attendance attendance = attendanceService.checkOut(employeeId, location, notes);
+            Attendance attendance = null;
+            if (attendanceWriteBehind.isEnabled()) {
+                Optional<PunchStatus> punch = attendanceWriteBehind.submit(AttendanceWriteBehind.CHECK_OUT,
+                        request.employeeId(), request.location(), request.notes());
+                if (punch.isPresent()) {
+                    Optional<Attendance> committed = awaitPunch(punch.get(), ack);
+                    if (committed.isEmpty()) {
+                        return punchAccepted(punch.get());
+                    }
+                    attendance = committed.get();
+                }
+            }
+            if (attendance == null) {
+                attendance = attendanceService.checkOut(request.employeeId(), request.location(), request.notes());
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -98,6 +145,22 @@ public class AttendanceController {
         }
     }
 
+    @GetMapping("/punches/{punchId}")
+    public ResponseEntity<Map<String, Object>> getPunchStatus(@PathVariable String punchId) {
+        logger.info("GET PUNCH STATUS REQUEST - Punch ID: {}", punchId);
+
+        Map<String, Object> response = new HashMap<>();
+        Optional<PunchStatus> punch = attendanceWriteBehind.getStatus(punchId);
+        if (punch.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Punch not found with id: " + punchId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("punch", punch.get());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/employee/{employeeId}")
     public ResponseEntity<Map<String, Object>> getEmployeeAttendance(@PathVariable Long employeeId) {
         logger.info("GET EMPLOYEE ATTENDANCE REQUEST - Employee ID: {}", employeeId);
@@ -129,7 +192,16 @@ public class AttendanceController {
     @GetMapping("/date-range")
     public ResponseEntity<Map<String, Object>> getAttendanceByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean stream,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse servletResponse) throws IOException {
+        if (ndjsonResponseWriter.isRequested(stream, accept)) {
+            logger.info("STREAM ATTENDANCE BY DATE RANGE REQUEST - Start: {}, End: {}", startDate, endDate);
+            ndjsonResponseWriter.write(servletResponse, sink -> attendanceService.streamAttendanceByDateRange(startDate, endDate, sink));
+            return null;
+        }
+
         logger.info("GET ATTENDANCE BY DATE RANGE REQUEST - Start: {}, End: {}", startDate, endDate);
 
         List<Attendance> attendances = attendanceService.getAttendanceByDateRange(startDate, endDate);
@@ -198,15 +270,32 @@ public class AttendanceController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/trends")
+    public ResponseEntity<Map<String, Object>> getAttendanceTrends(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long employeeId) {
+        logger.info("GET ATTENDANCE TRENDS REQUEST - Employee ID: {}, Start: {}, End: {}", employeeId, startDate, endDate);
+
+        List<AttendanceTrend> trends = attendanceService.getAttendanceTrends(employeeId, startDate, endDate);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", trends.size());
+        response.put("employeeId", employeeId);
+        response.put("startDate", startDate);
+        response.put("endDate", endDate);
+        response.put("trends", trends);
+
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/mark-absent")
-    public ResponseEntity<?> markAbsent(@RequestBody Map<String, Object> absentData) {
-        logger.info("MARK ABSENT REQUEST - Data: {}", absentData);
+    public ResponseEntity<?> markAbsent(@Valid @RequestBody AttendanceRequest request) {
+        logger.info("MARK ABSENT REQUEST - Employee ID: {}", request.employeeId());
 
         try {
-            Long employeeId = ((Number) absentData.get("employeeId")).longValue();
-            String notes = (String) absentData.get("notes");
-
-            Attendance attendance = attendanceService.markAbsent(employeeId, notes);
+            Attendance attendance = attendanceService.markAbsent(request.employeeId(), request.notes());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -246,4 +335,43 @@ public class AttendanceController {
 
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/active/summary")
+    public ResponseEntity<Map<String, Object>> getPresenceSummary() {
+        logger.info("GET PRESENCE SUMMARY REQUEST");
+
+        Map<String, Object> response = new HashMap<>(attendanceService.getPresenceSummary());
+        response.put("success", true);
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Live replacement for polling /active: a snapshot event, then check-in, check-out and absent events
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPresence() {
+        logger.info("PRESENCE STREAM REQUEST");
+
+        return presenceBroadcaster.subscribe()
+                .map(emitter -> ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30").build());
+    }
+
+    // ack=accepted returns once the punch is journaled; otherwise wait for its batch to commit
+    private Optional<Attendance> awaitPunch(PunchStatus punch, String ack) throws InterruptedException {
+        if ("accepted".equalsIgnoreCase(ack)) {
+            return Optional.empty();
+        }
+        return attendanceWriteBehind.awaitCommit(punch.punchId(), ackTimeoutMs);
+    }
+
+    private ResponseEntity<Map<String, Object>> punchAccepted(PunchStatus punch) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Punch accepted");
+        response.put("punch", punch);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/attendance/punches/" + punch.punchId()))
+                .body(response);
+    }
 }
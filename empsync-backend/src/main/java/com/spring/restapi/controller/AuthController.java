@@ -1,13 +1,16 @@
 // src/main/java/com/spring/restapi/controller/AuthController.java
 package com.spring.restapi.controller;
 
+import com.spring.restapi.dto.EmailRequest;
 import com.spring.restapi.dto.LoginRequest;
+import com.spring.restapi.dto.PasswordResetRequest;
 import com.spring.restapi.dto.RegisterRequest;
 import com.spring.restapi.dto.AuthResponse;
 import com.spring.restapi.models.User;
 import com.spring.restapi.repository.UserRepository;
 import com.spring.restapi.service.AuthService;
 import com.spring.restapi.service.VerificationService;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -130,9 +133,9 @@ public class AuthController {
 
     // NEW ENDPOINT: Resend Verification Email
     @PostMapping("/resend-verification")
-    public ResponseEntity<Map<String, Object>> resendVerification(@RequestBody Map<String, String> request) {
+    public ResponseEntity<Map<String, Object>> resendVerification(@Valid @RequestBody EmailRequest request) {
         try {
-            String email = request.get("email");
+            String email = request.email();
             logger.info("📧 Resend verification request for: {}", email);
 
             Optional<User> userOpt = userRepository.findByEmail(email);
@@ -170,9 +173,9 @@ public class AuthController {
 
     // NEW ENDPOINT: Forgot Password
     @PostMapping("/forgot-password")
-    public ResponseEntity<Map<String, Object>> forgotPassword(@RequestBody Map<String, String> request) {
+    public ResponseEntity<Map<String, Object>> forgotPassword(@Valid @RequestBody EmailRequest request) {
         try {
-            String email = request.get("email");
+            String email = request.email();
             logger.info("🔑 Forgot password request for: {}", email);
 
             verificationService.createAndSendPasswordReset(email);
@@ -196,10 +199,10 @@ public class AuthController {
 
     // NEW ENDPOINT: Reset Password
     @PostMapping("/reset-password")
-    public ResponseEntity<Map<String, Object>> resetPassword(@RequestBody Map<String, String> request) {
+    public ResponseEntity<Map<String, Object>> resetPassword(@Valid @RequestBody PasswordResetRequest request) {
         try {
-            String token = request.get("token");
-            String newPassword = request.get("newPassword");
+            String token = request.token();
+            String newPassword = request.newPassword();
 
             logger.info("🔑 Password reset request with token: {}", token.substring(0, 8) + "...");
 
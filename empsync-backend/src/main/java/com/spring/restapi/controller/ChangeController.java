@@ -0,0 +1,51 @@
+package com.spring.restapi.controller;
+
+import com.spring.restapi.dto.ChangeCursor;
+import com.spring.restapi.dto.ChangePage;
+import com.spring.restapi.service.ChangeFeedService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "*")
+public class ChangeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeController.class);
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam(required = false) String since,
+                                                          @RequestParam(defaultValue = "500") int limit) {
+        logger.info("GET CHANGES REQUEST - Since: {}, Limit: {}", since, limit);
+
+        ChangePage page = changeFeedService.getChanges(ChangeCursor.decode(since), limit);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", page.changes().size());
+        response.put("changes", page.changes());
+        response.put("cursor", page.next().encode());
+        response.put("hasMore", page.hasMore());
+        return ResponseEntity.ok(response);
+    }
+
+    // Take before a full download, then poll GET /api/changes?since=<cursor>
+    @GetMapping("/head")
+    public ResponseEntity<Map<String, Object>> getHead() {
+        logger.info("GET CHANGES HEAD REQUEST");
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("cursor", changeFeedService.getHead().encode());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,15 +1,18 @@
 package com.spring.restapi.controller;
 
-import com.spring.restapi.service.EmployeeService;
+import com.spring.restapi.dto.DepartmentRequest;
+import com.spring.restapi.dto.DepartmentSummary;
+import com.spring.restapi.models.Department;
+import com.spring.restapi.service.DepartmentService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/departments")
@@ -17,36 +20,30 @@ import java.util.stream.Collectors;
 public class DepartmentController {
 
     @Autowired
-    private EmployeeService employeeService;
+    private DepartmentService departmentService;
 
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getDepartmentStats() {
-        List<String> departments = employeeService.getAllDepartments();
-        
-        List<Map<String, Object>> stats = departments.stream().map(dept -> {
-            Map<String, Object> deptStats = new HashMap<>();
-            long count = employeeService.getDepartmentCount(dept);
-            BigDecimal avgSalary = employeeService.getAverageSalaryByDepartment(dept);
-            
-            deptStats.put("name", dept);
-            deptStats.put("count", count);
-            deptStats.put("averageSalary", avgSalary != null ? avgSalary : BigDecimal.ZERO);
-            return deptStats;
-        }).collect(Collectors.toList());
-        
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<List<DepartmentSummary>> getDepartmentStats() {
+        return ResponseEntity.ok(departmentService.getDepartmentSummaries());
     }
 
     @GetMapping("/{name}")
-    public ResponseEntity<Map<String, Object>> getDepartmentDetails(@PathVariable String name) {
-        long count = employeeService.getDepartmentCount(name);
-        BigDecimal avgSalary = employeeService.getAverageSalaryByDepartment(name);
-        
+    public ResponseEntity<?> getDepartmentDetails(@PathVariable String name) {
+        return departmentService.getDepartmentSummary(name)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("success", false, "message", "Department not found: " + name)));
+    }
+
+    @PutMapping("/{name}")
+    public ResponseEntity<Map<String, Object>> saveDepartment(@PathVariable String name,
+                                                              @Valid @RequestBody DepartmentRequest department) {
+        Department saved = departmentService.saveDepartment(name, department);
+
         Map<String, Object> response = new HashMap<>();
-        response.put("name", name);
-        response.put("count", count);
-        response.put("averageSalary", avgSalary != null ? avgSalary : BigDecimal.ZERO);
-        
+        response.put("success", true);
+        response.put("message", "Department saved successfully");
+        response.put("department", saved);
         return ResponseEntity.ok(response);
     }
 }
@@ -1,20 +1,44 @@
 package com.spring.restapi.controller;
 
+import com.spring.restapi.dto.BulkRowResult;
+import com.spring.restapi.dto.EmployeeCreateRequest;
+import com.spring.restapi.dto.EmployeeCursor;
+import com.spring.restapi.dto.EmployeeFields;
+import com.spring.restapi.dto.EmployeeFilter;
+import com.spring.restapi.dto.ReferenceData;
 import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.EmployeeSpecifications;
+import com.spring.restapi.service.EmployeeBulkService;
+import com.spring.restapi.service.EmployeeSearchService;
 import com.spring.restapi.service.EmployeeService;
+import com.spring.restapi.service.ReferenceDataService;
 import com.spring.restapi.exception.EmployeeNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/employees")
@@ -26,6 +50,21 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeBulkService employeeBulkService;
+
+    @Autowired
+    private EmployeeSearchService employeeSearchService;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Value("${empsync.reference-data.max-age-seconds:60}")
+    private long referenceDataMaxAgeSeconds;
+
+    @Autowired
+    private NdjsonResponseWriter ndjsonResponseWriter;
+
 
     @GetMapping("/test-db")
     public ResponseEntity<Map<String, Object>> testDatabase() {
@@ -41,20 +80,12 @@ public class EmployeeController {
 
 
     @PostMapping
-    public ResponseEntity<?> createEmployee(@RequestBody Map<String, Object> employeeData) {
-        logger.info("CREATE EMPLOYEE REQUEST - Data: {}", employeeData);
+    public ResponseEntity<?> createEmployee(@Valid @RequestBody EmployeeCreateRequest request) {
+        logger.info("CREATE EMPLOYEE REQUEST - Name: {}, Email: {}, Department: {}",
+                request.name(), request.email(), request.department());
 
         try {
-            Employee employee = employeeService.convertMapToEmployee(employeeData);
-
-            // Validate required fields
-            if (employee.getName() == null || employee.getEmail() == null ||
-                    employee.getDepartment() == null || employee.getPosition() == null ||
-                    employee.getSalary() == null || employee.getJoinDate() == null) {
-                throw new IllegalArgumentException("All required fields (name, email, department, position, salary, joinDate) must be provided");
-            }
-
-            Employee savedEmployee = employeeService.saveEmployee(employee);
+            Employee savedEmployee = employeeService.saveEmployee(request.toEmployee());
 
             logger.info("EMPLOYEE CREATED - ID: {}, Name: {}, Email: {}",
                     savedEmployee.getId(), savedEmployee.getName(), savedEmployee.getEmail());
@@ -80,12 +111,12 @@ public class EmployeeController {
     }
 
     @PostMapping("/direct")
-    public ResponseEntity<?> createEmployeeDirect(@Valid @RequestBody Employee employee) {
+    public ResponseEntity<?> createEmployeeDirect(@Valid @RequestBody EmployeeCreateRequest request) {
         logger.info("CREATE EMPLOYEE DIRECT - Name: {}, Email: {}, Department: {}",
-                employee.getName(), employee.getEmail(), employee.getDepartment());
+                request.name(), request.email(), request.department());
 
         try {
-            Employee savedEmployee = employeeService.saveEmployee(employee);
+            Employee savedEmployee = employeeService.saveEmployee(request.toEmployee());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -103,9 +134,32 @@ public class EmployeeController {
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllEmployees() {
-        logger.info("GET ALL EMPLOYEES REQUEST");
-        List<Employee> employees = employeeService.getAllEmployees();
+    public ResponseEntity<Map<String, Object>> getAllEmployees(
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean stream,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse servletResponse,
+            WebRequest webRequest) throws IOException {
+        EmployeeFields fieldSet = EmployeeFields.parse(fields);
+        boolean ndjson = ndjsonRequested(stream, accept, servletResponse);
+        if (listNotModified(webRequest, ndjson)) {
+            return null;
+        }
+        if (ndjson) {
+            logger.info("STREAM ALL EMPLOYEES REQUEST - Fields: {}", fields);
+            if (fieldSet != null) {
+                ndjsonResponseWriter.write(servletResponse,
+                        sink -> employeeService.streamEmployeeFields(EmployeeSpecifications.all(), fieldSet, sink));
+            } else {
+                ndjsonResponseWriter.write(servletResponse, employeeService::streamAllEmployees);
+            }
+            return null;
+        }
+
+        logger.info("GET ALL EMPLOYEES REQUEST - Fields: {}", fields);
+        List<?> employees = fieldSet != null
+                ? employeeService.getEmployeeFields(EmployeeSpecifications.all(), fieldSet)
+                : employeeService.getAllEmployees();
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -116,35 +170,155 @@ public class EmployeeController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<Map<String, Object>> getEmployeesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = EmployeeCursor.SORT_ID) String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        logger.info("GET EMPLOYEES PAGE REQUEST - Sort: {}, Direction: {}, Limit: {}, Cursor: {}, Fields: {}",
+                sort, direction, limit, cursor, fields);
+
+        EmployeeCursor position = cursor != null && !cursor.isBlank()
+                ? EmployeeCursor.decode(cursor)
+                : EmployeeCursor.first(sort, direction);
+        EmployeeFields fieldSet = EmployeeFields.parse(fields);
+        if (listNotModified(webRequest, false)) {
+            return null;
+        }
+
+        return ResponseEntity.ok(keysetPage(EmployeeSpecifications.all(), position, limit, fieldSet));
+    }
+
+    @GetMapping("/query")
+    public ResponseEntity<Map<String, Object>> queryEmployees(
+            EmployeeFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = EmployeeCursor.SORT_ID) String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        logger.info("QUERY EMPLOYEES REQUEST - Filter: {}, Sort: {}, Direction: {}, Limit: {}, Cursor: {}, Fields: {}",
+                filter, sort, direction, limit, cursor, fields);
+
+        filter.validate();
+        EmployeeCursor position = cursor != null && !cursor.isBlank()
+                ? EmployeeCursor.decode(cursor)
+                : EmployeeCursor.first(sort, direction);
+        EmployeeFields fieldSet = EmployeeFields.parse(fields);
+        if (listNotModified(webRequest, false)) {
+            return null;
+        }
+
+        return ResponseEntity.ok(keysetPage(EmployeeSpecifications.matching(filter), position, limit, fieldSet));
+    }
+
+    private Map<String, Object> keysetPage(Specification<Employee> spec, EmployeeCursor position, int limit,
+                                           EmployeeFields fieldSet) {
+        List<?> employees;
+        String nextCursor = null;
+        if (fieldSet != null) {
+            Window<Map<String, Object>> page = employeeService.getEmployeeFieldsPage(spec, position, limit, fieldSet);
+            employees = page.getContent();
+            if (page.hasNext() && !employees.isEmpty()) {
+                Map<String, Object> last = page.getContent().get(employees.size() - 1);
+                Object sortValue = EmployeeCursor.SORT_ID.equals(position.getSortKey()) ? null : last.get(position.getSortKey());
+                nextCursor = position.after((Long) last.get(EmployeeCursor.SORT_ID), sortValue).encode();
+            }
+        } else {
+            Window<Employee> page = employeeService.getEmployeesPage(spec, position, limit);
+            employees = page.getContent();
+            if (page.hasNext() && !employees.isEmpty()) {
+                Employee last = page.getContent().get(employees.size() - 1);
+                nextCursor = position.after(last.getId(), sortValue(last, position.getSortKey())).encode();
+            }
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", employees.size());
+        response.put("employees", employees);
+        response.put("sort", position.getSortKey());
+        response.put("direction", position.getDirection().name().toLowerCase());
+        response.put("limit", limit);
+        response.put("hasNext", nextCursor != null);
+        response.put("nextCursor", nextCursor);
+        return response;
+    }
+
+    private static String employeeEtag(Long id, Long version) {
+        return "\"e-" + id + "-" + version + "\"";
+    }
+
+    // The representation and its validator depend on Accept, so shared caches must key on it
+    private boolean ndjsonRequested(boolean stream, String accept, HttpServletResponse servletResponse) {
+        servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return ndjsonResponseWriter.isRequested(stream, accept);
+    }
+
+    // Collection validator from the employees change counter; skipped while it is unavailable
+    private boolean listNotModified(WebRequest webRequest, boolean ndjson) {
+        OptionalLong version = employeeService.getEmployeesVersion();
+        return version.isPresent()
+                && webRequest.checkNotModified("\"employees-" + version.getAsLong() + (ndjson ? "-ndjson" : "") + "\"");
+    }
+
+    private static Object sortValue(Employee employee, String sortKey) {
+        switch (sortKey) {
+            case EmployeeCursor.SORT_NAME:
+                return employee.getName();
+            case EmployeeCursor.SORT_JOIN_DATE:
+                return employee.getJoinDate();
+            case EmployeeCursor.SORT_SALARY:
+                return employee.getSalary();
+            default:
+                return null;
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<?> getEmployeeById(@PathVariable Long id, WebRequest webRequest) {
         logger.info("GET EMPLOYEE BY ID REQUEST - ID: {}", id);
 
-        return employeeService.getEmployeeById(id)
+        // Answer revalidations from the version column alone
+        Optional<Long> version = employeeService.getEmployeeVersion(id);
+        if (version.isPresent() && webRequest.checkNotModified(employeeEtag(id, version.get()))) {
+            return null;
+        }
+
+        // Served from the cache only while the cached copy is at this version, so the tag matches the body
+        return employeeService.getEmployeeById(id, version)
                 .map(employee -> {
                     Map<String, Object> response = new HashMap<>();
                     response.put("success", true);
                     response.put("employee", employee);
-                    return ResponseEntity.ok(response);
+                    return ResponseEntity.ok()
+                            .eTag(employeeEtag(employee.getId(), employee.getVersion()))
+                            .body(response);
                 })
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(Map.of("success", false, "message", "Employee not found with id: " + id)));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @Valid @RequestBody Employee employeeDetails) {
+    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeCreateRequest employeeDetails) {
         logger.info("UPDATE EMPLOYEE REQUEST - ID: {}, Name: {}, Email: {}",
-                id, employeeDetails.getName(), employeeDetails.getEmail());
+                id, employeeDetails.name(), employeeDetails.email());
 
         try {
-            Employee updatedEmployee = employeeService.updateEmployee(id, employeeDetails);
+            Employee updatedEmployee = employeeService.updateEmployee(id, employeeDetails.toEmployee());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Employee updated successfully");
             response.put("employee", updatedEmployee);
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .eTag(employeeEtag(updatedEmployee.getId(), updatedEmployee.getVersion()))
+                    .body(response);
 
         } catch (EmployeeNotFoundException e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -160,16 +334,59 @@ public class EmployeeController {
         }
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> patchEmployee(
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.info("PATCH EMPLOYEE REQUEST - ID: {}, Fields: {}, If-Match: {}", id, changes.keySet(), ifMatch);
+
+        Employee patchedEmployee = employeeService.patchEmployee(id, changes, expectedVersions(id, ifMatch));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Employee updated successfully");
+        response.put("employee", patchedEmployee);
+
+        return ResponseEntity.ok()
+                .eTag(employeeEtag(patchedEmployee.getId(), patchedEmployee.getVersion()))
+                .body(response);
+    }
+
+    // Versions accepted by an If-Match header; null when absent or "*". Weak tags never match.
+    private static Set<Long> expectedVersions(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        String prefix = "\"e-" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    versions.add(Long.valueOf(tag.substring(prefix.length(), tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // Not one of our tags; cannot match
+                }
+            }
+        }
+        return versions;
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, Object>> deleteEmployeeById(@PathVariable Long id) {
         logger.info("DELETE EMPLOYEE REQUEST - ID: {}", id);
 
         try {
-            employeeService.deleteEmployeeById(id);
+            boolean deleted = employeeService.deleteEmployeeById(id);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Employee deleted successfully");
+            response.put("message", deleted ? "Employee deleted successfully"
+                    : "Employee has attendance records and was marked " + EmployeeService.INACTIVE);
 
             return ResponseEntity.ok(response);
 
@@ -182,10 +399,18 @@ public class EmployeeController {
     }
 
     @GetMapping("/department/{department}")
-    public ResponseEntity<Map<String, Object>> getEmployeesByDepartment(@PathVariable String department) {
-        logger.info("GET EMPLOYEES BY DEPARTMENT - Department: {}", department);
-
-        List<Employee> employees = employeeService.getEmployeesByDepartment(department);
+    public ResponseEntity<Map<String, Object>> getEmployeesByDepartment(@PathVariable String department,
+                                                                        @RequestParam(required = false) String fields,
+                                                                        WebRequest webRequest) {
+        logger.info("GET EMPLOYEES BY DEPARTMENT - Department: {}, Fields: {}", department, fields);
+
+        EmployeeFields fieldSet = EmployeeFields.parse(fields);
+        if (listNotModified(webRequest, false)) {
+            return null;
+        }
+        List<?> employees = fieldSet != null
+                ? employeeService.getEmployeeFields(EmployeeSpecifications.hasDepartment(department), fieldSet)
+                : employeeService.getEmployeesByDepartment(department);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -197,6 +422,36 @@ public class EmployeeController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEmployees(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String email,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "" + EmployeeSearchService.DEFAULT_LIMIT) int limit) {
+        logger.info("SEARCH EMPLOYEES REQUEST - Query: {}, Email: {}, Fuzzy: {}, Limit: {}", q, email, fuzzy, limit);
+
+        if (email != null && !email.isBlank()) {
+            return employeeService.getEmployeeByEmail(email.trim())
+                    .map(employee -> {
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("success", true);
+                        response.put("employee", employee);
+                        return ResponseEntity.ok(response);
+                    })
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(Map.of("success", false, "message", "Employee not found with email: " + email)));
+        }
+
+        List<Employee> employees = employeeSearchService.search(q, fuzzy, limit);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", employees.size());
+        response.put("employees", employees);
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search/name")
     public ResponseEntity<Map<String, Object>> searchEmployeesByName(@RequestParam String name) {
         logger.info("SEARCH EMPLOYEES BY NAME - Name: {}", name);
@@ -215,35 +470,67 @@ public class EmployeeController {
     public ResponseEntity<Map<String, Object>> getAllDepartments() {
         logger.info("GET ALL DEPARTMENTS REQUEST");
 
-        List<String> departments = employeeService.getAllDepartments();
+        ReferenceData referenceData = referenceDataService.get();
+        List<String> departments = referenceData.getDepartments();
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("departments", departments);
         response.put("count", departments.size());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(referenceData.getEtag())
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(referenceDataMaxAgeSeconds)).mustRevalidate())
+                .body(response);
     }
 
     @GetMapping("/positions")
     public ResponseEntity<Map<String, Object>> getAllPositions() {
         logger.info("GET ALL POSITIONS REQUEST");
 
-        List<String> positions = employeeService.getAllPositions();
+        ReferenceData referenceData = referenceDataService.get();
+        List<String> positions = referenceData.getPositions();
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("positions", positions);
         response.put("count", positions.size());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(referenceData.getEtag())
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(referenceDataMaxAgeSeconds)).mustRevalidate())
+                .body(response);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<Map<String, Object>> getEmployeesByStatus(@PathVariable String status) {
-        logger.info("GET EMPLOYEES BY STATUS - Status: {}", status);
+    public ResponseEntity<Map<String, Object>> getEmployeesByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean stream,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse servletResponse,
+            WebRequest webRequest) throws IOException {
+        EmployeeFields fieldSet = EmployeeFields.parse(fields);
+        boolean ndjson = ndjsonRequested(stream, accept, servletResponse);
+        if (listNotModified(webRequest, ndjson)) {
+            return null;
+        }
+        if (ndjson) {
+            logger.info("STREAM EMPLOYEES BY STATUS - Status: {}, Fields: {}", status, fields);
+            if (fieldSet != null) {
+                ndjsonResponseWriter.write(servletResponse,
+                        sink -> employeeService.streamEmployeeFields(EmployeeSpecifications.hasStatus(status), fieldSet, sink));
+            } else {
+                ndjsonResponseWriter.write(servletResponse, sink -> employeeService.streamEmployeesByStatus(status, sink));
+            }
+            return null;
+        }
 
-        List<Employee> employees = employeeService.getEmployeesByStatus(status);
+        logger.info("GET EMPLOYEES BY STATUS - Status: {}, Fields: {}", status, fields);
+
+        List<?> employees = fieldSet != null
+                ? employeeService.getEmployeeFields(EmployeeSpecifications.hasStatus(status), fieldSet)
+                : employeeService.getEmployeesByStatus(status);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -265,10 +552,34 @@ public class EmployeeController {
     }
 
     @GetMapping("/gender/{gender}")
-    public ResponseEntity<Map<String, Object>> getEmployeesByGender(@PathVariable String gender) {
-        logger.info("GET EMPLOYEES BY GENDER - Gender: {}", gender);
+    public ResponseEntity<Map<String, Object>> getEmployeesByGender(
+            @PathVariable String gender,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean stream,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse servletResponse,
+            WebRequest webRequest) throws IOException {
+        EmployeeFields fieldSet = EmployeeFields.parse(fields);
+        boolean ndjson = ndjsonRequested(stream, accept, servletResponse);
+        if (listNotModified(webRequest, ndjson)) {
+            return null;
+        }
+        if (ndjson) {
+            logger.info("STREAM EMPLOYEES BY GENDER - Gender: {}, Fields: {}", gender, fields);
+            if (fieldSet != null) {
+                ndjsonResponseWriter.write(servletResponse,
+                        sink -> employeeService.streamEmployeeFields(EmployeeSpecifications.hasGender(gender), fieldSet, sink));
+            } else {
+                ndjsonResponseWriter.write(servletResponse, sink -> employeeService.streamEmployeesByGender(gender, sink));
+            }
+            return null;
+        }
 
-        List<Employee> employees = employeeService.getEmployeesByGender(gender);
+        logger.info("GET EMPLOYEES BY GENDER - Gender: {}, Fields: {}", gender, fields);
+
+        List<?> employees = fieldSet != null
+                ? employeeService.getEmployeeFields(EmployeeSpecifications.hasGender(gender), fieldSet)
+                : employeeService.getEmployeesByGender(gender);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -279,10 +590,33 @@ public class EmployeeController {
     }
 
     @GetMapping("/active")
-    public ResponseEntity<Map<String, Object>> getActiveEmployees() {
-        logger.info("GET ACTIVE EMPLOYEES REQUEST");
+    public ResponseEntity<Map<String, Object>> getActiveEmployees(
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean stream,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse servletResponse,
+            WebRequest webRequest) throws IOException {
+        EmployeeFields fieldSet = EmployeeFields.parse(fields);
+        boolean ndjson = ndjsonRequested(stream, accept, servletResponse);
+        if (listNotModified(webRequest, ndjson)) {
+            return null;
+        }
+        if (ndjson) {
+            logger.info("STREAM ACTIVE EMPLOYEES REQUEST - Fields: {}", fields);
+            if (fieldSet != null) {
+                ndjsonResponseWriter.write(servletResponse,
+                        sink -> employeeService.streamEmployeeFields(EmployeeSpecifications.hasStatus("Active"), fieldSet, sink));
+            } else {
+                ndjsonResponseWriter.write(servletResponse, sink -> employeeService.streamEmployeesByStatus("Active", sink));
+            }
+            return null;
+        }
+
+        logger.info("GET ACTIVE EMPLOYEES REQUEST - Fields: {}", fields);
 
-        List<Employee> employees = employeeService.getActiveEmployees();
+        List<?> employees = fieldSet != null
+                ? employeeService.getEmployeeFields(EmployeeSpecifications.hasStatus("Active"), fieldSet)
+                : employeeService.getActiveEmployees();
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -294,8 +628,11 @@ public class EmployeeController {
 
 
     @GetMapping("/salary/greater-than")
-    public ResponseEntity<Map<String, Object>> getEmployeesByMinSalary(@RequestParam Double minSalary) {
+    public ResponseEntity<Map<String, Object>> getEmployeesByMinSalary(@RequestParam Double minSalary, WebRequest webRequest) {
         logger.info("GET EMPLOYEES BY MIN SALARY - Min Salary: {}", minSalary);
+        if (listNotModified(webRequest, false)) {
+            return null;
+        }
 
         List<Employee> employees = employeeService.findBySalaryGreaterThan(minSalary);
 
@@ -311,8 +648,12 @@ public class EmployeeController {
     @GetMapping("/salary/between")
     public ResponseEntity<Map<String, Object>> getEmployeesBySalaryRange(
             @RequestParam Double minSalary,
-            @RequestParam Double maxSalary) {
+            @RequestParam Double maxSalary,
+            WebRequest webRequest) {
         logger.info("GET EMPLOYEES BY SALARY RANGE - Min: {}, Max: {}", minSalary, maxSalary);
+        if (listNotModified(webRequest, false)) {
+            return null;
+        }
 
         List<Employee> employees = employeeService.findBySalaryBetween(minSalary, maxSalary);
 
@@ -328,25 +669,28 @@ public class EmployeeController {
 
     // Bulk operations here 
     @PostMapping("/bulk")
-    public ResponseEntity<?> createEmployeesBulk(@Valid @RequestBody List<Employee> employees) {
-        logger.info("BULK CREATE EMPLOYEES REQUEST - Count: {}", employees.size());
-
-        try {
-            List<Employee> savedEmployees = employeeService.saveAllEmployees(employees);
+    public ResponseEntity<?> createEmployeesBulk(@RequestBody List<EmployeeCreateRequest> requests) {
+        logger.info("BULK CREATE EMPLOYEES REQUEST - Count: {}", requests.size());
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Employees created successfully");
-            response.put("count", savedEmployees.size());
-            response.put("employees", savedEmployees);
-
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-
-        } catch (IllegalArgumentException e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
+        // Rows are validated one by one in the service, so a bad row fails alone
+        List<Employee> employees = new ArrayList<>(requests.size());
+        for (EmployeeCreateRequest request : requests) {
+            employees.add(request == null ? null : request.toEmployee());
         }
+        List<BulkRowResult> results = employeeBulkService.insertAll(employees);
+        long created = results.stream().filter(BulkRowResult::isSuccess).count();
+        long failed = results.size() - created;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", failed == 0);
+        response.put("message", failed == 0
+                ? "Employees created successfully"
+                : created + " employees created, " + failed + " rows rejected");
+        response.put("count", created);
+        response.put("failed", failed);
+        response.put("results", results);
+
+        HttpStatus status = created > 0 || results.isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(response);
     }
 }
\ No newline at end of file
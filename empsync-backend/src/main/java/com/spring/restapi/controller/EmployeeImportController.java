@@ -0,0 +1,106 @@
+package com.spring.restapi.controller;
+
+import com.spring.restapi.dto.ImportJobStatus;
+import com.spring.restapi.service.EmployeeImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/employees/import")
+@CrossOrigin(origins = "*")
+public class EmployeeImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportController.class);
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    // Raw CSV (with a header row) or NDJSON body; ?format= overrides the Content-Type
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> startImport(@RequestParam(required = false) String format,
+                                                           @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                           HttpServletRequest request) throws IOException {
+        String resolvedFormat = format != null ? format : formatOf(contentType);
+        logger.info("EMPLOYEE IMPORT REQUEST - Format: {}, Content-Length: {}", resolvedFormat, request.getContentLengthLong());
+
+        Map<String, Object> response = new HashMap<>();
+        ImportJobStatus job;
+        try {
+            job = employeeImportService.submit(request.getInputStream(), resolvedFormat);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "60").body(response);
+        }
+
+        response.put("success", true);
+        response.put("message", "Import queued");
+        response.put("job", job);
+        return ResponseEntity.accepted().location(URI.create("/api/employees/import/" + job.jobId())).body(response);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Map<String, Object>> getImportStatus(@PathVariable String jobId) {
+        logger.info("GET IMPORT STATUS REQUEST - Job: {}", jobId);
+
+        Optional<ImportJobStatus> job = employeeImportService.getStatus(jobId);
+        Map<String, Object> response = new HashMap<>();
+        if (job.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Import job not found: " + jobId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("job", job.get());
+        return ResponseEntity.ok(response);
+    }
+
+    // CSV of row,field,message; grows while the job runs
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String jobId) {
+        logger.info("GET IMPORT ERRORS REQUEST - Job: {}", jobId);
+
+        Optional<Path> errors = employeeImportService.getErrorFile(jobId);
+        if (errors.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("import-" + jobId + "-errors.csv").build().toString())
+                .body(new FileSystemResource(errors.get()));
+    }
+
+    private static String formatOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        MediaType type = MediaType.parseMediaType(contentType);
+        if (type.isCompatibleWith(TEXT_CSV)) {
+            return EmployeeImportService.FORMAT_CSV;
+        }
+        if (type.getSubtype().equals("x-ndjson") || type.getSubtype().equals("jsonl")) {
+            return EmployeeImportService.FORMAT_NDJSON;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.spring.restapi.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows straight to the servlet response as newline-delimited JSON, one
+ * object per line, without collecting them into a list first. Used by the list
+ * endpoints when the client sends {@code Accept: application/x-ndjson} or
+ * {@code stream=true}.
+ */
+@Component
+public class NdjsonResponseWriter {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public NdjsonResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public boolean isRequested(boolean stream, String accept) {
+        if (stream) {
+            return true;
+        }
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Hands {@code producer} a sink that serializes each row as it arrives. The
+     * producer is expected to read from a database cursor, so memory stays
+     * bounded by the JDBC fetch size rather than the result size.
+     */
+    public void write(HttpServletResponse response, Consumer<Consumer<Object>> producer) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            producer.accept(row -> {
+                try {
+                    rowWriter.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
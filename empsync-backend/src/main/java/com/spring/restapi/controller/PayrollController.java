@@ -0,0 +1,130 @@
+package com.spring.restapi.controller;
+
+import com.spring.restapi.dto.DeductionsRequest;
+import com.spring.restapi.dto.TaxSlabRequest;
+import com.spring.restapi.models.TaxSlab;
+import com.spring.restapi.service.PayrollService;
+import com.spring.restapi.service.TaxEngine;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/payroll")
+@CrossOrigin(origins = "*")
+public class PayrollController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollController.class);
+
+    @Autowired
+    private TaxEngine taxEngine;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @GetMapping("/tax-rules")
+    public ResponseEntity<Map<String, Object>> getTaxRules() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("rules", describe(taxEngine.getRules()));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/tax-rules/reload")
+    public ResponseEntity<Map<String, Object>> reloadTaxRules() {
+        logger.info("RELOAD TAX RULES REQUEST");
+        TaxEngine.PayrollRules rules = taxEngine.reload();
+        taskExecutor.execute(payrollService::rederiveStaleDeductions);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Tax rules reloaded; stale deductions are being re-derived");
+        response.put("rules", describe(rules));
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/tax-rules/{financialYear}/{regime}")
+    public ResponseEntity<Map<String, Object>> replaceTaxTable(
+            @PathVariable @Pattern(regexp = "\\d{4}-\\d{2}", message = "Financial year must look like 2025-26") String financialYear,
+            @PathVariable @NotBlank @Size(max = 20, message = "Regime must be at most 20 characters") String regime,
+            @Valid @RequestBody @NotEmpty(message = "At least one slab is required") List<@Valid TaxSlabRequest> slabs) {
+        logger.info("REPLACE TAX TABLE REQUEST - Financial Year: {}, Regime: {}, Slabs: {}", financialYear, regime, slabs.size());
+
+        taxEngine.replaceTable(financialYear, regime, slabs.stream()
+                .map(slab -> new TaxSlab(financialYear, regime, slab.lowerBound(), slab.ratePercent()))
+                .toList());
+        TaxEngine.PayrollRules rules = taxEngine.reload();
+        taskExecutor.execute(payrollService::rederiveStaleDeductions);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Tax table saved");
+        response.put("rules", describe(rules));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/deductions")
+    public ResponseEntity<Map<String, Object>> computeDeductions(@Valid @RequestBody DeductionsRequest request) {
+        List<BigDecimal> salaries = request.salaries();
+
+        int n = salaries.size();
+        long[] salaryPaise = new long[n];
+        for (int i = 0; i < n; i++) {
+            salaryPaise[i] = TaxEngine.toPaise(salaries.get(i));
+        }
+        long[] bonus = new long[n];
+        long[] pf = new long[n];
+        long[] tax = new long[n];
+        TaxEngine.PayrollRules rules = taxEngine.getRules();
+        rules.computeColumn(salaryPaise, bonus, pf, tax);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("rulesVersion", rules.getVersion());
+        response.put("salaries", salaries);
+        response.put("bonus", toAmounts(bonus));
+        response.put("pf", toAmounts(pf));
+        response.put("tax", toAmounts(tax));
+        return ResponseEntity.ok(response);
+    }
+
+    private static List<BigDecimal> toAmounts(long[] paise) {
+        List<BigDecimal> amounts = new ArrayList<>(paise.length);
+        for (long value : paise) {
+            amounts.add(TaxEngine.fromPaise(value));
+        }
+        return amounts;
+    }
+
+    private static Map<String, Object> describe(TaxEngine.PayrollRules rules) {
+        Map<String, Object> description = new HashMap<>();
+        description.put("financialYear", rules.getFinancialYear());
+        description.put("regime", rules.getRegime());
+        description.put("source", rules.getSource());
+        description.put("version", rules.getVersion());
+        description.put("bonusRatePercent", rules.getBonusRatePercent());
+        description.put("pfRatePercent", rules.getPfRatePercent());
+        description.put("slabs", rules.getSlabs());
+        description.put("availableTables", rules.getAvailableTables());
+        return description;
+    }
+}
@@ -1,15 +1,22 @@
 package com.spring.restapi.controller;
 
+import com.spring.restapi.dto.EmployeeCommentsRequest;
+import com.spring.restapi.dto.PerformanceCreateRequest;
+import com.spring.restapi.dto.PerformanceUpdateRequest;
 import com.spring.restapi.models.Performance;
 import com.spring.restapi.service.PerformanceService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -26,13 +33,16 @@ public class PerformanceController {
     @Autowired
     private PerformanceService performanceService;
 
+    @Autowired
+    private NdjsonResponseWriter ndjsonResponseWriter;
+
     @PostMapping
-    public ResponseEntity<?> createPerformanceReview(@RequestBody Performance performance) {
+    public ResponseEntity<?> createPerformanceReview(@Valid @RequestBody PerformanceCreateRequest request) {
         logger.info("CREATE PERFORMANCE REVIEW REQUEST - Employee ID: {}, Review Period: {}", 
-                performance.getEmployeeId(), performance.getReviewPeriod());
+                request.employeeId(), request.reviewPeriod());
 
         try {
-            Performance savedPerformance = performanceService.createPerformanceReview(performance);
+            Performance savedPerformance = performanceService.createPerformanceReview(request.toPerformance());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -60,7 +70,7 @@ public class PerformanceController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updatePerformanceReview(@PathVariable Long id, @RequestBody Performance performanceDetails) {
+    public ResponseEntity<?> updatePerformanceReview(@PathVariable Long id, @Valid @RequestBody PerformanceUpdateRequest performanceDetails) {
         logger.info("UPDATE PERFORMANCE REVIEW REQUEST - ID: {}", id);
 
         try {
@@ -186,7 +196,16 @@ public class PerformanceController {
     @GetMapping("/date-range")
     public ResponseEntity<Map<String, Object>> getPerformanceByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean stream,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse servletResponse) throws IOException {
+        if (ndjsonResponseWriter.isRequested(stream, accept)) {
+            logger.info("STREAM PERFORMANCE BY DATE RANGE REQUEST - Start: {}, End: {}", startDate, endDate);
+            ndjsonResponseWriter.write(servletResponse, sink -> performanceService.streamPerformanceByDateRange(startDate, endDate, sink));
+            return null;
+        }
+
         logger.info("GET PERFORMANCE BY DATE RANGE REQUEST - Start: {}, End: {}", startDate, endDate);
 
         List<Performance> performances = performanceService.getPerformanceByDateRange(startDate, endDate);
@@ -257,12 +276,11 @@ public class PerformanceController {
     }
 
     @PostMapping("/{id}/employee-comments")
-    public ResponseEntity<?> addEmployeeComments(@PathVariable Long id, @RequestBody Map<String, String> request) {
+    public ResponseEntity<?> addEmployeeComments(@PathVariable Long id, @RequestBody EmployeeCommentsRequest request) {
         logger.info("ADD EMPLOYEE COMMENTS REQUEST - ID: {}", id);
 
         try {
-            String comments = request.get("comments");
-            Performance performance = performanceService.addEmployeeComments(id, comments);
+            Performance performance = performanceService.addEmployeeComments(id, request.comments());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -0,0 +1,220 @@
+package com.spring.restapi.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restapi.models.Attendance;
+import com.spring.restapi.service.AttendanceChangedEvent;
+import com.spring.restapi.service.AttendanceService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed attendance changes out to server-sent event subscribers.
+ * Each event is serialized once and queued per subscriber; a small sender pool
+ * drains the queues, so the committing thread never waits on a socket. A
+ * subscriber whose queue fills up is disconnected and resynchronizes from the
+ * snapshot sent when it reconnects.
+ */
+@Component
+public class PresenceBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceBroadcaster.class);
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT =
+            SseEmitter.event().comment("heartbeat").build();
+
+    @Value("${empsync.presence.max-subscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${empsync.presence.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${empsync.presence.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService sender;
+
+    public PresenceBroadcaster(@Value("${empsync.presence.sender-threads:4}") int senderThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "presence-sse-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream that starts with a snapshot of the employees currently
+     * checked in, or returns empty when the subscriber limit is reached.
+     */
+    public Optional<SseEmitter> subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            logger.warn("⚠️ Presence stream rejected: {} subscribers connected", subscribers.size());
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // Registered before the snapshot is read, so a check-in committing in
+        // between is queued after the snapshot instead of being lost
+        subscribers.add(subscriber);
+        List<Attendance> active = attendanceService.getAllActiveAttendances();
+        subscriber.start(frame("snapshot", active));
+
+        logger.info("📡 Presence subscriber connected ({} total)", subscribers.size());
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(event.type(), event);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    // Keeps idle connections open through proxies and detects gone clients
+    @Scheduled(fixedDelayString = "${empsync.presence.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        sender.shutdown();
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(String name, Object data) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(data))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize presence event", e);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final LinkedBlockingDeque<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean started;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingDeque<>(queueCapacity);
+        }
+
+        void start(Set<ResponseBodyEmitter.DataWithMediaType> snapshot) {
+            if (!queue.offerFirst(snapshot)) {
+                close();
+                return;
+            }
+            started = true;
+            schedule();
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offerLast(frame)) {
+                logger.warn("⚠️ Presence subscriber fell {} events behind, disconnecting", queueCapacity);
+                close();
+                return;
+            }
+            if (started) {
+                schedule();
+            }
+        }
+
+        // The emitter is completed by the sender, never by the caller, which
+        // may be a committing request thread
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while (!closed && (frame = queue.pollFirst()) != null) {
+                    emitter.send(frame);
+                }
+                if (closed) {
+                    queue.clear();
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                logger.debug("Presence subscriber disconnected: {}", e.getMessage());
+                closed = true;
+                subscribers.remove(this);
+                queue.clear();
+            } finally {
+                scheduled.set(false);
+            }
+            if (!closed && started && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
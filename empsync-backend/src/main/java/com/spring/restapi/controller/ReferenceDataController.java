@@ -0,0 +1,36 @@
+package com.spring.restapi.controller;
+
+import com.spring.restapi.dto.ReferenceData;
+import com.spring.restapi.service.ReferenceDataService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+/**
+ * Serves the reference-data dictionary. Responses carry a strong ETag, so
+ * revalidation with If-None-Match is answered with 304 and no body.
+ */
+@RestController
+@RequestMapping("/api/reference-data")
+@CrossOrigin(origins = "*")
+public class ReferenceDataController {
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Value("${empsync.reference-data.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    @GetMapping
+    public ResponseEntity<ReferenceData> getReferenceData() {
+        ReferenceData data = referenceDataService.get();
+        return ResponseEntity.ok()
+                .eTag(data.getEtag())
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).mustRevalidate())
+                .body(data);
+    }
+}
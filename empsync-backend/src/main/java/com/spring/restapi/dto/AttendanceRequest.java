@@ -0,0 +1,10 @@
+package com.spring.restapi.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Body of the check-in, check-out and mark-absent endpoints; location is
+ * ignored when marking an absence.
+ */
+public record AttendanceRequest(@NotNull(message = "Employee id is required") Long employeeId,
+                                String location, String notes) { }
@@ -0,0 +1,20 @@
+package com.spring.restapi.dto;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Attendance totals for one month. The absenteeism rate is the share of the
+ * month's records with status Absent, as a percentage.
+ */
+public record AttendanceTrend(String month, long records, Map<String, Long> statusCounts, double workHours,
+                              double overtimeHours, double absenteeismRate) {
+
+    public static AttendanceTrend of(YearMonth month, Map<String, Long> statusCounts, double workHours,
+                                     double overtimeHours) {
+        long records = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        long absent = statusCounts.getOrDefault("Absent", 0L);
+        double absenteeismRate = records == 0 ? 0.0 : Math.round(absent * 10000.0 / records) / 100.0;
+        return new AttendanceTrend(month.toString(), records, statusCounts, workHours, overtimeHours, absenteeismRate);
+    }
+}
@@ -0,0 +1,39 @@
+package com.spring.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Outcome of one row of a bulk insert, reported by its position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRowResult {
+
+    private final int row;
+    private final Long id;
+    private final Map<String, String> errors;
+
+    private BulkRowResult(int row, Long id, Map<String, String> errors) {
+        this.row = row;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BulkRowResult created(int row, long id) {
+        return new BulkRowResult(row, id, null);
+    }
+
+    public static BulkRowResult failed(int row, Map<String, String> errors) {
+        return new BulkRowResult(row, null, errors);
+    }
+
+    public static BulkRowResult failed(int row, String field, String message) {
+        return failed(row, Map.of(field, message));
+    }
+
+    public int getRow() { return row; }
+    public Long getId() { return id; }
+    public Map<String, String> getErrors() { return errors; }
+    public boolean isSuccess() { return errors == null; }
+}
@@ -0,0 +1,53 @@
+package com.spring.restapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in the change feed: the (transaction id, log id) of the last
+ * change a client has applied. Transaction ids order the feed by commit
+ * horizon, the log id orders changes within one transaction.
+ */
+public final class ChangeCursor {
+
+    public static final ChangeCursor START = new ChangeCursor(0, 0);
+
+    private static final String VERSION = "c1";
+
+    private final long txid;
+    private final long id;
+
+    public ChangeCursor(long txid, long id) {
+        this.txid = txid;
+        this.id = id;
+    }
+
+    public long getTxid() { return txid; }
+    public long getId() { return id; }
+
+    public String encode() {
+        String raw = String.join("|", VERSION, String.valueOf(txid), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long txid = Long.parseLong(parts[1]);
+            long id = Long.parseLong(parts[2]);
+            if (txid < 0 || id < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ChangeCursor(txid, id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.spring.restapi.dto;
+
+import java.util.List;
+
+/**
+ * One page of the change feed. Each entry carries the current state of the
+ * changed row, or no data when the row no longer exists.
+ */
+public record ChangePage(List<Entry> changes, ChangeCursor next, boolean hasMore) {
+
+    public record Entry(String entity, Long id, String operation, Object data) { }
+}
@@ -0,0 +1,19 @@
+package com.spring.restapi.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// The digit limits keep the deductions arithmetic in paise and basis points within a long
+public record DeductionsRequest(
+        @NotEmpty(message = "salaries must be a non-empty array")
+        @Size(max = 10000, message = "salaries must have at most 10000 entries")
+        List<@NotNull(message = "Salary is required")
+             @PositiveOrZero(message = "Salary must not be negative")
+             @Digits(integer = 12, fraction = 2, message = "Salary must have at most 12 digits and 2 decimals")
+             BigDecimal> salaries) { }
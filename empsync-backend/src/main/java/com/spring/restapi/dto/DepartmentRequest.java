@@ -0,0 +1,14 @@
+package com.spring.restapi.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+// Body of PUT /api/departments/{name}; the name comes from the path
+public record DepartmentRequest(
+        @Size(max = 100) String managerName,
+        @Size(max = 500) String description,
+        @PositiveOrZero(message = "Budget must not be negative")
+        @Digits(integer = 13, fraction = 2) BigDecimal budget) { }
@@ -0,0 +1,62 @@
+package com.spring.restapi.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A department with its maintained aggregates. Budget utilization is the annual
+ * salary total as a percentage of the department budget.
+ */
+public class DepartmentSummary {
+
+    private final String name;
+    private final String managerName;
+    private final String description;
+    private final BigDecimal budget;
+    private final long count;
+    private final BigDecimal totalSalary;
+    private final BigDecimal minSalary;
+    private final BigDecimal maxSalary;
+    private final long maleCount;
+    private final long femaleCount;
+    private final long otherCount;
+
+    public DepartmentSummary(String name, String managerName, String description, BigDecimal budget, long count,
+                             BigDecimal totalSalary, BigDecimal minSalary, BigDecimal maxSalary,
+                             long maleCount, long femaleCount, long otherCount) {
+        this.name = name;
+        this.managerName = managerName;
+        this.description = description;
+        this.budget = budget;
+        this.count = count;
+        this.totalSalary = totalSalary != null ? totalSalary : BigDecimal.ZERO;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.maleCount = maleCount;
+        this.femaleCount = femaleCount;
+        this.otherCount = otherCount;
+    }
+
+    public String getName() { return name; }
+    public String getManagerName() { return managerName; }
+    public String getDescription() { return description; }
+    public BigDecimal getBudget() { return budget; }
+    public long getCount() { return count; }
+    public BigDecimal getTotalSalary() { return totalSalary; }
+    public BigDecimal getMinSalary() { return minSalary; }
+    public BigDecimal getMaxSalary() { return maxSalary; }
+    public long getMaleCount() { return maleCount; }
+    public long getFemaleCount() { return femaleCount; }
+    public long getOtherCount() { return otherCount; }
+
+    public BigDecimal getAverageSalary() {
+        return count > 0 ? totalSalary.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
+    public BigDecimal getBudgetUtilization() {
+        if (budget == null || budget.signum() == 0) {
+            return null;
+        }
+        return totalSalary.multiply(BigDecimal.valueOf(100)).divide(budget, 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,6 @@
+package com.spring.restapi.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+// Body of the resend-verification and forgot-password endpoints
+public record EmailRequest(@NotBlank(message = "Email is required") String email) { }
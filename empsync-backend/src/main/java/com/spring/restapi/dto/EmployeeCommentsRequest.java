@@ -0,0 +1,3 @@
+package com.spring.restapi.dto;
+
+public record EmployeeCommentsRequest(String comments) { }
@@ -0,0 +1,49 @@
+package com.spring.restapi.dto;
+
+import com.spring.restapi.models.Employee;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Body of POST /api/employees, POST /api/employees/direct and /bulk, and PUT
+ * /api/employees/{id}. Salary binds straight from the JSON number text, so no
+ * precision is lost on the way to BigDecimal. Id, version and the derived
+ * payroll columns are not accepted from clients.
+ */
+public record EmployeeCreateRequest(
+        @NotBlank(message = "Name is required") @Size(max = 100) String name,
+        @NotBlank(message = "Email is required") @Email(message = "Email should be valid") @Size(max = 100) String email,
+        @Size(max = 15) String phone,
+        @NotBlank(message = "Department is required") @Size(max = 50) String department,
+        @NotBlank(message = "Position is required") @Size(max = 50) String position,
+        @NotNull(message = "Salary is required") @Positive(message = "Salary must be positive")
+        @Digits(integer = 36, fraction = 2) BigDecimal salary,
+        @Size(max = 10) String gender,
+        @NotNull(message = "Join date is required") LocalDate joinDate,
+        @Size(max = 500) String address,
+        @Size(max = 10) String status) {
+
+    public Employee toEmployee() {
+        Employee employee = new Employee();
+        employee.setName(name);
+        employee.setEmail(email);
+        employee.setPhone(phone);
+        employee.setDepartment(department);
+        employee.setPosition(position);
+        employee.setSalary(salary);
+        employee.setGender(gender);
+        employee.setJoinDate(joinDate);
+        employee.setAddress(address);
+        if (status != null) {
+            employee.setStatus(status);
+        }
+        return employee;
+    }
+}
@@ -0,0 +1,134 @@
+package com.spring.restapi.dto;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Opaque keyset cursor for employee listings. Encodes the sort key, direction and
+ * the (sort value, id) pair of the last row returned, so the next page can be
+ * fetched with an index range scan instead of an OFFSET.
+ */
+public final class EmployeeCursor {
+
+    public static final String SORT_NAME = "name";
+    public static final String SORT_JOIN_DATE = "joinDate";
+    public static final String SORT_SALARY = "salary";
+    public static final String SORT_ID = "id";
+
+    private static final String VERSION = "v1";
+
+    private final String sortKey;
+    private final Sort.Direction direction;
+    private final Long lastId;
+    private final Object lastValue;
+
+    private EmployeeCursor(String sortKey, Sort.Direction direction, Long lastId, Object lastValue) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    // Cursor for the first page of a listing
+    public static EmployeeCursor first(String sortKey, String direction) {
+        return new EmployeeCursor(normalizeSortKey(sortKey), parseDirection(direction), null, null);
+    }
+
+    public EmployeeCursor after(Long id, Object value) {
+        return new EmployeeCursor(sortKey, direction, id, value);
+    }
+
+    public String getSortKey() { return sortKey; }
+    public Sort.Direction getDirection() { return direction; }
+    public Long getLastId() { return lastId; }
+    public Object getLastValue() { return lastValue; }
+
+    public Sort toSort() {
+        if (SORT_ID.equals(sortKey)) {
+            return Sort.by(direction, SORT_ID);
+        }
+        return Sort.by(direction, sortKey).and(Sort.by(direction, SORT_ID));
+    }
+
+    public ScrollPosition toScrollPosition() {
+        if (lastId == null) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!SORT_ID.equals(sortKey)) {
+            keys.put(sortKey, lastValue);
+        }
+        keys.put(SORT_ID, lastId);
+        return ScrollPosition.forward(keys);
+    }
+
+    public String encode() {
+        String value = lastValue == null ? "" : lastValue.toString();
+        String raw = String.join("|", VERSION, sortKey, direction.name(), String.valueOf(lastId), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EmployeeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String sortKey = normalizeSortKey(parts[1]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+            Long lastId = Long.valueOf(parts[3]);
+            return new EmployeeCursor(sortKey, direction, lastId, parseValue(sortKey, parts[4]));
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    private static Object parseValue(String sortKey, String value) {
+        switch (sortKey) {
+            case SORT_NAME:
+                return value;
+            case SORT_JOIN_DATE:
+                return LocalDate.parse(value);
+            case SORT_SALARY:
+                return new BigDecimal(value);
+            default:
+                return null;
+        }
+    }
+
+    private static String normalizeSortKey(String sortKey) {
+        if (sortKey == null || sortKey.isBlank()) {
+            return SORT_ID;
+        }
+        switch (sortKey) {
+            case SORT_NAME:
+            case SORT_JOIN_DATE:
+            case SORT_SALARY:
+            case SORT_ID:
+                return sortKey;
+            default:
+                throw new IllegalArgumentException("Unsupported sort key: " + sortKey
+                        + " (allowed: name, joinDate, salary, id)");
+        }
+    }
+
+    private static Sort.Direction parseDirection(String direction) {
+        if (direction == null || direction.isBlank()) {
+            return Sort.Direction.ASC;
+        }
+        try {
+            return Sort.Direction.valueOf(direction.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported sort direction: " + direction);
+        }
+    }
+}
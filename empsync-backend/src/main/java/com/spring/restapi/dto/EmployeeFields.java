@@ -0,0 +1,60 @@
+package com.spring.restapi.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A sparse fieldset parsed from {@code ?fields=id,name,department}. Only the
+ * listed employee attributes are selected, transferred and serialized.
+ */
+public final class EmployeeFields {
+
+    public static final List<String> ALLOWED = List.of(
+            "id", "name", "email", "phone", "department", "position", "salary", "gender",
+            "joinDate", "address", "status", "bonus", "pf", "tax", "version", "createdAt", "updatedAt");
+
+    private final List<String> names;
+
+    private EmployeeFields(List<String> names) {
+        this.names = names;
+    }
+
+    // Returns null when no fieldset was requested, meaning the full employee
+    public static EmployeeFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ALLOWED.contains(name)) {
+                throw new IllegalArgumentException("Unknown employee field: " + name + " (allowed: " + String.join(", ", ALLOWED) + ")");
+            }
+            names.add(name);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one employee field");
+        }
+        return new EmployeeFields(List.copyOf(names));
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    // The requested fields plus any the caller needs, e.g. keyset columns
+    public EmployeeFields with(String... required) {
+        List<String> merged = new ArrayList<>(names);
+        for (String name : required) {
+            if (!merged.contains(name)) {
+                merged.add(name);
+            }
+        }
+        return new EmployeeFields(List.copyOf(merged));
+    }
+}
@@ -0,0 +1,68 @@
+package com.spring.restapi.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional filters for {@code GET /api/employees/query}, bound from query
+ * parameters. Multi-valued attributes accept repeated or comma-separated values
+ * and match any of them; ranges are inclusive and may be open on either side.
+ */
+public class EmployeeFilter {
+
+    private List<String> department;
+    private List<String> gender;
+    private List<String> status;
+    private List<String> position;
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate joinedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate joinedTo;
+
+    public void validate() {
+        if (minSalary != null && maxSalary != null && minSalary.compareTo(maxSalary) > 0) {
+            throw new IllegalArgumentException("minSalary must not exceed maxSalary");
+        }
+        if (joinedFrom != null && joinedTo != null && joinedFrom.isAfter(joinedTo)) {
+            throw new IllegalArgumentException("joinedFrom must not be after joinedTo");
+        }
+    }
+
+    public List<String> getDepartment() { return department; }
+    public void setDepartment(List<String> department) { this.department = department; }
+
+    public List<String> getGender() { return gender; }
+    public void setGender(List<String> gender) { this.gender = gender; }
+
+    public List<String> getStatus() { return status; }
+    public void setStatus(List<String> status) { this.status = status; }
+
+    public List<String> getPosition() { return position; }
+    public void setPosition(List<String> position) { this.position = position; }
+
+    public BigDecimal getMinSalary() { return minSalary; }
+    public void setMinSalary(BigDecimal minSalary) { this.minSalary = minSalary; }
+
+    public BigDecimal getMaxSalary() { return maxSalary; }
+    public void setMaxSalary(BigDecimal maxSalary) { this.maxSalary = maxSalary; }
+
+    public LocalDate getJoinedFrom() { return joinedFrom; }
+    public void setJoinedFrom(LocalDate joinedFrom) { this.joinedFrom = joinedFrom; }
+
+    public LocalDate getJoinedTo() { return joinedTo; }
+    public void setJoinedTo(LocalDate joinedTo) { this.joinedTo = joinedTo; }
+
+    @Override
+    public String toString() {
+        return "EmployeeFilter{department=" + department + ", gender=" + gender + ", status=" + status
+                + ", position=" + position + ", salary=[" + minSalary + ", " + maxSalary + "]"
+                + ", joined=[" + joinedFrom + ", " + joinedTo + "]}";
+    }
+}
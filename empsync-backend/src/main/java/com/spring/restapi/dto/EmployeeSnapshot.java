@@ -0,0 +1,18 @@
+package com.spring.restapi.dto;
+
+import com.spring.restapi.models.Employee;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of the employee fields that derived data (aggregates, caches)
+ * depends on, taken before and after a write.
+ */
+public record EmployeeSnapshot(Long id, String email, String department, String position,
+                               BigDecimal salary, String gender, String status) {
+
+    public static EmployeeSnapshot of(Employee employee) {
+        return new EmployeeSnapshot(employee.getId(), employee.getEmail(), employee.getDepartment(),
+                employee.getPosition(), employee.getSalary(), employee.getGender(), employee.getStatus());
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of an employee import job. Rows are counted from 1, excluding the
+ * CSV header line; {@code failed} rows are listed in the job's error file.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportJobStatus(String jobId, String status, String format, long bytesTotal, long bytesRead,
+                              long rowsRead, long imported, long failed, LocalDateTime submittedAt,
+                              LocalDateTime startedAt, LocalDateTime finishedAt, String message) {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    public int getProgressPercent() {
+        if (COMPLETED.equals(status)) {
+            return 100;
+        }
+        return bytesTotal == 0 ? 0 : (int) Math.min(99, bytesRead * 100 / bytesTotal);
+    }
+
+    public boolean isFinished() {
+        return COMPLETED.equals(status) || FAILED.equals(status);
+    }
+}
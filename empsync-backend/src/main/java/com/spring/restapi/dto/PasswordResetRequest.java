@@ -0,0 +1,6 @@
+package com.spring.restapi.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record PasswordResetRequest(@NotBlank(message = "Token is required") String token,
+                                   @NotBlank(message = "New password is required") String newPassword) { }
@@ -0,0 +1,56 @@
+package com.spring.restapi.dto;
+
+import com.spring.restapi.models.Performance;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/**
+ * Body of PUT /api/performance/{id}. The employee, reviewer and period of a
+ * review are fixed once created; a missing status leaves the current one, and
+ * the employee's comments are never overwritten here.
+ */
+public record PerformanceUpdateRequest(
+        @NotNull(message = "Overall rating is required")
+        @Min(value = 1, message = "Rating must be at least 1") @Max(value = 5, message = "Rating must be at most 5")
+        Integer overallRating,
+        @Min(value = 1, message = "Quality rating must be at least 1")
+        @Max(value = 5, message = "Quality rating must be at most 5") Integer qualityRating,
+        @Min(value = 1, message = "Productivity rating must be at least 1")
+        @Max(value = 5, message = "Productivity rating must be at most 5") Integer productivityRating,
+        @Min(value = 1, message = "Teamwork rating must be at least 1")
+        @Max(value = 5, message = "Teamwork rating must be at most 5") Integer teamworkRating,
+        @Min(value = 1, message = "Communication rating must be at least 1")
+        @Max(value = 5, message = "Communication rating must be at most 5") Integer communicationRating,
+        @Min(value = 1, message = "Initiative rating must be at least 1")
+        @Max(value = 5, message = "Initiative rating must be at most 5") Integer initiativeRating,
+        @Size(max = 1000) String strengths,
+        @Size(max = 1000) String areasForImprovement,
+        @Size(max = 1000) String goals,
+        @Size(max = 1000) String reviewerComments,
+        @Pattern(regexp = "Draft|Pending", message = "Status must be Draft or Pending") String status,
+        LocalDateTime reviewDate,
+        LocalDateTime nextReviewDate) {
+
+    public void applyTo(Performance performance) {
+        performance.setOverallRating(overallRating);
+        performance.setQualityRating(qualityRating);
+        performance.setProductivityRating(productivityRating);
+        performance.setTeamworkRating(teamworkRating);
+        performance.setCommunicationRating(communicationRating);
+        performance.setInitiativeRating(initiativeRating);
+        performance.setStrengths(strengths);
+        performance.setAreasForImprovement(areasForImprovement);
+        performance.setGoals(goals);
+        performance.setReviewerComments(reviewerComments);
+        if (status != null) {
+            performance.setStatus(status);
+        }
+        performance.setReviewDate(reviewDate);
+        performance.setNextReviewDate(nextReviewDate);
+    }
+}
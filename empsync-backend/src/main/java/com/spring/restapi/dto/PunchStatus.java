@@ -0,0 +1,26 @@
+package com.spring.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of a check-in or check-out accepted in write-behind mode. A punch is
+ * ACCEPTED once journaled, then COMMITTED or REJECTED when its batch is written.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PunchStatus(String punchId, String type, Long employeeId, LocalDateTime at, String status,
+                          Long attendanceId, String message) {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String COMMITTED = "COMMITTED";
+    public static final String REJECTED = "REJECTED";
+
+    public PunchStatus committed(Long attendanceId) {
+        return new PunchStatus(punchId, type, employeeId, at, COMMITTED, attendanceId, null);
+    }
+
+    public PunchStatus rejected(String message) {
+        return new PunchStatus(punchId, type, employeeId, at, REJECTED, null, message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.spring.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the distinct values employees currently use. The ETag
+ * is derived from the content, so it is stable across restarts and instances;
+ * the version is a local counter and stays out of the body for the same reason.
+ */
+public class ReferenceData {
+
+    private final long version;
+    private final String etag;
+    private final List<String> departments;
+    private final List<String> positions;
+    private final List<String> statuses;
+    private final List<String> genders;
+
+    public ReferenceData(long version, String etag, List<String> departments, List<String> positions,
+                         List<String> statuses, List<String> genders) {
+        this.version = version;
+        this.etag = etag;
+        this.departments = departments;
+        this.positions = positions;
+        this.statuses = statuses;
+        this.genders = genders;
+    }
+
+    @JsonIgnore
+    public long getVersion() { return version; }
+    @JsonIgnore
+    public String getEtag() { return etag; }
+    public List<String> getDepartments() { return departments; }
+    public List<String> getPositions() { return positions; }
+    public List<String> getStatuses() { return statuses; }
+    public List<String> getGenders() { return genders; }
+}
@@ -0,0 +1,19 @@
+package com.spring.restapi.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Salary distribution of a group of employees. Count, total and mean are exact,
+ * and so are min and max unless the extreme employee was removed since the last
+ * rebuild. Percentiles and the histogram are within {@code relativeAccuracy}
+ * (0.01, i.e. 1%) of the true value, and percentiles never fall outside
+ * [min, max].
+ */
+public record SalaryDistribution(long count, BigDecimal total, BigDecimal mean, BigDecimal min, BigDecimal max,
+                                 Map<String, BigDecimal> percentiles, List<Bin> histogram, double relativeAccuracy) {
+
+    public record Bin(BigDecimal from, BigDecimal to, long count) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.spring.restapi.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+// One slab of a tax table; the financial year and regime come from the path.
+// The digit limits keep slab arithmetic in paise and basis points within a long.
+public record TaxSlabRequest(
+        @NotNull(message = "Lower bound is required")
+        @PositiveOrZero(message = "Lower bound must not be negative")
+        @Digits(integer = 12, fraction = 2, message = "Lower bound must have at most 12 digits and 2 decimals")
+        BigDecimal lowerBound,
+
+        @NotNull(message = "Rate is required")
+        @DecimalMin(value = "0.00", message = "Rate must not be negative")
+        @DecimalMax(value = "100.00", message = "Rate must be at most 100")
+        @Digits(integer = 3, fraction = 2, message = "Rate must have at most 2 decimals")
+        BigDecimal ratePercent) { }
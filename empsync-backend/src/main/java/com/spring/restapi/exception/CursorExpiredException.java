@@ -0,0 +1,8 @@
+package com.spring.restapi.exception;
+
+// The change log has been pruned past the cursor; the client must resync from a full download
+public class CursorExpiredException extends RuntimeException {
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
@@ -1,18 +1,27 @@
 package com.spring.restapi.exception;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterErrors;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -33,6 +42,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<APIErrorResponse> handlePreconditionFailed(PreconditionFailedException ex) {
+        logger.warn("🔒 Precondition failed: {}", ex.getMessage());
+        APIErrorResponse apiError = createErrorResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(apiError);
+    }
+
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<APIErrorResponse> handleCursorExpired(CursorExpiredException ex) {
+        logger.warn("⌛ Cursor expired: {}", ex.getMessage());
+        APIErrorResponse apiError = createErrorResponse(HttpStatus.GONE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(apiError);
+    }
+
+    // Another transaction updated the row between our read and our write
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<APIErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        logger.warn("🔒 Concurrent modification: {}", ex.getMessage());
+        APIErrorResponse apiError = createErrorResponse(HttpStatus.CONFLICT,
+                "The record was modified concurrently; reload it and retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(apiError);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<APIErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
         Map<String, String> validationErrors = new HashMap<>();
@@ -45,6 +77,31 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
     }
 
+    // Constraints on path variables, request parameters and list bodies, e.g. List<@Valid TaxSlabRequest>
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<APIErrorResponse> handleMethodValidation(HandlerMethodValidationException ex) {
+        Map<String, String> validationErrors = new LinkedHashMap<>();
+        for (ParameterValidationResult result : ex.getParameterValidationResults()) {
+            String parameter = result.getMethodParameter().getParameterName();
+            if (result.getContainerIndex() != null) {
+                parameter += "[" + result.getContainerIndex() + "]";
+            }
+            if (result instanceof ParameterErrors errors && errors.hasFieldErrors()) {
+                for (FieldError error : errors.getFieldErrors()) {
+                    validationErrors.put(parameter + "." + error.getField(), error.getDefaultMessage());
+                }
+            } else {
+                for (MessageSourceResolvable error : result.getResolvableErrors()) {
+                    validationErrors.put(parameter, error.getDefaultMessage());
+                }
+            }
+        }
+        logger.warn("❌ Validation failed: {}", validationErrors);
+
+        APIErrorResponse apiError = createErrorResponse(HttpStatus.BAD_REQUEST, "Validation failed: " + validationErrors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<APIErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
         logger.warn("⚙️ Type mismatch: {}", ex.getMessage());
@@ -52,6 +109,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
     }
 
+    // Malformed JSON or a value of the wrong type in a typed request body
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<APIErrorResponse> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        String message = "Malformed request body";
+        if (ex.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            message = "Invalid value for " + mapping.getPath().stream()
+                    .map(reference -> reference.getFieldName() != null ? reference.getFieldName() : "[" + reference.getIndex() + "]")
+                    .collect(Collectors.joining("."));
+        }
+        logger.warn("❌ Unreadable request body: {}", ex.getMostSpecificCause().getMessage());
+        APIErrorResponse apiError = createErrorResponse(HttpStatus.BAD_REQUEST, message);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<APIErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
         logger.warn("🚫 Illegal argument: {}", ex.getMessage());
@@ -2,6 +2,7 @@ package com.spring.restapi.models;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -16,7 +17,7 @@ public class Attendance {
     @Column(name = "employee_id", nullable = false)
     private Long employeeId;
     
-    @Column(name = "check_in", nullable = false)
+    @Column(name = "check_in")
     private LocalDateTime checkIn;
     
     @Column(name = "check_out")
@@ -25,6 +26,10 @@ public class Attendance {
     @Column(name = "date", nullable = false)
     private LocalDateTime date;
     
+    // Calendar day of the record; at most one record per employee and day
+    @Column(name = "work_day", nullable = false)
+    private LocalDate workDay;
+    
     @Column(name = "status", length = 20)
     private String status = "Present";
     
@@ -52,6 +57,7 @@ public class Attendance {
         this.employeeId = employeeId;
         this.checkIn = checkIn;
         this.date = date;
+        this.workDay = date != null ? date.toLocalDate() : null;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -61,7 +67,10 @@ public class Attendance {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
         if (this.date == null) {
-            this.date = LocalDateTime.now();
+            this.date = (this.workDay != null ? this.workDay : LocalDate.now()).atStartOfDay();
+        }
+        if (this.workDay == null) {
+            this.workDay = this.date.toLocalDate();
         }
     }
     
@@ -97,6 +106,9 @@ public class Attendance {
     public LocalDateTime getDate() { return date; }
     public void setDate(LocalDateTime date) { this.date = date; }
     
+    public LocalDate getWorkDay() { return workDay; }
+    public void setWorkDay(LocalDate workDay) { this.workDay = workDay; }
+    
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
     
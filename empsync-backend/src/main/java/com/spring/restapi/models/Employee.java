@@ -1,13 +1,17 @@
 
 package com.spring.restapi.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 @Table(name = "employees")
 public class Employee {
     
@@ -62,6 +66,17 @@ public class Employee {
     @Column(name = "tax")
     private BigDecimal tax = BigDecimal.ZERO;
     
+    // Payroll rules version the stored bonus/pf/tax were derived with
+    @JsonIgnore
+    @Column(name = "deductions_version")
+    private Integer deductionsVersion;
+    
+    // Optimistic lock version; also the basis of the employee's ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
@@ -144,6 +159,12 @@ public class Employee {
     public BigDecimal getTax() { return tax; }
     public void setTax(BigDecimal tax) { this.tax = tax; }
     
+    public Integer getDeductionsVersion() { return deductionsVersion; }
+    public void setDeductionsVersion(Integer deductionsVersion) { this.deductionsVersion = deductionsVersion; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
@@ -0,0 +1,62 @@
+package com.spring.restapi.models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "tax_slabs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tax_slabs_year_regime_bound", columnNames = {"financial_year", "regime", "lower_bound"})
+})
+public class TaxSlab {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // e.g. "2025-26"
+    @NotBlank(message = "Financial year is required")
+    @Column(name = "financial_year", nullable = false, length = 9)
+    private String financialYear;
+
+    // e.g. "OLD" or "NEW"
+    @NotBlank(message = "Regime is required")
+    @Column(name = "regime", nullable = false, length = 20)
+    private String regime;
+
+    // Income above this amount is taxed at ratePercent, up to the next slab
+    @NotNull(message = "Lower bound is required")
+    @PositiveOrZero(message = "Lower bound must not be negative")
+    @Column(name = "lower_bound", nullable = false)
+    private BigDecimal lowerBound;
+
+    @NotNull(message = "Rate is required")
+    @DecimalMin(value = "0.00", message = "Rate must not be negative")
+    @DecimalMax(value = "100.00", message = "Rate must be at most 100")
+    @Column(name = "rate_percent", nullable = false, precision = 5, scale = 2)
+    private BigDecimal ratePercent;
+
+    public TaxSlab() {}
+
+    public TaxSlab(String financialYear, String regime, BigDecimal lowerBound, BigDecimal ratePercent) {
+        this.financialYear = financialYear;
+        this.regime = regime;
+        this.lowerBound = lowerBound;
+        this.ratePercent = ratePercent;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getFinancialYear() { return financialYear; }
+    public void setFinancialYear(String financialYear) { this.financialYear = financialYear; }
+
+    public String getRegime() { return regime; }
+    public void setRegime(String regime) { this.regime = regime; }
+
+    public BigDecimal getLowerBound() { return lowerBound; }
+    public void setLowerBound(BigDecimal lowerBound) { this.lowerBound = lowerBound; }
+
+    public BigDecimal getRatePercent() { return ratePercent; }
+    public void setRatePercent(BigDecimal ratePercent) { this.ratePercent = ratePercent; }
+}
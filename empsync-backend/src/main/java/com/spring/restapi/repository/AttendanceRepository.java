@@ -1,14 +1,19 @@
 package com.spring.restapi.repository;
 
 import com.spring.restapi.models.Attendance;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
@@ -17,13 +22,62 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
     Optional<Attendance> findByEmployeeIdAndDate(Long employeeId, LocalDateTime date);
     
+    boolean existsByEmployeeId(Long employeeId);
+    
+    // Pass date = workDay.atStartOfDay(); it lets the planner go straight to the day's partition
+    Optional<Attendance> findByEmployeeIdAndWorkDayAndDate(Long employeeId, LocalDate workDay, LocalDateTime date);
+    
+    // Single-statement writes keyed on (employee_id, work_day); date, the partition
+    // key, is always midnight of work_day. The inserts return nothing when the day
+    // is already recorded; an unknown employee fails the FK.
+    @Query(value = "INSERT INTO attendance (employee_id, work_day, date, check_in, status, overtime_hours, location, notes, created_at, updated_at) "
+            + "VALUES (:employeeId, :workDay, CAST(:workDay AS timestamp), :now, 'Present', 0, :location, :notes, :now, :now) "
+            + "ON CONFLICT (employee_id, work_day, date) DO NOTHING RETURNING *",
+            nativeQuery = true)
+    Optional<Attendance> insertCheckIn(@Param("employeeId") Long employeeId, @Param("workDay") LocalDate workDay,
+                                       @Param("now") LocalDateTime now, @Param("location") String location,
+                                       @Param("notes") String notes);
+    
+    @Query(value = "INSERT INTO attendance (employee_id, work_day, date, check_in, status, overtime_hours, notes, created_at, updated_at) "
+            + "VALUES (:employeeId, :workDay, CAST(:workDay AS timestamp), NULL, 'Absent', 0, :notes, :now, :now) "
+            + "ON CONFLICT (employee_id, work_day, date) DO NOTHING RETURNING *",
+            nativeQuery = true)
+    Optional<Attendance> insertAbsence(@Param("employeeId") Long employeeId, @Param("workDay") LocalDate workDay,
+                                       @Param("now") LocalDateTime now, @Param("notes") String notes);
+    
+    // Work hours count whole minutes, as Attendance.calculateWorkHours does
+    @Query(value = "UPDATE attendance SET check_out = :now, "
+            + "work_hours = floor(extract(epoch FROM (CAST(:now AS timestamp) - check_in)) / 60) / 60.0, "
+            + "overtime_hours = CASE WHEN floor(extract(epoch FROM (CAST(:now AS timestamp) - check_in)) / 60) / 60.0 > 8 "
+            + "THEN floor(extract(epoch FROM (CAST(:now AS timestamp) - check_in)) / 60) / 60.0 - 8 ELSE overtime_hours END, "
+            + "location = COALESCE(CAST(:location AS varchar), location), notes = COALESCE(CAST(:notes AS varchar), notes), updated_at = :now "
+            + "WHERE employee_id = :employeeId AND work_day = :workDay AND date = CAST(:workDay AS timestamp) "
+            + "AND check_in IS NOT NULL AND check_out IS NULL "
+            + "RETURNING *",
+            nativeQuery = true)
+    Optional<Attendance> updateCheckOut(@Param("employeeId") Long employeeId, @Param("workDay") LocalDate workDay,
+                                        @Param("now") LocalDateTime now, @Param("location") String location,
+                                        @Param("notes") String notes);
+    
     List<Attendance> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.date, a.id")
+    Stream<Attendance> streamByDateBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
     List<Attendance> findByEmployeeIdAndDateBetween(Long employeeId, LocalDateTime startDate, LocalDateTime endDate);
     
     @Query("SELECT a FROM Attendance a WHERE a.checkIn IS NOT NULL AND a.checkOut IS NULL")
     List<Attendance> findActiveAttendances();
     
+    // Rows are [Attendance, department], oldest check-in first
+    @Query("SELECT a, e.department FROM Attendance a, Employee e WHERE e.id = a.employeeId "
+            + "AND a.checkIn IS NOT NULL AND a.checkOut IS NULL ORDER BY a.checkIn, a.id")
+    List<Object[]> findActiveAttendancesWithDepartment();
+    
     @Query("SELECT a FROM Attendance a WHERE a.employeeId = :employeeId AND a.checkIn IS NOT NULL AND a.checkOut IS NULL")
     Optional<Attendance> findActiveAttendanceByEmployee(@Param("employeeId") Long employeeId);
     
@@ -38,4 +92,14 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
     @Query("SELECT a.status, COUNT(a) FROM Attendance a WHERE a.date >= :startDate GROUP BY a.status")
     List<Object[]> getAttendanceStats(@Param("startDate") LocalDateTime startDate);
+
+    // Rows are [month, status ('' for none), records, work hours, overtime hours] for dates in [startDate, endDate)
+    @Query(value = "SELECT CAST(date_trunc('month', date) AS date), COALESCE(status, ''), count(*), "
+            + "COALESCE(sum(work_hours), 0), COALESCE(sum(overtime_hours), 0) FROM attendance "
+            + "WHERE date >= :startDate AND date < :endDate "
+            + "AND (CAST(:employeeId AS bigint) IS NULL OR employee_id = :employeeId) GROUP BY 1, 2",
+            nativeQuery = true)
+    List<Object[]> getMonthlyStatusTotals(@Param("employeeId") Long employeeId,
+                                          @Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate);
 }
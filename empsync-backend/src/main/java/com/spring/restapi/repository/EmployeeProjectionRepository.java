@@ -0,0 +1,24 @@
+package com.spring.restapi.repository;
+
+import com.spring.restapi.dto.EmployeeFields;
+import com.spring.restapi.models.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Dynamic projections: selects only the requested employee attributes, so the
+ * SQL select list, the JDBC transfer and the JSON payload shrink together.
+ * Rows are field name to value maps in the requested order.
+ */
+public interface EmployeeProjectionRepository {
+
+    // limit <= 0 means unlimited
+    List<Map<String, Object>> findFields(Specification<Employee> spec, EmployeeFields fields, Sort sort, int limit);
+
+    // Cursor-backed; must be consumed inside a transaction
+    Stream<Map<String, Object>> streamFields(Specification<Employee> spec, EmployeeFields fields, Sort sort);
+}
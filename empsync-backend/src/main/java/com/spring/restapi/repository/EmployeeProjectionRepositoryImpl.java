@@ -0,0 +1,81 @@
+package com.spring.restapi.repository;
+
+import com.spring.restapi.dto.EmployeeFields;
+import com.spring.restapi.models.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class EmployeeProjectionRepositoryImpl implements EmployeeProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<Employee> spec, EmployeeFields fields, Sort sort, int limit) {
+        TypedQuery<Tuple> query = createQuery(spec, fields, sort);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            rows.add(toRow(tuple, fields));
+        }
+        return rows;
+    }
+
+    @Override
+    public Stream<Map<String, Object>> streamFields(Specification<Employee> spec, EmployeeFields fields, Sort sort) {
+        return createQuery(spec, fields, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .getResultStream()
+                .map(tuple -> toRow(tuple, fields));
+    }
+
+    private TypedQuery<Tuple> createQuery(Specification<Employee> spec, EmployeeFields fields, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.getNames().size());
+        for (String name : fields.getNames()) {
+            selections.add(root.get(name).alias(name));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, EmployeeFields fields) {
+        List<String> names = fields.getNames();
+        Map<String, Object> row = new LinkedHashMap<>(names.size() * 2);
+        for (int i = 0; i < names.size(); i++) {
+            row.put(names.get(i), tuple.get(i));
+        }
+        return row;
+    }
+}
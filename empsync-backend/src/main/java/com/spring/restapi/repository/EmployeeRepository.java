@@ -2,22 +2,39 @@
 package com.spring.restapi.repository;
 
 import com.spring.restapi.models.Employee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeProjectionRepository {
+    
+    // Id of the calling transaction, assigned if it has none yet; stamped on EmployeeChangedEvent
+    String CURRENT_TXID_SQL = "SELECT CAST(CAST(pg_current_xact_id() AS text) AS bigint)";
     
     // Basic query methods
     List<Employee> findByDepartment(String department);
     List<Employee> findByGender(String gender);
     Optional<Employee> findByEmail(String email);
+    
+    // Blocks inserts that reference the employee until the caller commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findByIdForUpdate(@Param("id") Long id);
     List<Employee> findByStatus(String status);
     List<Employee> findByPosition(String position);
     
@@ -59,4 +76,66 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // Find employees with salary greater than or equal to
     @Query("SELECT e FROM Employee e WHERE e.salary >= :minSalary ORDER BY e.salary DESC")
     List<Employee> findBySalaryGreaterThanEqualOrderBySalaryDesc(@Param("minSalary") BigDecimal minSalary);
+
+    // Ranked search: each branch is a nearest-neighbour scan of the GiST trigram index
+    // on lower(name) or lower(email) that stops after :limit rows; the merge keeps
+    // each employee's closest match
+    @Query(value = "SELECT e.* FROM employees e JOIN ("
+            + "(SELECT id, lower(name) <-> :query AS distance FROM employees WHERE lower(name) LIKE :pattern ESCAPE '\\' "
+            + "ORDER BY lower(name) <-> :query LIMIT :limit) UNION ALL "
+            + "(SELECT id, lower(email) <-> :query FROM employees WHERE lower(email) LIKE :pattern ESCAPE '\\' "
+            + "ORDER BY lower(email) <-> :query LIMIT :limit)"
+            + ") m ON m.id = e.id GROUP BY e.id ORDER BY min(m.distance), e.id LIMIT :limit",
+            nativeQuery = true)
+    List<Employee> searchBySubstring(@Param("query") String query, @Param("pattern") String pattern, @Param("limit") int limit);
+
+    // Typo-tolerant variant: word similarity above pg_trgm.word_similarity_threshold,
+    // written column-first (%>, <->>) so the GiST index can answer it
+    @Query(value = "SELECT e.* FROM employees e JOIN ("
+            + "(SELECT id, lower(name) <->> :query AS distance FROM employees WHERE lower(name) %> :query "
+            + "ORDER BY lower(name) <->> :query LIMIT :limit) UNION ALL "
+            + "(SELECT id, lower(email) <->> :query FROM employees WHERE lower(email) %> :query "
+            + "ORDER BY lower(email) <->> :query LIMIT :limit)"
+            + ") m ON m.id = e.id GROUP BY e.id ORDER BY min(m.distance), e.id LIMIT :limit",
+            nativeQuery = true)
+    List<Employee> searchFuzzy(@Param("query") String query, @Param("limit") int limit);
+
+    // Queries too short to yield a trigram fall back to a name prefix scan in index order
+    @Query(value = "SELECT e.* FROM employees e WHERE lower(e.name) COLLATE \"C\" LIKE :prefix ESCAPE '\\' "
+            + "ORDER BY lower(e.name) COLLATE \"C\", e.id LIMIT :limit",
+            nativeQuery = true)
+    List<Employee> searchByNamePrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+
+    @Query(value = CURRENT_TXID_SQL, nativeQuery = true)
+    long currentTransactionId();
+
+    // Cheap freshness check for conditional GETs; does not load the entity
+    @Query("SELECT e.version FROM Employee e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // (id, salary) of rows whose stored deductions predate the current payroll rules
+    @Query("SELECT e.id, e.salary FROM Employee e WHERE (e.deductionsVersion IS NULL OR e.deductionsVersion <> :version) AND e.id > :afterId ORDER BY e.id")
+    List<Object[]> findStaleDeductions(@Param("version") int version, @Param("afterId") long afterId, Limit limit);
+
+    // Cursor-backed streams for NDJSON responses; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e WHERE e.status = :status ORDER BY e.id")
+    Stream<Employee> streamByStatus(@Param("status") String status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e WHERE e.gender = :gender ORDER BY e.id")
+    Stream<Employee> streamByGender(@Param("gender") String gender);
 }
\ No newline at end of file
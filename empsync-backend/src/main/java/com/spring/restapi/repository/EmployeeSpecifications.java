@@ -0,0 +1,88 @@
+package com.spring.restapi.repository;
+
+import com.spring.restapi.dto.EmployeeCursor;
+import com.spring.restapi.dto.EmployeeFilter;
+import com.spring.restapi.models.Employee;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> all() {
+        return (root, query, cb) -> null;
+    }
+
+    public static Specification<Employee> hasDepartment(String department) {
+        return (root, query, cb) -> cb.equal(root.get("department"), department);
+    }
+
+    public static Specification<Employee> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Employee> hasGender(String gender) {
+        return (root, query, cb) -> cb.equal(root.get("gender"), gender);
+    }
+
+    // Conjunction of the filters that are set; each one can use an index on its column
+    public static Specification<Employee> matching(EmployeeFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            in(predicates, cb, root.get("department"), filter.getDepartment());
+            in(predicates, cb, root.get("gender"), filter.getGender());
+            in(predicates, cb, root.get("status"), filter.getStatus());
+            in(predicates, cb, root.get("position"), filter.getPosition());
+            if (filter.getMinSalary() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salary"), filter.getMinSalary()));
+            }
+            if (filter.getMaxSalary() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("salary"), filter.getMaxSalary()));
+            }
+            if (filter.getJoinedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("joinDate"), filter.getJoinedFrom()));
+            }
+            if (filter.getJoinedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("joinDate"), filter.getJoinedTo()));
+            }
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static void in(List<Predicate> predicates, CriteriaBuilder cb, Path<String> path, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        predicates.add(values.size() == 1 ? cb.equal(path, values.get(0)) : path.in(values));
+    }
+
+    // Rows strictly after the cursor in its (sort key, id) order
+    public static Specification<Employee> after(EmployeeCursor cursor) {
+        if (cursor.getLastId() == null) {
+            return all();
+        }
+        boolean ascending = cursor.getDirection() == Sort.Direction.ASC;
+        return (root, query, cb) -> {
+            Predicate idAfter = beyond(cb, root.<Long>get(EmployeeCursor.SORT_ID), cursor.getLastId(), ascending);
+            if (EmployeeCursor.SORT_ID.equals(cursor.getSortKey())) {
+                return idAfter;
+            }
+            Path<Comparable<Object>> key = root.<Comparable<Object>>get(cursor.getSortKey());
+            @SuppressWarnings("unchecked")
+            Comparable<Object> value = (Comparable<Object>) cursor.getLastValue();
+            return cb.or(beyond(cb, key, value, ascending), cb.and(cb.equal(key, value), idAfter));
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate beyond(CriteriaBuilder cb, Path<T> path, T value, boolean ascending) {
+        return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+}
@@ -1,14 +1,18 @@
 package com.spring.restapi.repository;
 
 import com.spring.restapi.models.Performance;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PerformanceRepository extends JpaRepository<Performance, Long> {
@@ -27,6 +31,14 @@ public interface PerformanceRepository extends JpaRepository<Performance, Long>
     List<Performance> findByReviewDateBetween(@Param("startDate") LocalDateTime startDate, 
                                            @Param("endDate") LocalDateTime endDate);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Performance p WHERE p.reviewDate >= :startDate AND p.reviewDate <= :endDate ORDER BY p.reviewDate, p.id")
+    Stream<Performance> streamByReviewDateBetween(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate);
+    
     @Query("SELECT p FROM Performance p WHERE p.employeeId = :employeeId AND p.reviewDate >= :startDate AND p.reviewDate <= :endDate")
     List<Performance> findByEmployeeIdAndReviewDateBetween(@Param("employeeId") Long employeeId,
                                                          @Param("startDate") LocalDateTime startDate,
@@ -0,0 +1,20 @@
+package com.spring.restapi.repository;
+
+import com.spring.restapi.models.TaxSlab;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaxSlabRepository extends JpaRepository<TaxSlab, Long> {
+
+    List<TaxSlab> findAllByOrderByFinancialYearAscRegimeAscLowerBoundAsc();
+
+    @Modifying
+    @Query("DELETE FROM TaxSlab t WHERE t.financialYear = :financialYear AND t.regime = :regime")
+    int deleteTable(@Param("financialYear") String financialYear, @Param("regime") String regime);
+}
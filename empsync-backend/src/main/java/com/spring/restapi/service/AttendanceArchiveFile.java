@@ -0,0 +1,272 @@
+package com.spring.restapi.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * One closed month of attendance in the columnar archive format, read through
+ * a memory-mapped buffer. Rows are sorted by employee and day; each column is
+ * stored contiguously (big-endian):
+ * <pre>
+ *   header    int magic, short version, short year, byte month, int rows, int CRC-32 of the rest
+ *   statuses  byte count, then per status: short length, UTF-8 bytes
+ *   employee  int length, then per row the unsigned LEB128 delta from the previous row's id
+ *   day       per row byte, day of month - 1
+ *   work      per row char, work minutes, 0xFFFF when null
+ *   overtime  per row char, overtime minutes, 0xFFFF when null
+ *   status    per row byte, index into statuses, -1 when null
+ * </pre>
+ * Only absolute reads are used, so one mapping is shared by concurrent scans.
+ */
+final class AttendanceArchiveFile {
+
+    private static final int MAGIC = 0x45415431; // "EAT1"
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 1 + 4 + 4;
+    private static final char NO_MINUTES = 0xFFFF;
+
+    private final YearMonth month;
+    private final int rows;
+    private final ByteBuffer buffer;
+    private final String[] statuses;
+    private final int employeeAt;
+    private final int dayAt;
+    private final int workAt;
+    private final int overtimeAt;
+    private final int statusAt;
+
+    private AttendanceArchiveFile(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not an attendance archive file");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported attendance archive version " + buffer.getShort(4));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_BYTES));
+        if ((int) crc.getValue() != buffer.getInt(13)) {
+            throw new IllegalArgumentException("Attendance archive checksum mismatch");
+        }
+        this.buffer = buffer;
+        this.month = YearMonth.of(buffer.getShort(6), buffer.get(8));
+        this.rows = buffer.getInt(9);
+
+        int at = HEADER_BYTES;
+        this.statuses = new String[buffer.get(at++)];
+        for (int i = 0; i < statuses.length; i++) {
+            byte[] bytes = new byte[buffer.getShort(at)];
+            buffer.get(at + 2, bytes);
+            statuses[i] = new String(bytes, StandardCharsets.UTF_8);
+            at += 2 + bytes.length;
+        }
+        this.employeeAt = at + 4;
+        this.dayAt = employeeAt + buffer.getInt(at);
+        this.workAt = dayAt + rows;
+        this.overtimeAt = workAt + rows * 2;
+        this.statusAt = overtimeAt + rows * 2;
+        if (statusAt + rows != buffer.capacity()) {
+            throw new IllegalArgumentException("Attendance archive file is truncated");
+        }
+    }
+
+    // The mapping stays valid after the channel is closed
+    static AttendanceArchiveFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AttendanceArchiveFile(mapped);
+        }
+    }
+
+    YearMonth getMonth() {
+        return month;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    long getBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Visits the rows between the given days of the month (inclusive), in
+     * employee and day order, optionally for one employee only.
+     */
+    void scan(int fromDay, int toDay, Long employeeId, RowVisitor visitor) {
+        long id = 0;
+        int at = employeeAt;
+        for (int row = 0; row < rows; row++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(at++);
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            id += delta;
+
+            if (employeeId != null && id != employeeId) {
+                if (id > employeeId) {
+                    return;
+                }
+                continue;
+            }
+            int day = buffer.get(dayAt + row) + 1;
+            if (day < fromDay || day > toDay) {
+                continue;
+            }
+            byte status = buffer.get(statusAt + row);
+            visitor.visit(id, day, minutes(buffer.getChar(workAt + row * 2)),
+                    minutes(buffer.getChar(overtimeAt + row * 2)), status < 0 ? null : statuses[status]);
+        }
+    }
+
+    private static int minutes(char stored) {
+        return stored == NO_MINUTES ? -1 : stored;
+    }
+
+    @FunctionalInterface
+    interface RowVisitor {
+
+        // Minutes are -1 when the hours were null
+        void visit(long employeeId, int dayOfMonth, int workMinutes, int overtimeMinutes, String status);
+    }
+
+    /**
+     * Collects one month of rows, which must arrive sorted by employee and day,
+     * and writes them as an archive file.
+     */
+    static final class Writer {
+
+        private final YearMonth month;
+        private final ByteArrayOutputStream employees = new ByteArrayOutputStream();
+        private final Map<String, Byte> statusIndex = new LinkedHashMap<>();
+        private byte[] days = new byte[1024];
+        private char[] work = new char[1024];
+        private char[] overtime = new char[1024];
+        private byte[] status = new byte[1024];
+        private int rows;
+        private long lastEmployeeId;
+        private int lastDay;
+
+        Writer(YearMonth month) {
+            this.month = month;
+        }
+
+        void add(long employeeId, LocalDate workDay, Double workHours, Double overtimeHours, String rowStatus) {
+            if (!YearMonth.from(workDay).equals(month)) {
+                throw new IllegalArgumentException("Day " + workDay + " is not in " + month);
+            }
+            int day = workDay.getDayOfMonth();
+            if (employeeId < lastEmployeeId || (employeeId == lastEmployeeId && day <= lastDay && rows > 0)) {
+                throw new IllegalArgumentException("Rows must be sorted by employee and day");
+            }
+            if (rows == days.length) {
+                int capacity = rows * 2;
+                days = Arrays.copyOf(days, capacity);
+                work = Arrays.copyOf(work, capacity);
+                overtime = Arrays.copyOf(overtime, capacity);
+                status = Arrays.copyOf(status, capacity);
+            }
+
+            long delta = employeeId - lastEmployeeId;
+            while ((delta & ~0x7FL) != 0) {
+                employees.write((int) ((delta & 0x7F) | 0x80));
+                delta >>>= 7;
+            }
+            employees.write((int) delta);
+
+            days[rows] = (byte) (day - 1);
+            work[rows] = toMinutes(workHours);
+            overtime[rows] = toMinutes(overtimeHours);
+            status[rows] = rowStatus == null ? -1 : statusIndex.computeIfAbsent(rowStatus, key -> {
+                if (statusIndex.size() == Byte.MAX_VALUE) {
+                    throw new IllegalStateException("Too many distinct attendance statuses in " + month);
+                }
+                return (byte) statusIndex.size();
+            });
+            rows++;
+            lastEmployeeId = employeeId;
+            lastDay = day;
+        }
+
+        int getRows() {
+            return rows;
+        }
+
+        // Written beside the target and moved into place, so readers never see a partial file
+        void writeTo(Path target) throws IOException {
+            List<byte[]> names = new ArrayList<>();
+            int statusBytes = 1;
+            for (String name : statusIndex.keySet()) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                names.add(bytes);
+                statusBytes += 2 + bytes.length;
+            }
+            ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + statusBytes + 4 + employees.size() + rows * 6);
+            out.position(HEADER_BYTES);
+            out.put((byte) names.size());
+            for (byte[] bytes : names) {
+                out.putShort((short) bytes.length).put(bytes);
+            }
+            out.putInt(employees.size()).put(employees.toByteArray());
+            out.put(days, 0, rows);
+            for (int i = 0; i < rows; i++) {
+                out.putChar(work[i]);
+            }
+            for (int i = 0; i < rows; i++) {
+                out.putChar(overtime[i]);
+            }
+            out.put(status, 0, rows);
+
+            CRC32 crc = new CRC32();
+            crc.update(out.array(), HEADER_BYTES, out.capacity() - HEADER_BYTES);
+            out.putInt(0, MAGIC)
+                    .putShort(4, VERSION)
+                    .putShort(6, (short) month.getYear())
+                    .put(8, (byte) month.getMonthValue())
+                    .putInt(9, rows)
+                    .putInt(13, (int) crc.getValue());
+
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                out.rewind();
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private char toMinutes(Double hours) {
+            if (hours == null) {
+                return NO_MINUTES;
+            }
+            long minutes = Math.round(hours * 60);
+            if (minutes < 0 || minutes >= NO_MINUTES) {
+                throw new IllegalArgumentException(hours + " hours cannot be archived in " + month);
+            }
+            return (char) minutes;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.AttendanceTrend;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Columnar archive of closed attendance months for multi-year analytics. Once
+ * a month is older than {@code after-months} and its rollups are compacted, the
+ * nightly export writes it to one {@link AttendanceArchiveFile} in the archive
+ * directory, reading it from attendance or, if already detached, from its
+ * partition in the attendance_archive schema. Trend queries map the files and
+ * scan them in parallel, one worker per month.
+ *
+ * <p>Changes to a past month mark it in attendance_archive_dirty (V9); until
+ * the next export writes it again, the month is left to the caller to read
+ * from attendance, so the archive never answers with stale totals.
+ */
+@Service
+public class AttendanceArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceArchiveService.class);
+
+    private static final Pattern FILE_NAME = Pattern.compile("attendance-(\\d{4})-(\\d{2})\\.col");
+    private static final Pattern PARTITION_NAME = Pattern.compile("attendance_p(\\d{4})_(\\d{2})");
+
+    private static final String ARCHIVED_PARTITIONS_SQL = "SELECT c.relname FROM pg_class c "
+            + "JOIN pg_namespace n ON n.oid = c.relnamespace WHERE n.nspname = ? AND c.relkind = 'r'";
+
+    private static final String DIRTY_MONTHS_SQL = "SELECT month FROM attendance_archive_dirty";
+
+    @Value("${empsync.attendance.archive.directory:data/attendance-archive}")
+    private String directory;
+
+    @Value("${empsync.attendance.archive.after-months:0}")
+    private int afterMonths;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService scanners;
+    private final NavigableMap<YearMonth, AttendanceArchiveFile> files = new ConcurrentSkipListMap<>();
+
+    public AttendanceArchiveService(@Value("${empsync.attendance.archive.scan-threads:4}") int scanThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scanners = Executors.newFixedThreadPool(scanThreads, runnable -> {
+            Thread thread = new Thread(runnable, "attendance-archive-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(dir, "attendance-*.col")) {
+            for (Path path : paths) {
+                if (!FILE_NAME.matcher(path.getFileName().toString()).matches()) {
+                    continue;
+                }
+                try {
+                    AttendanceArchiveFile file = AttendanceArchiveFile.open(path);
+                    files.put(file.getMonth(), file);
+                } catch (IOException | RuntimeException e) {
+                    // Left out, so the next export writes the month again
+                    logger.error("❌ Skipping attendance archive file {}: {}", path, e.getMessage());
+                }
+            }
+        }
+        logger.info("🗃️ Attendance archive loaded: {} months", files.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanners.shutdownNow();
+    }
+
+    /**
+     * Exports every closed month older than after-months that has no archive
+     * file yet or has changed since it was written, oldest first.
+     */
+    @Scheduled(cron = "${empsync.attendance.archive.export-cron:0 20 0 * * *}")
+    public synchronized void export() {
+        if (afterMonths <= 0) {
+            return;
+        }
+        try {
+            YearMonth exportBefore = YearMonth.now().minusMonths(afterMonths);
+            LocalDate compactedThrough = jdbcTemplate.queryForList(
+                    "SELECT compacted_through FROM attendance_rollup_state WHERE name = 'attendance'", LocalDate.class)
+                    .stream().findFirst().orElse(null);
+            Set<YearMonth> dirty = dirtyMonths();
+            int exported = 0;
+            for (YearMonth month = oldestMonth(); month != null && month.isBefore(exportBefore); month = month.plusMonths(1)) {
+                if (files.containsKey(month) && !dirty.contains(month)) {
+                    continue;
+                }
+                // Late edits are still folded in until compaction has passed the month
+                if (compactedThrough == null || compactedThrough.isBefore(month.atEndOfMonth())) {
+                    logger.warn("⚠️ Not archiving attendance for {}: rollups only compacted through {}", month, compactedThrough);
+                    break;
+                }
+                // Cleared before the rows are read: a change committed after this marks the month again
+                Date monthStart = Date.valueOf(month.atDay(1));
+                jdbcTemplate.update("DELETE FROM attendance_archive_dirty WHERE month = ?", monthStart);
+                try {
+                    exportMonth(month);
+                    exported++;
+                } catch (Exception e) {
+                    jdbcTemplate.update("INSERT INTO attendance_archive_dirty (month) VALUES (?) ON CONFLICT DO NOTHING", monthStart);
+                    logger.error("❌ Failed to archive attendance for {}: {}", month, e.getMessage());
+                }
+            }
+            if (exported > 0) {
+                logger.info("🗃️ Archived {} attendance months", exported);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Attendance archive export failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Monthly totals between the given days (inclusive), optionally for one
+     * employee, for every month in the range whose archive file is current.
+     * Months missing from the result must be read from attendance; months
+     * present with no records had none.
+     */
+    public Map<YearMonth, AttendanceTrend> getMonthlyTrends(Long employeeId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || files.isEmpty()) {
+            return Map.of();
+        }
+        Set<YearMonth> dirty = dirtyMonths();
+        List<Callable<AttendanceTrend>> tasks = new ArrayList<>();
+        for (AttendanceArchiveFile file : files.subMap(YearMonth.from(from), true, YearMonth.from(to), true).values()) {
+            YearMonth month = file.getMonth();
+            if (dirty.contains(month)) {
+                continue;
+            }
+            int fromDay = month.equals(YearMonth.from(from)) ? from.getDayOfMonth() : 1;
+            int toDay = month.equals(YearMonth.from(to)) ? to.getDayOfMonth() : month.lengthOfMonth();
+            tasks.add(() -> {
+                Map<String, Long> statusCounts = new TreeMap<>();
+                long[] minutes = new long[2];
+                file.scan(fromDay, toDay, employeeId, (id, day, workMinutes, overtimeMinutes, status) -> {
+                    statusCounts.merge(status == null ? "" : status, 1L, Long::sum);
+                    minutes[0] += Math.max(workMinutes, 0);
+                    minutes[1] += Math.max(overtimeMinutes, 0);
+                });
+                return AttendanceTrend.of(month, statusCounts, minutes[0] / 60.0, minutes[1] / 60.0);
+            });
+        }
+
+        Map<YearMonth, AttendanceTrend> trends = new TreeMap<>();
+        try {
+            for (Future<AttendanceTrend> future : scanners.invokeAll(tasks)) {
+                AttendanceTrend trend = future.get();
+                trends.put(YearMonth.parse(trend.month()), trend);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Attendance archive scan interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Attendance archive scan failed", e.getCause());
+        }
+        return trends;
+    }
+
+    // True when the month has an archive file written since its last change
+    public boolean isArchived(YearMonth month) {
+        return files.containsKey(month) && !dirtyMonths().contains(month);
+    }
+
+    private void exportMonth(YearMonth month) throws IOException {
+        String partition = String.format("attendance_p%04d_%02d", month.getYear(), month.getMonthValue());
+        String table = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                AttendancePartitionService.ARCHIVE_SCHEMA + "." + partition)
+                ? AttendancePartitionService.ARCHIVE_SCHEMA + "." + partition
+                : "attendance";
+
+        AttendanceArchiveFile.Writer writer = new AttendanceArchiveFile.Writer(month);
+        jdbcTemplate.query("SELECT employee_id, work_day, work_hours, overtime_hours, status FROM " + table
+                + " WHERE date >= ? AND date < ? ORDER BY employee_id, work_day", rs -> {
+            writer.add(rs.getLong("employee_id"), rs.getObject("work_day", LocalDate.class),
+                    rs.getObject("work_hours", Double.class), rs.getObject("overtime_hours", Double.class),
+                    rs.getString("status"));
+        }, Timestamp.valueOf(month.atDay(1).atStartOfDay()), Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+
+        Path path = Paths.get(directory, String.format("attendance-%04d-%02d.col", month.getYear(), month.getMonthValue()));
+        writer.writeTo(path);
+        AttendanceArchiveFile file = AttendanceArchiveFile.open(path);
+        files.put(month, file);
+        logger.info("🗃️ Attendance for {} archived from {}: {} rows, {} bytes", month, table, file.getRows(), file.getBytes());
+    }
+
+    // The earliest month with attendance, whether live, detached or already archived
+    private YearMonth oldestMonth() {
+        YearMonth oldest = files.isEmpty() ? null : files.firstKey();
+        LocalDate live = jdbcTemplate.queryForObject("SELECT CAST(min(date) AS date) FROM attendance", LocalDate.class);
+        if (live != null && (oldest == null || YearMonth.from(live).isBefore(oldest))) {
+            oldest = YearMonth.from(live);
+        }
+        for (String name : jdbcTemplate.queryForList(ARCHIVED_PARTITIONS_SQL, String.class,
+                AttendancePartitionService.ARCHIVE_SCHEMA)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (oldest == null || month.isBefore(oldest)) {
+                    oldest = month;
+                }
+            }
+        }
+        return oldest;
+    }
+
+    private Set<YearMonth> dirtyMonths() {
+        Set<YearMonth> dirty = new HashSet<>();
+        jdbcTemplate.queryForList(DIRTY_MONTHS_SQL, LocalDate.class).forEach(month -> dirty.add(YearMonth.from(month)));
+        return dirty;
+    }
+}
@@ -0,0 +1,25 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.models.Attendance;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published inside the transaction that recorded a check-in, check-out or
+ * absence. Carries a copy of the attendance fields so after-commit listeners
+ * do not touch the entity.
+ */
+public record AttendanceChangedEvent(String type, Long attendanceId, Long employeeId, LocalDateTime date,
+                                     LocalDateTime checkIn, LocalDateTime checkOut, String status, String location,
+                                     String notes) {
+
+    public static final String CHECK_IN = "check-in";
+    public static final String CHECK_OUT = "check-out";
+    public static final String ABSENT = "absent";
+
+    public static AttendanceChangedEvent of(String type, Attendance attendance) {
+        return new AttendanceChangedEvent(type, attendance.getId(), attendance.getEmployeeId(), attendance.getDate(),
+                attendance.getCheckIn(), attendance.getCheckOut(), attendance.getStatus(), attendance.getLocation(),
+                attendance.getNotes());
+    }
+}
@@ -0,0 +1,145 @@
+package com.spring.restapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of attendance (V8): keeps partitions
+ * created {@code months-ahead} months into the future, and once a month is
+ * older than {@code retention-months} detaches its partition and moves it to
+ * the attendance_archive schema. Whole partitions are detached, never deleted
+ * row by row; stats for archived months stay available from the rollups, and
+ * trends from the month's archive file, which must be current before the
+ * partition is detached.
+ */
+@Service
+public class AttendancePartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendancePartitionService.class);
+
+    public static final String ARCHIVE_SCHEMA = "attendance_archive";
+
+    public static final String MISSING_PARTITIONS_METRIC = "empsync.attendance.partitions.missing";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("attendance_p(\\d{4})_(\\d{2})");
+
+    private static final String PARTITIONS_SQL = "SELECT c.relname, i.inhdetachpending FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'public.attendance'::regclass ORDER BY c.relname";
+
+    @Value("${empsync.attendance.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${empsync.attendance.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AttendanceArchiveService attendanceArchiveService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${empsync.attendance.partitions.maintenance-cron:0 30 0 * * *}")
+    public void maintain() {
+        try {
+            createUpcomingPartitions();
+            if (retentionMonths > 0) {
+                archiveExpiredPartitions(YearMonth.now().minusMonths(retentionMonths));
+            }
+        } catch (Exception e) {
+            logger.error("❌ Attendance partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Called when a punch found no partition for its day. Maintenance creates
+     * partitions {@code months-ahead} months ahead, so this means it has been
+     * failing; punches are not given partition DDL of their own, which would
+     * lock the attendance table during live traffic. Counted in
+     * empsync.attendance.partitions.missing at /actuator/metrics.
+     */
+    public void reportMissingPartition(LocalDate day) {
+        meterRegistry.counter(MISSING_PARTITIONS_METRIC).increment();
+        logger.error("🚨 No attendance partition for {}: partition maintenance has not created it", YearMonth.from(day));
+    }
+
+    private void createUpcomingPartitions() {
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(month.plusMonths(i));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = jdbcTemplate.queryForObject("SELECT ensure_attendance_partition(?)", String.class,
+                Date.valueOf(month.atDay(1)));
+        logger.debug("Attendance partition {} present", partition);
+    }
+
+    // Archives every month before the given one
+    private void archiveExpiredPartitions(YearMonth keepFrom) {
+        LocalDate compactedThrough = jdbcTemplate.queryForList(
+                "SELECT compacted_through FROM attendance_rollup_state WHERE name = 'attendance'", LocalDate.class)
+                .stream().findFirst().orElse(null);
+
+        List<Partition> partitions = jdbcTemplate.query(PARTITIONS_SQL,
+                (rs, rowNum) -> new Partition(rs.getString("relname"), rs.getBoolean("inhdetachpending")));
+        for (Partition partition : partitions) {
+            String name = partition.name();
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(keepFrom)) {
+                continue;
+            }
+            // The department rollups are rebuilt from attendance, so a month must be compacted first
+            if (compactedThrough == null || compactedThrough.isBefore(month.atEndOfMonth())) {
+                logger.warn("⚠️ Not archiving {}: rollups only compacted through {}", name, compactedThrough);
+                continue;
+            }
+            // Trends read attendance for any month the archive does not answer; an interrupted
+            // detach is finished regardless, since the export can only read it once it is moved
+            if (!partition.detachPending() && !attendanceArchiveService.isArchived(month)) {
+                logger.warn("⚠️ Not archiving {}: no current archive file for {}", name, month);
+                continue;
+            }
+            archive(name, partition.detachPending());
+        }
+    }
+
+    // Runs outside a transaction, as DETACH ... CONCURRENTLY requires; queries on attendance are not blocked
+    private void archive(String partition, boolean detachPending) {
+        if (detachPending) {
+            // An earlier concurrent detach was interrupted
+            jdbcTemplate.execute("ALTER TABLE attendance DETACH PARTITION " + partition + " FINALIZE");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE attendance DETACH PARTITION " + partition + " CONCURRENTLY");
+        }
+        // Archived months are a snapshot and no longer keep their employees from being deleted
+        jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT IF EXISTS fk_attendance_employee");
+        jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        logger.info("🗄️ Attendance partition {} detached and moved to {}", partition, ARCHIVE_SCHEMA);
+    }
+
+    private record Partition(String name, boolean detachPending) { }
+}
@@ -0,0 +1,275 @@
+package com.spring.restapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Attendance stats answered from rollup tables (V7). A window starting on
+ * {@code firstDay} is summed from the daily rows up to the next month boundary
+ * and from the monthly rows after it, so its cost depends on the number of
+ * months covered rather than on the number of punches. Per-employee rollups
+ * are kept current by a trigger and recounted nightly one day at a time;
+ * per-department rollups are rebuilt nightly up to {@code compacted_through},
+ * and later days are counted from attendance.
+ */
+@Service
+public class AttendanceRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceRollupService.class);
+
+    private static final String EMPLOYEE_TOTALS_SQL = "SELECT COALESCE(sum(records), 0) AS records, "
+            + "COALESCE(sum(hours_count), 0) AS hours_count, COALESCE(sum(work_hours), 0) AS work_hours FROM ("
+            + "SELECT records, hours_count, work_hours FROM attendance_employee_daily "
+            + "WHERE employee_id = ? AND work_day >= ? AND work_day < ? "
+            + "UNION ALL SELECT records, hours_count, work_hours FROM attendance_employee_monthly "
+            + "WHERE employee_id = ? AND month >= ?) r";
+
+    // Compacted days come from the rollups, days after compacted_through from attendance
+    private static final String DEPARTMENT_TOTALS_SQL = "WITH w AS (SELECT compacted_through AS through "
+            + "FROM attendance_rollup_state WHERE name = 'attendance') "
+            + "SELECT department, status, sum(records) AS records, sum(hours_count) AS hours_count, "
+            + "sum(work_hours) AS work_hours FROM ("
+            + "SELECT department, status, records, hours_count, work_hours FROM attendance_department_daily, w "
+            + "WHERE work_day >= ? AND work_day < ? AND work_day <= w.through "
+            + "UNION ALL SELECT department, status, records, hours_count, work_hours FROM attendance_department_monthly "
+            + "WHERE month >= ? "
+            + "UNION ALL SELECT COALESCE(e.department, ''), COALESCE(a.status, ''), count(*), count(a.work_hours), "
+            + "COALESCE(sum(a.work_hours), 0) FROM attendance a LEFT JOIN employees e ON e.id = a.employee_id "
+            + "WHERE a.date >= GREATEST(?, (SELECT COALESCE(through + 1, DATE '-infinity') FROM w)) "
+            + "GROUP BY COALESCE(e.department, ''), COALESCE(a.status, '')"
+            + ") r GROUP BY department, status";
+
+    private static final String STATE_SQL =
+            "SELECT compacted_through FROM attendance_rollup_state WHERE name = 'attendance' FOR UPDATE";
+
+    // Exclusive side of the per-day lock the rollup trigger takes shared (V7)
+    private static final String DAY_LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('attendance_rollup'), ?)";
+
+    // Below deadlock_timeout, so a punch stuck behind the compaction is never the one cancelled
+    private static final String DAY_LOCK_TIMEOUT = "500ms";
+
+    @Value("${empsync.attendance.rollup.lookback-days:7}")
+    private int lookbackDays;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Days recorded, average and total work hours for one employee from
+     * {@code startDate} on. Matches the former scans on {@code date >= startDate}:
+     * a start time after midnight excludes that day.
+     */
+    public Map<String, Object> getEmployeeStats(Long employeeId, LocalDateTime startDate) {
+        LocalDate firstDay = firstDay(startDate);
+        LocalDate firstMonth = firstMonth(firstDay);
+        return jdbcTemplate.queryForObject(EMPLOYEE_TOTALS_SQL, (rs, rowNum) -> {
+            long records = rs.getLong("records");
+            long hoursCount = rs.getLong("hours_count");
+            double workHours = rs.getDouble("work_hours");
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalDays", records);
+            stats.put("averageWorkHours", hoursCount == 0 ? 0.0 : workHours / hoursCount);
+            stats.put("totalWorkHours", workHours);
+            return stats;
+        }, employeeId, Date.valueOf(firstDay), Date.valueOf(firstMonth), employeeId, Date.valueOf(firstMonth));
+    }
+
+    /**
+     * Record counts by status, overall and per department, from
+     * {@code startDate} on.
+     */
+    public Map<String, Object> getOverallStats(LocalDateTime startDate) {
+        Map<String, Long> statusCounts = new HashMap<>();
+        Map<String, DepartmentTotals> departments = new TreeMap<>();
+        LocalDate firstDay = firstDay(startDate);
+        LocalDate firstMonth = firstMonth(firstDay);
+        jdbcTemplate.query(DEPARTMENT_TOTALS_SQL, rs -> {
+            String status = rs.getString("status");
+            long records = rs.getLong("records");
+            statusCounts.merge(status, records, Long::sum);
+
+            DepartmentTotals totals = departments.computeIfAbsent(rs.getString("department"), name -> new DepartmentTotals());
+            totals.records += records;
+            totals.hoursCount += rs.getLong("hours_count");
+            totals.workHours += rs.getDouble("work_hours");
+            totals.statusCounts.merge(status, records, Long::sum);
+        }, Date.valueOf(firstDay), Date.valueOf(firstMonth), Date.valueOf(firstMonth),
+                Timestamp.valueOf(firstDay.atStartOfDay()));
+
+        Map<String, Object> byDepartment = new LinkedHashMap<>();
+        departments.forEach((department, totals) -> byDepartment.put(department, totals.toMap()));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("statusCounts", statusCounts);
+        stats.put("totalRecords", statusCounts.values().stream().mapToLong(Long::longValue).sum());
+        stats.put("departments", byDepartment);
+        return stats;
+    }
+
+    /**
+     * Rebuilds the rollups for every day from the last compaction (at most
+     * lookback-days back, to pick up late edits) through yesterday and moves
+     * {@code compacted_through} forward. The per-employee rebuild also repairs
+     * rollups that missed writes, e.g. loads run with triggers disabled.
+     */
+    @Scheduled(cron = "${empsync.attendance.rollup.compaction-cron:0 15 0 * * *}")
+    public void compact() {
+        LocalDate through = LocalDate.now().minusDays(1);
+        try {
+            LocalDate[] range = transactionTemplate.execute(status -> {
+                LocalDate compacted = jdbcTemplate.queryForList(STATE_SQL, LocalDate.class).stream()
+                        .findFirst().orElse(null);
+                LocalDate from = through.minusDays(lookbackDays - 1L);
+                if (compacted == null) {
+                    from = jdbcTemplate.queryForObject("SELECT min(work_day) FROM attendance", LocalDate.class);
+                } else if (compacted.plusDays(1).isBefore(from)) {
+                    from = compacted.plusDays(1);
+                }
+                if (from == null || from.isAfter(through)) {
+                    return null;
+                }
+                rebuildDepartments(from, through);
+                jdbcTemplate.update("INSERT INTO attendance_rollup_state (name, compacted_through, compacted_at) "
+                        + "VALUES ('attendance', ?, now()) ON CONFLICT (name) DO UPDATE "
+                        + "SET compacted_through = EXCLUDED.compacted_through, compacted_at = EXCLUDED.compacted_at",
+                        Date.valueOf(through));
+                return new LocalDate[] {from, through};
+            });
+            if (range == null) {
+                return;
+            }
+
+            // Employee rollups are trigger-maintained, so a day that cannot be rebuilt now waits for the next run
+            int skipped = 0;
+            for (LocalDate day = range[0]; !day.isAfter(range[1]); day = day.plusDays(1)) {
+                try {
+                    rebuildEmployeeDay(day);
+                } catch (Exception e) {
+                    skipped++;
+                    logger.warn("⚠️ Attendance rollups for {} not rebuilt: {}", day, e.getMessage());
+                }
+            }
+            logger.info("🗜️ Attendance rollups compacted from {} through {} ({} days skipped)", range[0], range[1], skipped);
+        } catch (Exception e) {
+            logger.error("❌ Attendance rollup compaction failed: {}", e.getMessage());
+        }
+    }
+
+    // Only the compaction writes these, and readers take compacted days from them as one snapshot
+    private void rebuildDepartments(LocalDate from, LocalDate through) {
+        Date firstDay = Date.valueOf(from);
+        Date lastDay = Date.valueOf(through);
+        Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(through.plusDays(1).atStartOfDay());
+        Date firstMonth = Date.valueOf(from.withDayOfMonth(1));
+        Date endMonth = Date.valueOf(through.withDayOfMonth(1).plusMonths(1));
+
+        jdbcTemplate.update("DELETE FROM attendance_department_daily WHERE work_day BETWEEN ? AND ?", firstDay, lastDay);
+        jdbcTemplate.update("INSERT INTO attendance_department_daily "
+                + "(department, work_day, status, records, hours_count, work_hours) "
+                + "SELECT COALESCE(e.department, ''), a.work_day, COALESCE(a.status, ''), count(*), count(a.work_hours), "
+                + "COALESCE(sum(a.work_hours), 0) FROM attendance a LEFT JOIN employees e ON e.id = a.employee_id "
+                + "WHERE a.date >= ? AND a.date < ? "
+                + "GROUP BY COALESCE(e.department, ''), a.work_day, COALESCE(a.status, '')", start, end);
+        jdbcTemplate.update("DELETE FROM attendance_department_monthly WHERE month >= ? AND month < ?", firstMonth, endMonth);
+        jdbcTemplate.update("INSERT INTO attendance_department_monthly "
+                + "(department, month, status, records, hours_count, work_hours) "
+                + "SELECT department, date_trunc('month', work_day)::date, status, sum(records), sum(hours_count), "
+                + "sum(work_hours) FROM attendance_department_daily WHERE work_day >= ? AND work_day < ? "
+                + "GROUP BY department, date_trunc('month', work_day), status", firstMonth, endMonth);
+    }
+
+    /**
+     * Recounts one past day of the per-employee rollups under that day's lock
+     * (V7), which the rollup trigger takes shared, so live punches on other
+     * days never wait. The month row may also be taking today's punches, so it
+     * gets the difference between the recount and the old daily rows, added
+     * like a trigger delta, instead of being rebuilt. The short lock timeout
+     * makes the compaction, not a punch, give up on a lock conflict.
+     */
+    private void rebuildEmployeeDay(LocalDate day) {
+        Date workDay = Date.valueOf(day);
+        Date month = Date.valueOf(day.withDayOfMonth(1));
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + DAY_LOCK_TIMEOUT + "'");
+            jdbcTemplate.query(DAY_LOCK_SQL, rs -> { }, (int) day.toEpochDay());
+
+            jdbcTemplate.update("WITH recount AS ("
+                    + "SELECT employee_id, count(*) AS records, count(work_hours) AS hours_count, "
+                    + "COALESCE(sum(work_hours), 0) AS work_hours, COALESCE(sum(overtime_hours), 0) AS overtime_hours "
+                    + "FROM attendance WHERE date >= ? AND date < ? GROUP BY employee_id"
+                    + "), delta AS ("
+                    + "SELECT employee_id, sum(records) AS records, sum(hours_count) AS hours_count, "
+                    + "sum(work_hours) AS work_hours, sum(overtime_hours) AS overtime_hours FROM ("
+                    + "SELECT employee_id, records, hours_count, work_hours, overtime_hours FROM recount "
+                    + "UNION ALL SELECT employee_id, -records, -hours_count, -work_hours, -overtime_hours "
+                    + "FROM attendance_employee_daily WHERE work_day = ?) c GROUP BY employee_id "
+                    + "HAVING sum(records) <> 0 OR sum(hours_count) <> 0 OR sum(work_hours) <> 0 OR sum(overtime_hours) <> 0"
+                    + ") INSERT INTO attendance_employee_monthly AS r "
+                    + "(employee_id, month, records, hours_count, work_hours, overtime_hours) "
+                    + "SELECT employee_id, ?, records, hours_count, work_hours, overtime_hours FROM delta ORDER BY employee_id "
+                    + "ON CONFLICT (employee_id, month) DO UPDATE SET records = r.records + EXCLUDED.records, "
+                    + "hours_count = r.hours_count + EXCLUDED.hours_count, work_hours = r.work_hours + EXCLUDED.work_hours, "
+                    + "overtime_hours = r.overtime_hours + EXCLUDED.overtime_hours", start, end, workDay, month);
+
+            jdbcTemplate.update("DELETE FROM attendance_employee_daily WHERE work_day = ?", workDay);
+            jdbcTemplate.update("INSERT INTO attendance_employee_daily "
+                    + "(employee_id, work_day, records, hours_count, work_hours, overtime_hours) "
+                    + "SELECT employee_id, work_day, count(*), count(work_hours), COALESCE(sum(work_hours), 0), "
+                    + "COALESCE(sum(overtime_hours), 0) FROM attendance WHERE date >= ? AND date < ? "
+                    + "GROUP BY employee_id, work_day", start, end);
+            // Deleted attendance (e.g. a deleted employee) leaves zeroed rows behind
+            jdbcTemplate.update("DELETE FROM attendance_employee_monthly WHERE month = ? AND records = 0 AND hours_count = 0",
+                    month);
+        });
+    }
+
+    // Attendance dates are midnights, so a start time after midnight skips to the next day
+    private static LocalDate firstDay(LocalDateTime startDate) {
+        LocalDate day = startDate.toLocalDate();
+        return startDate.toLocalTime().equals(LocalTime.MIDNIGHT) ? day : day.plusDays(1);
+    }
+
+    private static LocalDate firstMonth(LocalDate firstDay) {
+        return firstDay.getDayOfMonth() == 1 ? firstDay : firstDay.withDayOfMonth(1).plusMonths(1);
+    }
+
+    private static final class DepartmentTotals {
+
+        long records;
+        long hoursCount;
+        double workHours;
+        final Map<String, Long> statusCounts = new TreeMap<>();
+
+        Map<String, Object> toMap() {
+            Map<String, Object> totals = new HashMap<>();
+            totals.put("totalRecords", records);
+            totals.put("statusCounts", statusCounts);
+            totals.put("totalWorkHours", workHours);
+            totals.put("averageWorkHours", hoursCount == 0 ? 0.0 : workHours / hoursCount);
+            return totals;
+        }
+    }
+}
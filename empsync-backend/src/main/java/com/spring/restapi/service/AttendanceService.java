@@ -1,21 +1,32 @@
 package com.spring.restapi.service;
 
+import com.spring.restapi.dto.AttendanceTrend;
 import com.spring.restapi.models.Attendance;
-import com.spring.restapi.models.Employee;
 import com.spring.restapi.repository.AttendanceRepository;
-import com.spring.restapi.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -23,75 +34,60 @@ public class AttendanceService {
 
     private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
 
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final String CHECK_VIOLATION = "23514";
+
     @Autowired
     private AttendanceRepository attendanceRepository;
 
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private ApplicationEventPublisher eventPublisher;
 
-    public Attendance checkIn(Long employeeId, String location, String notes) {
-        logger.info("CHECKING IN EMPLOYEE - ID: {}, Location: {}", employeeId, location);
+    @Autowired
+    private PresenceIndex presenceIndex;
 
-        Optional<Employee> employee = employeeRepository.findById(employeeId);
-        if (employee.isEmpty()) {
-            throw new IllegalArgumentException("Employee not found with id: " + employeeId);
-        }
+    @Autowired
+    private AttendanceRollupService attendanceRollupService;
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = now.toLocalDate().atTime(LocalTime.MAX);
-
-        Optional<Attendance> existingAttendance = attendanceRepository
-                .findByEmployeeIdAndDateBetween(employeeId, startOfDay, endOfDay)
-                .stream()
-                .findFirst();
-
-        if (existingAttendance.isPresent()) {
-            if (existingAttendance.get().getCheckOut() == null) {
-                throw new IllegalStateException("Employee already checked in today");
-            } else {
-                throw new IllegalStateException("Employee already completed attendance for today");
-            }
-        }
+    @Autowired
+    private AttendanceArchiveService attendanceArchiveService;
+
+    @Autowired
+    private AttendancePartitionService attendancePartitionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Attendance checkIn(Long employeeId, String location, String notes) {
+        return checkIn(employeeId, location, notes, LocalDateTime.now());
+    }
 
-        Attendance attendance = new Attendance(employeeId, now, now.toLocalDate().atStartOfDay());
-        attendance.setLocation(location);
-        attendance.setNotes(notes);
-        attendance.setStatus("Present");
+    // now is the punch time, which write-behind punches carry from when they were accepted
+    public Attendance checkIn(Long employeeId, String location, String notes, LocalDateTime now) {
+        logger.info("CHECKING IN EMPLOYEE - ID: {}, Location: {}", employeeId, location);
+
+        Attendance savedAttendance = insertOrExplain(employeeId, now.toLocalDate(),
+                () -> attendanceRepository.insertCheckIn(employeeId, now.toLocalDate(), now, location, notes))
+                .orElseThrow(() -> new IllegalStateException(describeExisting(employeeId, now.toLocalDate())));
 
-        Attendance savedAttendance = attendanceRepository.save(attendance);
+        eventPublisher.publishEvent(AttendanceChangedEvent.of(AttendanceChangedEvent.CHECK_IN, savedAttendance));
         logger.info("EMPLOYEE CHECKED IN SUCCESSFULLY - ID: {}, Attendance ID: {}", employeeId, savedAttendance.getId());
 
         return savedAttendance;
     }
 
     public Attendance checkOut(Long employeeId, String location, String notes) {
-        logger.info("CHECKING OUT EMPLOYEE - ID: {}, Location: {}", employeeId, location);
-
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = now.toLocalDate().atTime(LocalTime.MAX);
-
-        Optional<Attendance> attendanceOpt = attendanceRepository
-                .findByEmployeeIdAndDateBetween(employeeId, startOfDay, endOfDay)
-                .stream()
-                .filter(a -> a.getCheckOut() == null)
-                .findFirst();
+        return checkOut(employeeId, location, notes, LocalDateTime.now());
+    }
 
-        if (attendanceOpt.isEmpty()) {
-            throw new IllegalStateException("No active check-in found for employee today");
-        }
+    public Attendance checkOut(Long employeeId, String location, String notes, LocalDateTime now) {
+        logger.info("CHECKING OUT EMPLOYEE - ID: {}, Location: {}", employeeId, location);
 
-        Attendance attendance = attendanceOpt.get();
-        attendance.setCheckOut(now);
-        if (location != null) {
-            attendance.setLocation(location);
-        }
-        if (notes != null) {
-            attendance.setNotes(notes);
-        }
+        Attendance savedAttendance = attendanceRepository
+                .updateCheckOut(employeeId, now.toLocalDate(), now, location, notes)
+                .orElseThrow(() -> new IllegalStateException("No active check-in found for employee today"));
 
-        Attendance savedAttendance = attendanceRepository.save(attendance);
+        eventPublisher.publishEvent(AttendanceChangedEvent.of(AttendanceChangedEvent.CHECK_OUT, savedAttendance));
         logger.info("EMPLOYEE CHECKED OUT SUCCESSFULLY - ID: {}, Work Hours: {}, Attendance ID: {}", 
                 employeeId, savedAttendance.getWorkHours(), savedAttendance.getId());
 
@@ -108,80 +104,177 @@ public class AttendanceService {
         return attendanceRepository.findByDateBetween(startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
+    public void streamAttendanceByDateRange(LocalDateTime startDate, LocalDateTime endDate, Consumer<? super Attendance> sink) {
+        logger.info("STREAMING ATTENDANCE BY DATE RANGE - Start: {}, End: {}", startDate, endDate);
+        try (Stream<Attendance> attendances = attendanceRepository.streamByDateBetween(startDate, endDate)) {
+            attendances.forEach(attendance -> {
+                sink.accept(attendance);
+                entityManager.detach(attendance);
+            });
+        }
+    }
+
     public List<Attendance> getEmployeeAttendanceByDateRange(Long employeeId, LocalDateTime startDate, LocalDateTime endDate) {
         logger.info("GETTING EMPLOYEE ATTENDANCE BY DATE RANGE - Employee ID: {}, Start: {}, End: {}", employeeId, startDate, endDate);
         return attendanceRepository.findByEmployeeIdAndDateBetween(employeeId, startDate, endDate);
     }
 
+    // Served from the presence index without a connection; the database is only read until the index is built
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Attendance> getActiveAttendanceByEmployee(Long employeeId) {
+        if (presenceIndex.isReady()) {
+            return presenceIndex.getActive(employeeId);
+        }
         return attendanceRepository.findActiveAttendanceByEmployee(employeeId);
     }
 
+    // Summed from rollups, see AttendanceRollupService
+    @Transactional(readOnly = true)
     public Map<String, Object> getAttendanceStats(Long employeeId, LocalDateTime startDate) {
         logger.info("GETTING ATTENDANCE STATS - Employee ID: {}, Start Date: {}", employeeId, startDate);
-
-        Map<String, Object> stats = new HashMap<>();
-        
-        Long totalDays = attendanceRepository.countAttendanceSince(employeeId, startDate);
-        Double avgWorkHours = attendanceRepository.getAverageWorkHours(employeeId, startDate);
-        Double totalWorkHours = attendanceRepository.getTotalWorkHours(employeeId, startDate);
-
-        stats.put("totalDays", totalDays != null ? totalDays : 0);
-        stats.put("averageWorkHours", avgWorkHours != null ? avgWorkHours : 0.0);
-        stats.put("totalWorkHours", totalWorkHours != null ? totalWorkHours : 0.0);
-
-        return stats;
+        return attendanceRollupService.getEmployeeStats(employeeId, startDate);
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getOverallAttendanceStats(LocalDateTime startDate) {
         logger.info("GETTING OVERALL ATTENDANCE STATS - Start Date: {}", startDate);
+        return attendanceRollupService.getOverallStats(startDate);
+    }
 
-        Map<String, Object> stats = new HashMap<>();
-        List<Object[]> attendanceStats = attendanceRepository.getAttendanceStats(startDate);
-
-        Map<String, Long> statusCounts = new HashMap<>();
-        for (Object[] stat : attendanceStats) {
-            statusCounts.put((String) stat[0], (Long) stat[1]);
+    /**
+     * Monthly record counts by status, work and overtime hours between the
+     * given days (inclusive), optionally for one employee. Months with a current
+     * columnar archive file are scanned from it, the others summed from
+     * attendance, one query per run of consecutive months.
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceTrend> getAttendanceTrends(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        logger.info("GETTING ATTENDANCE TRENDS - Employee ID: {}, Start: {}, End: {}", employeeId, startDate, endDate);
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        Map<YearMonth, AttendanceTrend> trends = new TreeMap<>(
+                attendanceArchiveService.getMonthlyTrends(employeeId, startDate, endDate));
+
+        LocalDate runStart = null;
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            if (!trends.containsKey(month)) {
+                if (runStart == null) {
+                    runStart = month.atDay(1).isBefore(startDate) ? startDate : month.atDay(1);
+                }
+            } else if (runStart != null) {
+                addLiveTrends(trends, employeeId, runStart, month.atDay(1));
+                runStart = null;
+            }
+        }
+        if (runStart != null) {
+            addLiveTrends(trends, employeeId, runStart, endDate.plusDays(1));
         }
 
-        stats.put("statusCounts", statusCounts);
-        stats.put("totalRecords", statusCounts.values().stream().mapToLong(Long::longValue).sum());
+        List<AttendanceTrend> result = new ArrayList<>();
+        trends.values().stream().filter(trend -> trend.records() > 0).forEach(result::add);
+        return result;
+    }
 
-        return stats;
+    // Days in [from, until)
+    private void addLiveTrends(Map<YearMonth, AttendanceTrend> trends, Long employeeId, LocalDate from, LocalDate until) {
+        Map<YearMonth, Map<String, Long>> statusCounts = new TreeMap<>();
+        Map<YearMonth, double[]> hours = new HashMap<>();
+        for (Object[] row : attendanceRepository.getMonthlyStatusTotals(employeeId, from.atStartOfDay(), until.atStartOfDay())) {
+            YearMonth month = YearMonth.from(((java.sql.Date) row[0]).toLocalDate());
+            statusCounts.computeIfAbsent(month, key -> new TreeMap<>()).put((String) row[1], ((Number) row[2]).longValue());
+            double[] totals = hours.computeIfAbsent(month, key -> new double[2]);
+            totals[0] += ((Number) row[3]).doubleValue();
+            totals[1] += ((Number) row[4]).doubleValue();
+        }
+        statusCounts.forEach((month, counts) ->
+                trends.put(month, AttendanceTrend.of(month, counts, hours.get(month)[0], hours.get(month)[1])));
     }
 
     public Attendance markAbsent(Long employeeId, String notes) {
         logger.info("MARKING EMPLOYEE ABSENT - ID: {}, Notes: {}", employeeId, notes);
 
-        Optional<Employee> employee = employeeRepository.findById(employeeId);
-        if (employee.isEmpty()) {
-            throw new IllegalArgumentException("Employee not found with id: " + employeeId);
-        }
-
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = now.toLocalDate().atTime(LocalTime.MAX);
-
-        Optional<Attendance> existingAttendance = attendanceRepository
-                .findByEmployeeIdAndDateBetween(employeeId, startOfDay, endOfDay)
-                .stream()
-                .findFirst();
+        Attendance savedAttendance = insertOrExplain(employeeId, now.toLocalDate(),
+                () -> attendanceRepository.insertAbsence(employeeId, now.toLocalDate(), now, notes))
+                .orElseThrow(() -> new IllegalStateException("Attendance already recorded for employee today"));
 
-        if (existingAttendance.isPresent()) {
-            throw new IllegalStateException("Attendance already recorded for employee today");
-        }
-
-        Attendance attendance = new Attendance(employeeId, null, startOfDay);
-        attendance.setStatus("Absent");
-        attendance.setNotes(notes);
-
-        Attendance savedAttendance = attendanceRepository.save(attendance);
+        eventPublisher.publishEvent(AttendanceChangedEvent.of(AttendanceChangedEvent.ABSENT, savedAttendance));
         logger.info("EMPLOYEE MARKED ABSENT SUCCESSFULLY - ID: {}, Attendance ID: {}", employeeId, savedAttendance.getId());
 
         return savedAttendance;
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<Attendance> getAllActiveAttendances() {
+        if (presenceIndex.isReady()) {
+            return presenceIndex.getActiveAttendances();
+        }
         return attendanceRepository.findActiveAttendances();
     }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<String, Object> getPresenceSummary() {
+        Map<String, Object> summary = new HashMap<>();
+        if (presenceIndex.isReady()) {
+            summary.put("checkedIn", presenceIndex.getActiveCount());
+            summary.put("byDepartment", presenceIndex.getCountsByDepartment());
+            summary.put("byLocation", presenceIndex.getCountsByLocation());
+            return summary;
+        }
+        List<Object[]> active = attendanceRepository.findActiveAttendancesWithDepartment();
+        Map<String, Long> byDepartment = new TreeMap<>();
+        Map<String, Long> byLocation = new TreeMap<>();
+        for (Object[] row : active) {
+            String department = (String) row[1];
+            String location = ((Attendance) row[0]).getLocation();
+            byDepartment.merge(department == null ? "" : department, 1L, Long::sum);
+            byLocation.merge(location == null ? "" : location, 1L, Long::sum);
+        }
+        summary.put("checkedIn", active.size());
+        summary.put("byDepartment", byDepartment);
+        summary.put("byLocation", byLocation);
+        return summary;
+    }
+
+    // The employee FK replaces an up-front existence check; other integrity failures propagate unchanged
+    private Optional<Attendance> insertOrExplain(Long employeeId, LocalDate workDay, Supplier<Optional<Attendance>> insert) {
+        try {
+            return insert.get();
+        } catch (DataIntegrityViolationException e) {
+            String sqlState = sqlState(e);
+            if (FOREIGN_KEY_VIOLATION.equals(sqlState)) {
+                throw new IllegalArgumentException("Employee not found with id: " + employeeId);
+            }
+            if (CHECK_VIOLATION.equals(sqlState) && String.valueOf(e.getMessage()).contains("no partition")) {
+                // Partitions are only created by maintenance, never on the punch path
+                attendancePartitionService.reportMissingPartition(workDay);
+            }
+            throw e;
+        }
+    }
+
+    private static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    // Only reached when the day is already recorded, so the happy path stays one statement
+    public String describeExisting(Long employeeId, LocalDate workDay) {
+        return attendanceRepository.findByEmployeeIdAndWorkDayAndDate(employeeId, workDay, workDay.atStartOfDay())
+                .map(existing -> {
+                    if ("Absent".equals(existing.getStatus())) {
+                        return "Employee already marked absent today";
+                    }
+                    return existing.getCheckOut() == null
+                            ? "Employee already checked in today"
+                            : "Employee already completed attendance for today";
+                })
+                .orElse("Attendance already recorded for employee today");
+    }
 }
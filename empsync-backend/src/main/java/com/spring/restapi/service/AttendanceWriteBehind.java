@@ -0,0 +1,623 @@
+package com.spring.restapi.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.restapi.dto.PunchStatus;
+import com.spring.restapi.models.Attendance;
+import com.spring.restapi.repository.EmployeeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional write-behind path for check-in and check-out
+ * ({@code empsync.attendance.write-behind.enabled}). Request threads append the
+ * punch to a local journal and a bounded queue and return without touching the
+ * connection pool; punches submitted together share one journal fsync. One
+ * writer thread commits queued punches in multi-row batches every
+ * {@code flush-interval-ms} or {@code max-batch} punches. Punches
+ * still in the journal are replayed at startup, and the queue is drained on
+ * shutdown. Replays are harmless: the batch statements skip days that are
+ * already recorded. A punch leaves the journal only once it is committed or
+ * definitively rejected (unknown employee, day already recorded, no open
+ * check-in); while the database is unreachable its batch is retried with
+ * backoff instead.
+ */
+@Service
+public class AttendanceWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceWriteBehind.class);
+
+    public static final String CHECK_IN = AttendanceChangedEvent.CHECK_IN;
+    public static final String CHECK_OUT = AttendanceChangedEvent.CHECK_OUT;
+
+    private static final String PUNCH_COLUMNS =
+            "unnest(?::bigint[], ?::date[], ?::timestamp[], ?::varchar[], ?::varchar[]) WITH ORDINALITY "
+                    + "AS p(employee_id, work_day, at, location, notes, ord)";
+
+    // Unknown employees are filtered out rather than failing the batch on the FK
+    private static final String INSERT_CHECK_INS_SQL = "INSERT INTO attendance (employee_id, work_day, date, check_in, "
+            + "status, overtime_hours, location, notes, created_at, updated_at) "
+            + "SELECT p.employee_id, p.work_day, p.work_day::timestamp, p.at, 'Present', 0, p.location, p.notes, p.at, p.at "
+            + "FROM " + PUNCH_COLUMNS + " WHERE EXISTS (SELECT 1 FROM employees e WHERE e.id = p.employee_id) "
+            + "ORDER BY p.ord ON CONFLICT (employee_id, work_day, date) DO NOTHING RETURNING *";
+
+    private static final String WORK_HOURS = "floor(extract(epoch FROM (p.at - a.check_in)) / 60) / 60.0";
+
+    private static final String UPDATE_CHECK_OUTS_SQL = "UPDATE attendance a SET check_out = p.at, "
+            + "work_hours = " + WORK_HOURS + ", "
+            + "overtime_hours = CASE WHEN " + WORK_HOURS + " > 8 THEN " + WORK_HOURS + " - 8 ELSE a.overtime_hours END, "
+            + "location = COALESCE(p.location, a.location), notes = COALESCE(p.notes, a.notes), updated_at = p.at "
+            + "FROM " + PUNCH_COLUMNS + " WHERE a.employee_id = p.employee_id AND a.work_day = p.work_day "
+            + "AND a.date = p.work_day::timestamp "
+            + "AND a.check_in IS NOT NULL AND a.check_out IS NULL AND a.check_in <= p.at RETURNING a.*";
+
+    @Value("${empsync.attendance.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${empsync.attendance.write-behind.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${empsync.attendance.write-behind.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${empsync.attendance.write-behind.queue-capacity:50000}")
+    private int queueCapacity;
+
+    @Value("${empsync.attendance.write-behind.journal:data/attendance-journal.ndjson}")
+    private String journalPath;
+
+    @Value("${empsync.attendance.write-behind.drain-timeout-ms:30000}")
+    private long drainTimeoutMs;
+
+    @Value("${empsync.attendance.write-behind.status-retention-ms:3600000}")
+    private long statusRetentionMs;
+
+    @Value("${empsync.attendance.write-behind.retry-max-backoff-ms:5000}")
+    private long retryMaxBackoffMs;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private LinkedBlockingQueue<Punch> queue;
+    private FileChannel journal;
+    private final Object journalLock = new Object();
+    private final Object syncLock = new Object();
+    // Lines appended so far (written under journalLock) and covered by an fsync (under syncLock)
+    private volatile long appendedLines;
+    private long durableLines;
+    // Journaled punches still waiting on the shared fsync before they are queued
+    private final AtomicInteger awaitingSync = new AtomicInteger();
+    private final Map<String, PunchStatus> statuses = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Attendance>> acknowledgements = new ConcurrentHashMap<>();
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+    // Writer thread only: punches whose outcome is not known yet, retried before the queue
+    private final List<Punch> retry = new ArrayList<>();
+    private long retryBackoffMs;
+
+    public boolean isEnabled() {
+        return enabled && accepting;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>();
+        Path path = Paths.get(journalPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        List<Punch> pending = readJournal(path);
+        journal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        for (Punch punch : pending) {
+            track(punch);
+            queue.add(punch);
+        }
+        if (!pending.isEmpty()) {
+            logger.info("📒 Replaying {} journaled attendance punches", pending.size());
+        }
+
+        running = true;
+        accepting = true;
+        writer = new Thread(this::runWriter, "attendance-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("📒 Attendance write-behind enabled: batches of {} every {} ms, journal {}",
+                maxBatch, flushIntervalMs, path.toAbsolutePath());
+    }
+
+    /**
+     * Journals and queues a punch. Returns empty when the queue is full; the
+     * caller then writes the punch synchronously.
+     */
+    public Optional<PunchStatus> submit(String type, Long employeeId, String location, String notes) {
+        Punch punch = new Punch(UUID.randomUUID().toString(), type, employeeId, LocalDateTime.now(), location, notes);
+        long line;
+        synchronized (journalLock) {
+            // Only submit adds to the queue and punches count as awaiting until queued, so the check cannot go stale
+            if (!accepting || queue.size() + awaitingSync.get() >= queueCapacity) {
+                return Optional.empty();
+            }
+            try {
+                line = appendToJournal(new JournalEntry(punch, null));
+            } catch (IOException e) {
+                logger.error("❌ Attendance journal write failed, writing punch synchronously: {}", e.getMessage());
+                return Optional.empty();
+            }
+            awaitingSync.incrementAndGet();
+        }
+        try {
+            syncJournal(line);
+        } catch (IOException e) {
+            // The unsynced line may still be replayed after a restart, which is harmless
+            awaitingSync.decrementAndGet();
+            logger.error("❌ Attendance journal sync failed, writing punch synchronously: {}", e.getMessage());
+            return Optional.empty();
+        }
+        PunchStatus status = track(punch);
+        queue.add(punch);
+        awaitingSync.decrementAndGet();
+        return Optional.of(status);
+    }
+
+    public Optional<PunchStatus> getStatus(String punchId) {
+        return Optional.ofNullable(statuses.get(punchId));
+    }
+
+    /**
+     * Waits for the punch's batch to commit. Returns the attendance record,
+     * empty on timeout, or throws IllegalArgumentException (unknown employee) or
+     * IllegalStateException (day already recorded / no open check-in) like the
+     * synchronous path.
+     */
+    public Optional<Attendance> awaitCommit(String punchId, long timeoutMs) throws InterruptedException {
+        CompletableFuture<Attendance> acknowledgement = acknowledgements.get(punchId);
+        if (acknowledgement == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(acknowledgement.get(timeoutMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${empsync.attendance.write-behind.status-retention-ms:3600000}")
+    public void removeExpiredStatuses() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(statusRetentionMs * 1_000_000);
+        statuses.values().removeIf(status -> !PunchStatus.ACCEPTED.equals(status.status()) && status.at().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled || writer == null) {
+            return;
+        }
+        synchronized (journalLock) {
+            accepting = false;
+        }
+        logger.info("📒 Draining {} pending attendance punches", queue.size());
+        running = false;
+        writer.join(drainTimeoutMs);
+        if (writer.isAlive()) {
+            logger.warn("⚠️ Write-behind drain timed out, unwritten punches stay in the journal");
+            writer.interrupt();
+            writer.join(drainTimeoutMs);
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not close attendance journal: {}", e.getMessage());
+        }
+    }
+
+    private void runWriter() {
+        List<Punch> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty() || !retry.isEmpty() || awaitingSync.get() > 0) {
+            try {
+                if (!retry.isEmpty()) {
+                    // Retried punches go first and take newer ones along, so a punch is never overtaken
+                    Thread.sleep(retryBackoffMs);
+                    batch.addAll(retry);
+                    retry.clear();
+                    queue.drainTo(batch, Math.max(0, maxBatch - batch.size()));
+                    flush(batch);
+                    continue;
+                }
+                Punch first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    compactJournal();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Punch next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("❌ Write-behind flush failed: {}", e.getMessage());
+                retryLater(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Punch> batch) {
+        long started = System.nanoTime();
+        Map<String, Attendance> applied;
+        try {
+            applied = transactionTemplate.execute(status -> writeBatch(batch));
+        } catch (DataIntegrityViolationException e) {
+            // One bad punch (e.g. an employee deleted mid-flush) must not sink the
+            // batch, so fall back to writing punches one by one
+            logger.warn("⚠️ Write-behind batch of {} failed, writing punches one by one: {}", batch.size(), e.getMessage());
+            List<Punch> done = new ArrayList<>(batch.size());
+            for (Punch punch : batch) {
+                if (writeSingle(punch)) {
+                    done.add(punch);
+                } else {
+                    retryLater(List.of(punch));
+                }
+            }
+            markDone(done);
+            return;
+        } catch (RuntimeException e) {
+            // Database unreachable, pool exhausted and the like: nothing was decided, so nothing is dropped
+            logger.warn("⚠️ Write-behind batch of {} failed, retrying in {} ms: {}", batch.size(),
+                    nextBackoff(), e.getMessage());
+            retryLater(batch);
+            return;
+        }
+
+        List<Punch> done = new ArrayList<>(batch.size());
+        for (Punch punch : batch) {
+            Attendance attendance = applied.get(punch.id());
+            try {
+                if (attendance != null) {
+                    complete(punch, attendance);
+                } else {
+                    reject(punch, rejection(punch));
+                }
+                done.add(punch);
+            } catch (RuntimeException e) {
+                logger.warn("⚠️ Could not explain skipped punch {}, retrying: {}", punch.id(), e.getMessage());
+                retryLater(List.of(punch));
+            }
+        }
+        markDone(done);
+        if (retry.isEmpty()) {
+            retryBackoffMs = 0;
+        }
+        logger.debug("Write-behind batch of {} punches committed in {} ms",
+                batch.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void retryLater(List<Punch> punches) {
+        retry.addAll(punches);
+        if (retryBackoffMs == 0) {
+            nextBackoff();
+        }
+    }
+
+    // Doubles from the flush interval up to retry-max-backoff-ms
+    private long nextBackoff() {
+        retryBackoffMs = retryBackoffMs == 0 ? Math.max(1, flushIntervalMs)
+                : Math.min(retryMaxBackoffMs, retryBackoffMs * 2);
+        return retryBackoffMs;
+    }
+
+    // Runs in the batch transaction; returns the attendance written per punch id
+    private Map<String, Attendance> writeBatch(List<Punch> batch) {
+        List<Punch> checkIns = new ArrayList<>();
+        List<Punch> checkOuts = new ArrayList<>();
+        Set<String> checkOutDays = new HashSet<>();
+        for (Punch punch : batch) {
+            if (CHECK_IN.equals(punch.type())) {
+                checkIns.add(punch);
+            } else if (checkOutDays.add(punch.employeeId() + "|" + punch.at().toLocalDate())) {
+                // A second check-out for the same day in one batch would find no open check-in anyway
+                checkOuts.add(punch);
+            }
+        }
+
+        Map<String, Attendance> applied = new HashMap<>();
+        // Check-ins first, so a check-in and check-out in the same batch both apply
+        apply(INSERT_CHECK_INS_SQL, checkIns, CHECK_IN, applied);
+        apply(UPDATE_CHECK_OUTS_SQL, checkOuts, CHECK_OUT, applied);
+        return applied;
+    }
+
+    private void apply(String sql, List<Punch> punches, String type, Map<String, Attendance> applied) {
+        if (punches.isEmpty()) {
+            return;
+        }
+        Map<String, Punch> byDay = new LinkedHashMap<>();
+        for (Punch punch : punches) {
+            byDay.putIfAbsent(punch.employeeId() + "|" + punch.at().toLocalDate(), punch);
+        }
+        List<Attendance> written = jdbcTemplate.query(sql, arrays(punches), ATTENDANCE_ROW_MAPPER);
+        for (Attendance attendance : written) {
+            Punch punch = byDay.get(attendance.getEmployeeId() + "|" + attendance.getWorkDay());
+            if (punch != null) {
+                applied.put(punch.id(), attendance);
+                eventPublisher.publishEvent(AttendanceChangedEvent.of(type, attendance));
+            }
+        }
+    }
+
+    /**
+     * Returns false when the outcome is still open. The synchronous path throws
+     * IllegalArgumentException / IllegalStateException for a definitive answer
+     * about the punch; the same exceptions wrapping a database failure (e.g. a
+     * partition detached mid-flush) are worth another try.
+     */
+    private boolean writeSingle(Punch punch) {
+        try {
+            Attendance attendance = CHECK_IN.equals(punch.type())
+                    ? attendanceService.checkIn(punch.employeeId(), punch.location(), punch.notes(), punch.at())
+                    : attendanceService.checkOut(punch.employeeId(), punch.location(), punch.notes(), punch.at());
+            complete(punch, attendance);
+            return true;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            if (e.getCause() instanceof DataAccessException) {
+                return false;
+            }
+            reject(punch, e);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Write-behind punch {} failed, retrying: {}", punch.id(), e.getMessage());
+            return false;
+        }
+    }
+
+    // Only reached for punches the batch did not apply
+    private RuntimeException rejection(Punch punch) {
+        if (CHECK_OUT.equals(punch.type())) {
+            return new IllegalStateException("No active check-in found for employee today");
+        }
+        if (!employeeRepository.existsById(punch.employeeId())) {
+            return new IllegalArgumentException("Employee not found with id: " + punch.employeeId());
+        }
+        return new IllegalStateException(attendanceService.describeExisting(punch.employeeId(), punch.at().toLocalDate()));
+    }
+
+    private PunchStatus track(Punch punch) {
+        PunchStatus status = new PunchStatus(punch.id(), punch.type(), punch.employeeId(), punch.at(),
+                PunchStatus.ACCEPTED, null, null);
+        statuses.put(punch.id(), status);
+        acknowledgements.put(punch.id(), new CompletableFuture<>());
+        return status;
+    }
+
+    private void complete(Punch punch, Attendance attendance) {
+        statuses.computeIfPresent(punch.id(), (id, status) -> status.committed(attendance.getId()));
+        CompletableFuture<Attendance> acknowledgement = acknowledgements.remove(punch.id());
+        if (acknowledgement != null) {
+            acknowledgement.complete(attendance);
+        }
+    }
+
+    private void reject(Punch punch, RuntimeException reason) {
+        statuses.computeIfPresent(punch.id(), (id, status) -> status.rejected(reason.getMessage()));
+        CompletableFuture<Attendance> acknowledgement = acknowledgements.remove(punch.id());
+        if (acknowledgement != null) {
+            acknowledgement.completeExceptionally(reason);
+        }
+    }
+
+    private void markDone(List<Punch> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(batch.size());
+        batch.forEach(punch -> ids.add(punch.id()));
+        synchronized (journalLock) {
+            try {
+                // Left to the next shared fsync; a lost marker only means a harmless replay
+                appendToJournal(new JournalEntry(null, ids));
+            } catch (IOException e) {
+                // The punches would be replayed after a restart, which is harmless
+                logger.warn("⚠️ Could not journal committed punches: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Once everything journaled has been written the journal starts over
+    private void compactJournal() {
+        synchronized (journalLock) {
+            try {
+                // A punch awaiting its fsync is in the journal but not yet in the queue
+                if (queue.isEmpty() && retry.isEmpty() && awaitingSync.get() == 0 && journal.size() > 0) {
+                    journal.truncate(0);
+                }
+            } catch (IOException e) {
+                logger.warn("⚠️ Could not truncate attendance journal: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Caller holds journalLock; returns the line's number for syncJournal
+    private long appendToJournal(JournalEntry entry) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        return ++appendedLines;
+    }
+
+    /**
+     * Group commit: returns once the given line is on disk. Whoever holds the
+     * sync lock fsyncs every line appended so far, so submitters that queued up
+     * behind it find their lines already covered and skip their own fsync.
+     */
+    private void syncJournal(long line) throws IOException {
+        synchronized (syncLock) {
+            if (durableLines >= line) {
+                return;
+            }
+            long covered = appendedLines;
+            journal.force(false);
+            durableLines = covered;
+        }
+    }
+
+    private List<Punch> readJournal(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        Map<String, Punch> pending = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JournalEntry entry = objectMapper.readValue(line, JournalEntry.class);
+                    if (entry.punch() != null) {
+                        pending.put(entry.punch().id(), entry.punch());
+                    }
+                    if (entry.done() != null) {
+                        entry.done().forEach(pending::remove);
+                    }
+                } catch (IOException e) {
+                    // A torn last line from a crash mid-append; its request was never acknowledged
+                    logger.warn("⚠️ Skipping unreadable attendance journal line: {}", e.getMessage());
+                }
+            }
+        }
+        return new ArrayList<>(pending.values());
+    }
+
+    private static PreparedStatementSetter arrays(List<Punch> punches) {
+        return ps -> {
+            int n = punches.size();
+            Long[] employeeIds = new Long[n];
+            Date[] days = new Date[n];
+            Timestamp[] times = new Timestamp[n];
+            String[] locations = new String[n];
+            String[] notes = new String[n];
+            for (int i = 0; i < n; i++) {
+                Punch punch = punches.get(i);
+                employeeIds[i] = punch.employeeId();
+                days[i] = Date.valueOf(punch.at().toLocalDate());
+                times[i] = Timestamp.valueOf(punch.at());
+                locations[i] = punch.location();
+                notes[i] = punch.notes();
+            }
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("bigint", employeeIds));
+            ps.setArray(2, connection.createArrayOf("date", days));
+            ps.setArray(3, connection.createArrayOf("timestamp", times));
+            ps.setArray(4, connection.createArrayOf("varchar", locations));
+            ps.setArray(5, connection.createArrayOf("varchar", notes));
+        };
+    }
+
+    private static final RowMapper<Attendance> ATTENDANCE_ROW_MAPPER = (rs, rowNum) -> {
+        Attendance attendance = new Attendance();
+        attendance.setId(rs.getLong("id"));
+        attendance.setEmployeeId(rs.getLong("employee_id"));
+        attendance.setWorkDay(rs.getObject("work_day", LocalDate.class));
+        attendance.setDate(rs.getObject("date", LocalDateTime.class));
+        attendance.setCheckIn(rs.getObject("check_in", LocalDateTime.class));
+        attendance.setCheckOut(rs.getObject("check_out", LocalDateTime.class));
+        attendance.setStatus(rs.getString("status"));
+        attendance.setWorkHours(nullableDouble(rs, "work_hours"));
+        attendance.setOvertimeHours(nullableDouble(rs, "overtime_hours"));
+        attendance.setLocation(rs.getString("location"));
+        attendance.setNotes(rs.getString("notes"));
+        attendance.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        attendance.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        return attendance;
+    };
+
+    private static Double nullableDouble(java.sql.ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private record Punch(String id, String type, Long employeeId, LocalDateTime at, String location, String notes) { }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record JournalEntry(Punch punch, List<String> done) { }
+}
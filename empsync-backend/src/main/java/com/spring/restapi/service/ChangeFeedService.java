@@ -0,0 +1,230 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.ChangeCursor;
+import com.spring.restapi.dto.ChangePage;
+import com.spring.restapi.exception.CursorExpiredException;
+import com.spring.restapi.models.Attendance;
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.models.Performance;
+import com.spring.restapi.repository.AttendanceRepository;
+import com.spring.restapi.repository.EmployeeRepository;
+import com.spring.restapi.repository.PerformanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Delta feed over the change_log table, which triggers on employees, attendance
+ * and performance fill in the writing transaction. A page only includes
+ * transactions older than the oldest one still running: log ids are taken
+ * before commit, so paging by id alone could skip a change that commits after
+ * a later one has been read.
+ *
+ * <p>Entries older than {@code retention-days} are pruned nightly. A cursor
+ * behind the pruned range is rejected with {@link CursorExpiredException},
+ * since the changes it has not seen may be gone.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public static final int MAX_LIMIT = 5000;
+
+    private static final String PAGE_SQL = "SELECT id, txid::text AS txid, table_name, row_id, operation FROM change_log "
+            + "WHERE (txid, id) > (?::text::xid8, ?) AND txid < pg_snapshot_xmin(pg_current_snapshot()) "
+            + "ORDER BY txid, id LIMIT ?";
+
+    private static final String HEAD_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text";
+
+    private static final String PRUNED_SQL = "SELECT pruned_txid::text AS txid, pruned_id AS id FROM change_log_state "
+            + "WHERE name = 'change_log'";
+
+    // The newest old-enough entry the feed has already moved past
+    private static final String PRUNE_HORIZON_SQL = "SELECT txid::text AS txid, id FROM change_log "
+            + "WHERE changed_at < ? AND txid < pg_snapshot_xmin(pg_current_snapshot()) ORDER BY txid DESC, id DESC LIMIT 1";
+
+    private static final String MARK_PRUNED_SQL = "INSERT INTO change_log_state AS s (name, pruned_txid, pruned_id, pruned_at) "
+            + "VALUES ('change_log', ?::text::xid8, ?, now()) ON CONFLICT (name) DO UPDATE "
+            + "SET pruned_txid = EXCLUDED.pruned_txid, pruned_id = EXCLUDED.pruned_id, pruned_at = EXCLUDED.pruned_at "
+            + "WHERE (s.pruned_txid, s.pruned_id) < (EXCLUDED.pruned_txid, EXCLUDED.pruned_id)";
+
+    private static final String PRUNE_SQL = "DELETE FROM change_log WHERE id IN (SELECT id FROM change_log "
+            + "WHERE (txid, id) <= (?::text::xid8, ?) ORDER BY txid, id LIMIT ?)";
+
+    private static final RowMapper<ChangeCursor> CURSOR_MAPPER = (rs, rowNum) ->
+            new ChangeCursor(Long.parseLong(rs.getString("txid")), rs.getLong("id"));
+
+    private static final Map<String, String> ENTITY_NAMES = Map.of(
+            "employees", "employee",
+            "attendance", "attendance",
+            "performance", "performance");
+
+    @Value("${empsync.changes.retention-days:0}")
+    private int retentionDays;
+
+    @Value("${empsync.changes.prune-batch-size:10000}")
+    private int pruneBatchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    /**
+     * Changes after the cursor, oldest first. Several changes to one row within
+     * the page collapse into the latest, which carries the row as it is now.
+     */
+    @Transactional(readOnly = true)
+    public ChangePage getChanges(ChangeCursor since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<LogEntry> entries = jdbcTemplate.query(PAGE_SQL, (rs, rowNum) -> new LogEntry(
+                rs.getLong("id"), Long.parseLong(rs.getString("txid")), rs.getString("table_name"),
+                rs.getLong("row_id"), rs.getString("operation")),
+                Long.toString(since.getTxid()), since.getId(), limit + 1);
+
+        // Checked after the page is read: the pruned position commits before any entry is deleted
+        ChangeCursor pruned = getPrunedThrough();
+        if (pruned != null && isBefore(since, pruned)) {
+            throw new CursorExpiredException("Cursor is older than the retained change log; "
+                    + "download everything again and continue from /api/changes/head");
+        }
+
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) {
+            entries = entries.subList(0, limit);
+        }
+        if (entries.isEmpty()) {
+            return new ChangePage(List.of(), since, false);
+        }
+
+        // Latest operation per row, in the order of each row's last change
+        Map<RowKey, String> latest = new LinkedHashMap<>();
+        for (LogEntry entry : entries) {
+            RowKey key = new RowKey(entry.table(), entry.rowId());
+            latest.remove(key);
+            latest.put(key, entry.operation());
+        }
+
+        Map<RowKey, Object> rows = loadRows(latest.keySet());
+
+        List<ChangePage.Entry> changes = new ArrayList<>(latest.size());
+        latest.forEach((key, operation) -> {
+            Object data = rows.get(key);
+            // Deleted by a transaction the feed has not reached yet; its delete follows
+            String effective = data == null ? "DELETE" : operation;
+            changes.add(new ChangePage.Entry(ENTITY_NAMES.getOrDefault(key.table(), key.table()),
+                    key.rowId(), effective, data));
+        });
+
+        LogEntry last = entries.get(entries.size() - 1);
+        logger.info("🔁 Change feed page: {} log entries, {} rows, more: {}", entries.size(), changes.size(), hasMore);
+        return new ChangePage(changes, new ChangeCursor(last.txid(), last.id()), hasMore);
+    }
+
+    /**
+     * Cursor to start syncing from after a full download taken now. Changes
+     * made by transactions still running are replayed later, so clients must
+     * apply changes idempotently.
+     */
+    public ChangeCursor getHead() {
+        String xmin = jdbcTemplate.queryForObject(HEAD_SQL, String.class);
+        return new ChangeCursor(Long.parseLong(xmin), 0);
+    }
+
+    /**
+     * Deletes log entries older than the retention period, in batches. The
+     * pruned position is recorded first, so a reader that misses an entry
+     * always finds its cursor rejected.
+     */
+    @Scheduled(cron = "${empsync.changes.prune-cron:0 40 0 * * *}")
+    public void prune() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        try {
+            List<ChangeCursor> horizon = jdbcTemplate.query(PRUNE_HORIZON_SQL, CURSOR_MAPPER,
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+            if (horizon.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.update(MARK_PRUNED_SQL, Long.toString(horizon.get(0).getTxid()), horizon.get(0).getId());
+            ChangeCursor pruned = getPrunedThrough();
+
+            long total = 0;
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PRUNE_SQL, Long.toString(pruned.getTxid()), pruned.getId(), pruneBatchSize);
+                total += deleted;
+            } while (deleted == pruneBatchSize);
+            logger.info("🧹 Change log pruned: {} entries older than {} days", total, retentionDays);
+        } catch (Exception e) {
+            logger.error("❌ Change log prune failed: {}", e.getMessage());
+        }
+    }
+
+    private ChangeCursor getPrunedThrough() {
+        return jdbcTemplate.query(PRUNED_SQL, CURSOR_MAPPER).stream().findFirst().orElse(null);
+    }
+
+    private static boolean isBefore(ChangeCursor cursor, ChangeCursor other) {
+        return cursor.getTxid() < other.getTxid()
+                || (cursor.getTxid() == other.getTxid() && cursor.getId() < other.getId());
+    }
+
+    private Map<RowKey, Object> loadRows(Set<RowKey> keys) {
+        Map<String, List<Long>> idsByTable = new HashMap<>();
+        for (RowKey key : keys) {
+            idsByTable.computeIfAbsent(key.table(), table -> new ArrayList<>()).add(key.rowId());
+        }
+
+        Map<RowKey, Object> rows = new HashMap<>();
+        idsByTable.forEach((table, ids) -> {
+            switch (table) {
+                case "employees" -> load(rows, table, employeeRepository, ids, Employee::getId);
+                case "attendance" -> load(rows, table, attendanceRepository, ids, Attendance::getId);
+                case "performance" -> load(rows, table, performanceRepository, ids, Performance::getId);
+                default -> logger.warn("⚠️ Change log entry for untracked table {}", table);
+            }
+        });
+        return rows;
+    }
+
+    private static <T> void load(Map<RowKey, Object> rows, String table, JpaRepository<T, Long> repository,
+                                 List<Long> ids, Function<T, Long> idOf) {
+        for (T row : repository.findAllById(ids)) {
+            rows.put(new RowKey(table, idOf.apply(row)), row);
+        }
+    }
+
+    private record LogEntry(long id, long txid, String table, long rowId, String operation) { }
+
+    private record RowKey(String table, long rowId) { }
+}
@@ -0,0 +1,228 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.DepartmentRequest;
+import com.spring.restapi.dto.DepartmentSummary;
+import com.spring.restapi.dto.EmployeeSnapshot;
+import com.spring.restapi.models.Department;
+import com.spring.restapi.repository.DepartmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Departments and their aggregates. department_stats is kept current by
+ * applying per-department deltas for every {@link EmployeeChangedEvent} inside
+ * the writing transaction, so listing departments is a single read instead of
+ * one aggregate query per department.
+ */
+@Service
+public class DepartmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentService.class);
+
+    private static final String SUMMARY_COLUMNS = "d.manager_name, d.description, d.budget, "
+            + "COALESCE(s.headcount, 0) AS headcount, s.salary_sum, s.salary_min, s.salary_max, "
+            + "COALESCE(s.male_count, 0) AS male_count, COALESCE(s.female_count, 0) AS female_count, "
+            + "COALESCE(s.other_count, 0) AS other_count";
+
+    private static final String LIST_SQL = "SELECT COALESCE(d.name, s.department) AS name, " + SUMMARY_COLUMNS
+            + " FROM department_stats s FULL JOIN departments d ON d.name = s.department"
+            + " WHERE s.headcount > 0 OR d.id IS NOT NULL ORDER BY 1";
+
+    private static final String FIND_SQL = "SELECT k.name, " + SUMMARY_COLUMNS + ", d.id AS department_id, s.department AS stats_key"
+            + " FROM (SELECT CAST(? AS varchar) AS name) k"
+            + " LEFT JOIN departments d ON d.name = k.name LEFT JOIN department_stats s ON s.department = k.name";
+
+    private static final String APPLY_DELTA_SQL = "INSERT INTO department_stats "
+            + "(department, headcount, salary_sum, salary_min, salary_max, male_count, female_count, other_count, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, now()) ON CONFLICT (department) DO UPDATE SET "
+            + "headcount = department_stats.headcount + EXCLUDED.headcount, "
+            + "salary_sum = department_stats.salary_sum + EXCLUDED.salary_sum, "
+            + "salary_min = LEAST(department_stats.salary_min, EXCLUDED.salary_min), "
+            + "salary_max = GREATEST(department_stats.salary_max, EXCLUDED.salary_max), "
+            + "male_count = department_stats.male_count + EXCLUDED.male_count, "
+            + "female_count = department_stats.female_count + EXCLUDED.female_count, "
+            + "other_count = department_stats.other_count + EXCLUDED.other_count, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    private static final int[] APPLY_DELTA_TYPES = {
+            Types.VARCHAR, Types.BIGINT, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.BIGINT, Types.BIGINT, Types.BIGINT };
+
+    // Index lookups on (department, salary); only needed when a salary left the department
+    private static final String RECOMPUTE_RANGE_SQL = "UPDATE department_stats SET "
+            + "salary_min = (SELECT min(salary) FROM employees WHERE department = ?), "
+            + "salary_max = (SELECT max(salary) FROM employees WHERE department = ?) WHERE department = ?";
+
+    private static final String REBUILD_SQL = "INSERT INTO department_stats "
+            + "(department, headcount, salary_sum, salary_min, salary_max, male_count, female_count, other_count, updated_at) "
+            + "SELECT department, count(*), COALESCE(sum(salary), 0), min(salary), max(salary), "
+            + "count(*) FILTER (WHERE lower(gender) = 'male'), count(*) FILTER (WHERE lower(gender) = 'female'), "
+            + "count(*) FILTER (WHERE gender IS NULL OR lower(gender) NOT IN ('male', 'female')), now() "
+            + "FROM employees WHERE department IS NOT NULL GROUP BY department";
+
+    private static final RowMapper<DepartmentSummary> SUMMARY_MAPPER = (rs, rowNum) -> new DepartmentSummary(
+            rs.getString("name"), rs.getString("manager_name"), rs.getString("description"),
+            rs.getBigDecimal("budget"), rs.getLong("headcount"), rs.getBigDecimal("salary_sum"),
+            rs.getBigDecimal("salary_min"), rs.getBigDecimal("salary_max"),
+            rs.getLong("male_count"), rs.getLong("female_count"), rs.getLong("other_count"));
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<DepartmentSummary> getDepartmentSummaries() {
+        return jdbcTemplate.query(LIST_SQL, SUMMARY_MAPPER);
+    }
+
+    public Optional<DepartmentSummary> getDepartmentSummary(String name) {
+        return jdbcTemplate.query(FIND_SQL, rs -> {
+            if (!rs.next() || (rs.getObject("department_id") == null && rs.getObject("stats_key") == null)) {
+                return Optional.<DepartmentSummary>empty();
+            }
+            return Optional.of(SUMMARY_MAPPER.mapRow(rs, 0));
+        }, name);
+    }
+
+    @Transactional
+    public Department saveDepartment(String name, DepartmentRequest details) {
+        if (details.budget() != null && details.budget().signum() < 0) {
+            throw new IllegalArgumentException("Budget must not be negative");
+        }
+        Department department = departmentRepository.findByName(name).orElseGet(() -> new Department(name, null, null, null));
+        department.setManagerName(details.managerName());
+        department.setDescription(details.description());
+        department.setBudget(details.budget());
+        logger.info("🏢 Saving department: {}", name);
+        return departmentRepository.save(department);
+    }
+
+    /**
+     * Folds the changes into per-department deltas and applies each as one
+     * upsert. Departments are visited in name order so concurrent writers lock
+     * stats rows in the same order.
+     */
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Map<String, Delta> deltas = new TreeMap<>();
+        for (EmployeeChangedEvent.Change change : event.changes()) {
+            EmployeeSnapshot before = change.before();
+            EmployeeSnapshot after = change.after();
+            if (before != null && after != null && !affectsStats(before, after)) {
+                continue;
+            }
+            if (before != null && before.department() != null) {
+                deltas.computeIfAbsent(before.department(), k -> new Delta()).remove(before);
+            }
+            if (after != null && after.department() != null) {
+                deltas.computeIfAbsent(after.department(), k -> new Delta()).add(after);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> upserts = new ArrayList<>(deltas.size());
+        List<Object[]> recomputes = new ArrayList<>();
+        deltas.forEach((department, delta) -> {
+            upserts.add(new Object[] { department, delta.headcount, delta.salarySum, delta.salaryMin, delta.salaryMax,
+                    delta.maleCount, delta.femaleCount, delta.otherCount });
+            if (delta.removedSalary) {
+                recomputes.add(new Object[] { department, department, department });
+            }
+        });
+
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, upserts, APPLY_DELTA_TYPES);
+        if (!recomputes.isEmpty()) {
+            // The min/max subqueries must see the pending JPA update or delete
+            entityManager.flush();
+            jdbcTemplate.batchUpdate(RECOMPUTE_RANGE_SQL, recomputes);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildStats() {
+        try {
+            Integer rows = transactionTemplate.execute(status -> {
+                jdbcTemplate.update("DELETE FROM department_stats");
+                return jdbcTemplate.update(REBUILD_SQL);
+            });
+            logger.info("🏢 Department stats rebuilt for {} departments", rows);
+        } catch (Exception e) {
+            logger.error("❌ Failed to rebuild department stats: {}", e.getMessage());
+        }
+    }
+
+    private static boolean affectsStats(EmployeeSnapshot before, EmployeeSnapshot after) {
+        return !Objects.equals(before.department(), after.department())
+                || !Objects.equals(before.gender(), after.gender())
+                || before.salary() == null || after.salary() == null
+                || before.salary().compareTo(after.salary()) != 0;
+    }
+
+    private static final class Delta {
+        long headcount;
+        BigDecimal salarySum = BigDecimal.ZERO;
+        BigDecimal salaryMin;
+        BigDecimal salaryMax;
+        long maleCount;
+        long femaleCount;
+        long otherCount;
+        boolean removedSalary;
+
+        void add(EmployeeSnapshot employee) {
+            headcount++;
+            BigDecimal salary = employee.salary();
+            if (salary != null) {
+                salarySum = salarySum.add(salary);
+                salaryMin = salaryMin == null || salary.compareTo(salaryMin) < 0 ? salary : salaryMin;
+                salaryMax = salaryMax == null || salary.compareTo(salaryMax) > 0 ? salary : salaryMax;
+            }
+            countGender(employee.gender(), 1);
+        }
+
+        void remove(EmployeeSnapshot employee) {
+            headcount--;
+            if (employee.salary() != null) {
+                salarySum = salarySum.subtract(employee.salary());
+                removedSalary = true;
+            }
+            countGender(employee.gender(), -1);
+        }
+
+        private void countGender(String gender, int amount) {
+            String normalized = gender == null ? "" : gender.toLowerCase(Locale.ROOT);
+            switch (normalized) {
+                case "male" -> maleCount += amount;
+                case "female" -> femaleCount += amount;
+                default -> otherCount += amount;
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.BulkRowResult;
+import com.spring.restapi.dto.EmployeeSnapshot;
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.EmployeeRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk employee ingest. Rows are validated up front, then written in chunks of
+ * {@code empsync.bulk.chunk-size}, each in its own transaction: one set-based
+ * email check, one round trip to reserve ids from the employees id sequence and
+ * one batched INSERT that the driver rewrites into multi-row statements.
+ */
+@Service
+public class EmployeeBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBulkService.class);
+
+    private static final String EXISTING_EMAILS_SQL = "SELECT email FROM employees WHERE email = ANY (?)";
+
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('employees', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL = "INSERT INTO employees (id, name, email, phone, department, position, salary, "
+            + "gender, join_date, address, status, bonus, pf, tax, deductions_version, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_TYPES = {
+            Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC,
+            Types.VARCHAR, Types.DATE, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC,
+            Types.INTEGER, Types.TIMESTAMP, Types.TIMESTAMP };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaxEngine taxEngine;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${empsync.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Inserts every valid row and reports the outcome of each one, in request
+     * order. A failing row never rolls back rows from other chunks.
+     */
+    public List<BulkRowResult> insertAll(List<Employee> employees) {
+        long started = System.currentTimeMillis();
+        BulkRowResult[] results = new BulkRowResult[employees.size()];
+        Set<String> requestEmails = new HashSet<>();
+        List<Integer> chunk = new ArrayList<>(chunkSize);
+
+        for (int row = 0; row < employees.size(); row++) {
+            Employee employee = employees.get(row);
+            if (employee == null) {
+                results[row] = BulkRowResult.failed(row, "row", "Employee is required");
+                continue;
+            }
+            Map<String, String> errors = validate(employee);
+            if (!errors.isEmpty()) {
+                results[row] = BulkRowResult.failed(row, errors);
+            } else if (!requestEmails.add(employee.getEmail())) {
+                results[row] = BulkRowResult.failed(row, "email", "Duplicate email in request: " + employee.getEmail());
+            } else {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    insertChunk(employees, chunk, results);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(employees, chunk, results);
+        }
+
+        long created = Arrays.stream(results).filter(BulkRowResult::isSuccess).count();
+        logger.info("📦 Bulk insert: {} of {} employees created in {} ms",
+                created, employees.size(), System.currentTimeMillis() - started);
+        return Arrays.asList(results);
+    }
+
+    private Map<String, String> validate(Employee employee) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<Employee> violation : validator.validate(employee)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    // A constraint violation fails the whole batch, so the chunk is retried row by
+    // row to pin the error on the offending rows (e.g. an email taken concurrently)
+    private void insertChunk(List<Employee> employees, List<Integer> rows, BulkRowResult[] results) {
+        try {
+            Map<Integer, Long> ids = transactionTemplate.execute(status -> writeChunk(employees, rows, results));
+            ids.forEach((row, id) -> {
+                employees.get(row).setId(id);
+                results[row] = BulkRowResult.created(row, id);
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                int row = rows.get(0);
+                results[row] = BulkRowResult.failed(row, "row", e.getMostSpecificCause().getMessage());
+                return;
+            }
+            logger.warn("⚠️ Bulk chunk of {} rows failed, retrying row by row: {}",
+                    rows.size(), e.getMostSpecificCause().getMessage());
+            for (Integer row : rows) {
+                insertChunk(employees, List.of(row), results);
+            }
+        }
+    }
+
+    // Runs inside the chunk transaction; returns the ids assigned to the inserted rows
+    private Map<Integer, Long> writeChunk(List<Employee> employees, List<Integer> rows, BulkRowResult[] results) {
+        String[] emails = new String[rows.size()];
+        for (int i = 0; i < emails.length; i++) {
+            emails[i] = employees.get(rows.get(i)).getEmail();
+        }
+        Set<String> taken = new HashSet<>(jdbcTemplate.queryForList(EXISTING_EMAILS_SQL, String.class, (Object) emails));
+
+        List<Integer> accepted = new ArrayList<>(rows.size());
+        for (Integer row : rows) {
+            String email = employees.get(row).getEmail();
+            if (taken.contains(email)) {
+                results[row] = BulkRowResult.failed(row, "email", "Email already exists: " + email);
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return Map.of();
+        }
+
+        int n = accepted.size();
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, n);
+
+        TaxEngine.PayrollRules rules = taxEngine.getRules();
+        long[] salaries = new long[n];
+        for (int i = 0; i < n; i++) {
+            salaries[i] = TaxEngine.toPaise(employees.get(accepted.get(i)).getSalary());
+        }
+        long[] bonus = new long[n];
+        long[] pf = new long[n];
+        long[] tax = new long[n];
+        rules.computeColumn(salaries, bonus, pf, tax);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> args = new ArrayList<>(n);
+        Map<Integer, Long> assigned = new HashMap<>(n * 2);
+        List<EmployeeChangedEvent.Change> changes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int row = accepted.get(i);
+            Employee e = employees.get(row);
+            e.setBonus(TaxEngine.fromPaise(bonus[i]));
+            e.setPf(TaxEngine.fromPaise(pf[i]));
+            e.setTax(TaxEngine.fromPaise(tax[i]));
+            e.setDeductionsVersion(rules.getVersion());
+            e.setCreatedAt(now);
+            e.setUpdatedAt(now);
+            args.add(new Object[] { ids.get(i), e.getName(), e.getEmail(), e.getPhone(), e.getDepartment(),
+                    e.getPosition(), e.getSalary(), e.getGender(), e.getJoinDate(), e.getAddress(), e.getStatus(),
+                    e.getBonus(), e.getPf(), e.getTax(), e.getDeductionsVersion(), now, now });
+            assigned.put(row, ids.get(i));
+            changes.add(new EmployeeChangedEvent.Change(null, new EmployeeSnapshot(ids.get(i), e.getEmail(),
+                    e.getDepartment(), e.getPosition(), e.getSalary(), e.getGender(), e.getStatus())));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args, INSERT_TYPES);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(changes,
+                jdbcTemplate.queryForObject(EmployeeRepository.CURRENT_TXID_SQL, Long.class)));
+        return assigned;
+    }
+}
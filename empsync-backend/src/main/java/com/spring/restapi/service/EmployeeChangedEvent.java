@@ -0,0 +1,38 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.EmployeeSnapshot;
+
+import java.util.List;
+
+/**
+ * Published synchronously inside the transaction that wrote the employees, so
+ * listeners can keep derived data consistent with the write. {@code before} is
+ * null for inserts and {@code after} is null for deletes. {@code txid} is the
+ * writing transaction's id, so a listener rebuilding from a database snapshot
+ * can tell whether the snapshot already includes the change.
+ */
+public record EmployeeChangedEvent(List<Change> changes, long txid) {
+
+    public record Change(EmployeeSnapshot before, EmployeeSnapshot after) {
+
+        public boolean isInsert() {
+            return before == null;
+        }
+
+        public boolean isDelete() {
+            return after == null;
+        }
+    }
+
+    public static EmployeeChangedEvent inserted(EmployeeSnapshot employee, long txid) {
+        return new EmployeeChangedEvent(List.of(new Change(null, employee)), txid);
+    }
+
+    public static EmployeeChangedEvent updated(EmployeeSnapshot before, EmployeeSnapshot after, long txid) {
+        return new EmployeeChangedEvent(List.of(new Change(before, after)), txid);
+    }
+
+    public static EmployeeChangedEvent deleted(EmployeeSnapshot employee, long txid) {
+        return new EmployeeChangedEvent(List.of(new Change(employee, null)), txid);
+    }
+}
@@ -0,0 +1,592 @@
+package com.spring.restapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.spring.restapi.dto.EmployeeSnapshot;
+import com.spring.restapi.dto.ImportJobStatus;
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous employee import from CSV or NDJSON uploads. The upload is
+ * spooled to disk and a job parses it incrementally, converts and validates
+ * each chunk of rows in parallel, then loads the chunk with COPY into a
+ * temporary staging table and merges it into employees in one statement. Each
+ * chunk commits on its own; rows that fail are written to the job's error file.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE employee_import_staging ("
+            + "row_number BIGINT NOT NULL, name TEXT, email TEXT, phone TEXT, department TEXT, position TEXT, "
+            + "salary NUMERIC(38, 2), gender TEXT, join_date DATE, address TEXT, status TEXT, "
+            + "bonus NUMERIC(38, 2), pf NUMERIC(38, 2), tax NUMERIC(38, 2)) ON COMMIT DROP";
+
+    private static final String COPY_SQL = "COPY employee_import_staging (row_number, name, email, phone, department, "
+            + "position, salary, gender, join_date, address, status, bonus, pf, tax) FROM STDIN WITH (FORMAT csv)";
+
+    // Existing emails are skipped by the unique constraint rather than a lookup, so
+    // an email taken by a concurrent writer is reported like any other duplicate
+    private static final String MERGE_SQL = "WITH inserted AS ("
+            + "INSERT INTO employees (name, email, phone, department, position, salary, gender, join_date, address, "
+            + "status, bonus, pf, tax, deductions_version, created_at, updated_at) "
+            + "SELECT name, email, phone, department, position, salary, gender, join_date, address, status, "
+            + "bonus, pf, tax, ?, ?, ? FROM employee_import_staging ORDER BY row_number "
+            + "ON CONFLICT (email) DO NOTHING "
+            + "RETURNING id, email, department, position, salary, gender, status) "
+            + "SELECT s.row_number, s.email, i.id, i.department, i.position, i.salary, i.gender, i.status "
+            + "FROM employee_import_staging s LEFT JOIN inserted i ON i.email = s.email ORDER BY s.row_number";
+
+    // Column lengths of the employees table; longer values would fail the whole chunk
+    private static final Map<String, Integer> MAX_LENGTHS = Map.of(
+            "name", 100, "email", 100, "phone", 15, "department", 50, "position", 50,
+            "gender", 10, "address", 500, "status", 10);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaxEngine taxEngine;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${empsync.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${empsync.import.max-bytes:536870912}")
+    private long maxBytes;
+
+    @Value("${empsync.import.retention-ms:86400000}")
+    private long retentionMs;
+
+    @Value("${empsync.import.spool-dir:${java.io.tmpdir}}")
+    private String spoolDir;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    public EmployeeImportService(@Value("${empsync.import.concurrency:1}") int concurrency,
+                                 @Value("${empsync.import.queue-capacity:8}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "employee-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Spools the upload to disk and queues an import job for it. Throws
+     * IllegalStateException when the import queue is full.
+     */
+    public ImportJobStatus submit(InputStream upload, String format) throws IOException {
+        String normalizedFormat = normalizeFormat(format);
+        Path dir = Paths.get(spoolDir);
+        Path spool = Files.createTempFile(dir, "empsync-import-", ".upload");
+        long bytes;
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            bytes = copyLimited(upload, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+        if (bytes == 0) {
+            Files.deleteIfExists(spool);
+            throw new IllegalArgumentException("Upload is empty");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), normalizedFormat, spool,
+                Files.createTempFile(dir, "empsync-import-", ".errors.csv"), bytes);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            job.deleteFiles();
+            throw new IllegalStateException("Import queue is full, try again later");
+        }
+
+        logger.info("📥 Import job {} queued: {} bytes of {}", job.id, bytes, normalizedFormat);
+        return job.status();
+    }
+
+    public Optional<ImportJobStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::status);
+    }
+
+    public Optional<Path> getErrorFile(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> job.errorFile);
+    }
+
+    @Scheduled(fixedDelayString = "${empsync.import.cleanup-interval-ms:3600000}")
+    public void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(retentionMs));
+        jobs.values().removeIf(job -> {
+            if (job.finishedAt != null && job.finishedAt.isBefore(cutoff)) {
+                job.deleteFiles();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.startedAt = LocalDateTime.now();
+        job.state = ImportJobStatus.RUNNING;
+        long started = System.currentTimeMillis();
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(job.spool), job);
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+             Writer errors = Files.newBufferedWriter(job.errorFile, StandardCharsets.UTF_8)) {
+            errors.write("row,field,message\n");
+            ChunkWriter chunks = new ChunkWriter(job, errors);
+            if (FORMAT_CSV.equals(job.format)) {
+                readCsv(reader, chunks);
+            } else {
+                readNdjson(reader, chunks);
+            }
+            chunks.flush();
+            job.state = ImportJobStatus.COMPLETED;
+            logger.info("📥 Import job {} completed: {} of {} rows imported in {} ms",
+                    job.id, job.imported, job.rowsRead, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            job.state = ImportJobStatus.FAILED;
+            job.message = e.getMessage();
+            logger.error("❌ Import job {} failed after {} rows: {}", job.id, job.rowsRead, e.getMessage());
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            try {
+                Files.deleteIfExists(job.spool);
+            } catch (IOException e) {
+                logger.warn("⚠️ Could not delete import spool {}: {}", job.spool, e.getMessage());
+            }
+        }
+    }
+
+    private void readCsv(Reader reader, ChunkWriter chunks) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<Map<String, Object>> rows = csvMapper.readerFor(Map.class).with(schema)
+                .with(CsvParser.Feature.TRIM_SPACES)
+                .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .readValues(reader)) {
+            long rowNumber = 0;
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                try {
+                    chunks.add(new RawRow(rowNumber, rows.nextValue(), null, null));
+                } catch (RuntimeException e) {
+                    chunks.add(new RawRow(rowNumber, null, null, e.getMessage()));
+                }
+            }
+        }
+    }
+
+    // Lines are parsed in the parallel stage, so a malformed line only fails itself
+    private void readNdjson(Reader reader, ChunkWriter chunks) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        long rowNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            chunks.add(new RawRow(++rowNumber, null, line, null));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ParsedRow parse(RawRow raw) {
+        if (raw.error() != null) {
+            return ParsedRow.failed(raw.rowNumber(), "row", raw.error());
+        }
+        Map<String, Object> values;
+        try {
+            // Decimals are read as BigDecimal, so salaries reach the entity exactly as written
+            values = raw.values() != null ? raw.values() : objectMapper.readerFor(Map.class)
+                    .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .readValue(raw.line());
+        } catch (JsonProcessingException e) {
+            return ParsedRow.failed(raw.rowNumber(), "row", "Malformed JSON: " + e.getOriginalMessage());
+        } catch (RuntimeException e) {
+            return ParsedRow.failed(raw.rowNumber(), "row", "Expected a JSON object");
+        }
+
+        // Blank cells are absent values, so entity defaults such as status apply
+        Map<String, Object> present = new HashMap<>();
+        values.forEach((key, value) -> {
+            if (value != null && !(value instanceof String s && s.isBlank())) {
+                present.put(key, value);
+            }
+        });
+
+        Employee employee;
+        try {
+            employee = objectMapper.convertValue(present, Employee.class);
+        } catch (IllegalArgumentException e) {
+            String field = "row";
+            String message = e.getMessage();
+            if (e.getCause() instanceof JsonMappingException mapping) {
+                message = mapping.getOriginalMessage();
+                if (!mapping.getPath().isEmpty() && mapping.getPath().get(0).getFieldName() != null) {
+                    field = mapping.getPath().get(0).getFieldName();
+                    message = "Invalid value for " + field;
+                }
+            }
+            return ParsedRow.failed(raw.rowNumber(), field, message);
+        }
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<Employee> violation : validator.validate(employee)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        checkLength(errors, "name", employee.getName());
+        checkLength(errors, "email", employee.getEmail());
+        checkLength(errors, "phone", employee.getPhone());
+        checkLength(errors, "department", employee.getDepartment());
+        checkLength(errors, "position", employee.getPosition());
+        checkLength(errors, "gender", employee.getGender());
+        checkLength(errors, "address", employee.getAddress());
+        checkLength(errors, "status", employee.getStatus());
+        if (employee.getSalary() != null && employee.getSalary().scale() > 2) {
+            errors.putIfAbsent("salary", "Salary must have at most 2 decimal places");
+        }
+        return new ParsedRow(raw.rowNumber(), errors.isEmpty() ? employee : null, errors);
+    }
+
+    private static void checkLength(Map<String, String> errors, String field, String value) {
+        int max = MAX_LENGTHS.get(field);
+        if (value != null && value.length() > max) {
+            errors.putIfAbsent(field, "Must be at most " + max + " characters");
+        }
+    }
+
+    private String normalizeFormat(String format) {
+        if (format == null || format.isBlank()) {
+            throw new IllegalArgumentException("Import format is required (csv or ndjson)");
+        }
+        String normalized = format.trim().toLowerCase(Locale.ROOT);
+        if (!FORMAT_CSV.equals(normalized) && !FORMAT_NDJSON.equals(normalized)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format + " (allowed: csv, ndjson)");
+        }
+        return normalized;
+    }
+
+    private long copyLimited(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxBytes) {
+                throw new IllegalArgumentException("Upload exceeds the limit of " + maxBytes + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    /**
+     * Collects raw rows into chunks and imports each full chunk: conversion and
+     * validation run in parallel, then duplicates within the upload are removed
+     * in row order, deductions are computed for the chunk as one column pass,
+     * and the survivors are copied and merged in one transaction.
+     */
+    private final class ChunkWriter {
+
+        private final Job job;
+        private final Writer errors;
+        private final Set<String> uploadEmails = new HashSet<>();
+        private List<RawRow> pending = new ArrayList<>(chunkSize);
+
+        ChunkWriter(Job job, Writer errors) {
+            this.job = job;
+            this.errors = errors;
+        }
+
+        void add(RawRow row) throws IOException {
+            job.rowsRead++;
+            pending.add(row);
+            if (pending.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<RawRow> chunk = pending;
+            pending = new ArrayList<>(chunkSize);
+
+            List<ParsedRow> parsed = chunk.parallelStream().map(EmployeeImportService.this::parse).toList();
+
+            List<ParsedRow> accepted = new ArrayList<>(parsed.size());
+            for (ParsedRow row : parsed) {
+                if (row.employee() == null) {
+                    fail(row.rowNumber(), row.errors());
+                } else if (!uploadEmails.add(row.employee().getEmail())) {
+                    fail(row.rowNumber(), Map.of("email", "Duplicate email in upload: " + row.employee().getEmail()));
+                } else {
+                    accepted.add(row);
+                }
+            }
+            if (!accepted.isEmpty()) {
+                load(accepted);
+            }
+            errors.flush();
+        }
+
+        private void load(List<ParsedRow> rows) throws IOException {
+            int n = rows.size();
+            TaxEngine.PayrollRules rules = taxEngine.getRules();
+            long[] salaries = new long[n];
+            for (int i = 0; i < n; i++) {
+                salaries[i] = TaxEngine.toPaise(rows.get(i).employee().getSalary());
+            }
+            long[] bonus = new long[n];
+            long[] pf = new long[n];
+            long[] tax = new long[n];
+            rules.computeColumn(salaries, bonus, pf, tax);
+
+            StringBuilder csv = new StringBuilder(n * 160);
+            for (int i = 0; i < n; i++) {
+                Employee e = rows.get(i).employee();
+                csv.append(rows.get(i).rowNumber());
+                appendCsv(csv, e.getName());
+                appendCsv(csv, e.getEmail());
+                appendCsv(csv, e.getPhone());
+                appendCsv(csv, e.getDepartment());
+                appendCsv(csv, e.getPosition());
+                appendCsv(csv, e.getSalary());
+                appendCsv(csv, e.getGender());
+                appendCsv(csv, e.getJoinDate());
+                appendCsv(csv, e.getAddress());
+                appendCsv(csv, e.getStatus());
+                appendCsv(csv, TaxEngine.fromPaise(bonus[i]));
+                appendCsv(csv, TaxEngine.fromPaise(pf[i]));
+                appendCsv(csv, TaxEngine.fromPaise(tax[i]));
+                csv.append('\n');
+            }
+
+            List<Long> skipped = new ArrayList<>();
+            try {
+                long imported = transactionTemplate.execute(status -> {
+                    jdbcTemplate.execute(CREATE_STAGING_SQL);
+                    jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                        try {
+                            return connection.unwrap(PGConnection.class).getCopyAPI()
+                                    .copyIn(COPY_SQL, new StringReader(csv.toString()));
+                        } catch (IOException e) {
+                            throw new IllegalStateException("COPY into staging failed", e);
+                        }
+                    });
+
+                    LocalDateTime now = LocalDateTime.now();
+                    List<EmployeeChangedEvent.Change> changes = new ArrayList<>(n);
+                    jdbcTemplate.query(MERGE_SQL, rs -> {
+                        long id = rs.getLong("id");
+                        if (rs.wasNull()) {
+                            skipped.add(rs.getLong("row_number"));
+                            return;
+                        }
+                        changes.add(new EmployeeChangedEvent.Change(null, new EmployeeSnapshot(id,
+                                rs.getString("email"), rs.getString("department"), rs.getString("position"),
+                                rs.getBigDecimal("salary"), rs.getString("gender"), rs.getString("status"))));
+                    }, rules.getVersion(), now, now);
+                    if (!changes.isEmpty()) {
+                        eventPublisher.publishEvent(new EmployeeChangedEvent(changes,
+                                jdbcTemplate.queryForObject(EmployeeRepository.CURRENT_TXID_SQL, Long.class)));
+                    }
+                    return (long) changes.size();
+                });
+                job.imported += imported;
+                Map<Long, String> emails = new HashMap<>();
+                rows.forEach(row -> emails.put(row.rowNumber(), row.employee().getEmail()));
+                for (Long rowNumber : skipped) {
+                    fail(rowNumber, Map.of("email", "Email already exists: " + emails.get(rowNumber)));
+                }
+            } catch (DataAccessException | IllegalStateException e) {
+                String message = e instanceof DataAccessException dae && dae.getMostSpecificCause() != null
+                        ? dae.getMostSpecificCause().getMessage() : e.getMessage();
+                logger.warn("⚠️ Import job {} chunk of {} rows failed: {}", job.id, n, message);
+                for (ParsedRow row : rows) {
+                    fail(row.rowNumber(), Map.of("row", "Chunk failed: " + message));
+                }
+            }
+        }
+
+        private void fail(long rowNumber, Map<String, String> rowErrors) throws IOException {
+            job.failed++;
+            for (Map.Entry<String, String> error : rowErrors.entrySet()) {
+                StringBuilder line = new StringBuilder().append(rowNumber);
+                appendCsv(line, error.getKey());
+                appendCsv(line, error.getValue());
+                errors.write(line.append('\n').toString());
+            }
+        }
+    }
+
+    // Appends ",value" in PostgreSQL CSV format; an unquoted empty field is NULL
+    private static void appendCsv(StringBuilder out, Object value) {
+        out.append(',');
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        out.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    private record RawRow(long rowNumber, Map<String, Object> values, String line, String error) { }
+
+    private record ParsedRow(long rowNumber, Employee employee, Map<String, String> errors) {
+
+        static ParsedRow failed(long rowNumber, String field, String message) {
+            return new ParsedRow(rowNumber, null, Map.of(field, message == null ? "Invalid row" : message));
+        }
+    }
+
+    private static final class Job {
+
+        final String id;
+        final String format;
+        final Path spool;
+        final Path errorFile;
+        final long bytesTotal;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+
+        // Written by the import thread only
+        volatile String state = ImportJobStatus.QUEUED;
+        volatile long bytesRead;
+        volatile long rowsRead;
+        volatile long imported;
+        volatile long failed;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile String message;
+
+        Job(String id, String format, Path spool, Path errorFile, long bytesTotal) {
+            this.id = id;
+            this.format = format;
+            this.spool = spool;
+            this.errorFile = errorFile;
+            this.bytesTotal = bytesTotal;
+        }
+
+        ImportJobStatus status() {
+            return new ImportJobStatus(id, state, format, bytesTotal, bytesRead, rowsRead, imported, failed,
+                    submittedAt, startedAt, finishedAt, message);
+        }
+
+        void deleteFiles() {
+            try {
+                Files.deleteIfExists(spool);
+                Files.deleteIfExists(errorFile);
+            } catch (IOException e) {
+                logger.warn("⚠️ Could not delete files of import job {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final Job job;
+
+        CountingInputStream(InputStream in, Job job) {
+            super(in);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                job.bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                job.bytesRead += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.spring.restapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.spring.restapi.dto.EmployeeSnapshot;
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Cached employee lookups by id and by email for read-only callers. Entries are
+ * bounded by size and TTL (spring.cache.caffeine.spec) and evicted once the
+ * transaction that changed the employee commits. A load first puts a token under
+ * its key and only replaces that token with the row it read, so a row read just
+ * before a commit cannot be put back after the commit's eviction removed the
+ * token. Hits are served without a query. Code that modifies an employee must
+ * load it from {@link EmployeeRepository}, never from here, since cached
+ * instances are shared.
+ */
+@Service
+public class EmployeeLookupService {
+
+    public static final String EMPLOYEES_BY_ID = "employeesById";
+    public static final String EMPLOYEES_BY_EMAIL = "employeesByEmail";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public Optional<Employee> findById(Long id) {
+        Cache<Object, Object> byId = cache(EMPLOYEES_BY_ID);
+        if (byId.getIfPresent(id) instanceof Employee cached) {
+            return Optional.of(cached);
+        }
+        return load(byId, id, () -> employeeRepository.findById(id));
+    }
+
+    // For callers that have just read the current version, e.g. for a conditional GET
+    public Optional<Employee> findById(Long id, Optional<Long> currentVersion) {
+        Cache<Object, Object> byId = cache(EMPLOYEES_BY_ID);
+        if (currentVersion.isEmpty()) {
+            byId.invalidate(id);
+            return Optional.empty();
+        }
+        if (byId.getIfPresent(id) instanceof Employee cached && currentVersion.get().equals(cached.getVersion())) {
+            return Optional.of(cached);
+        }
+        return load(byId, id, () -> employeeRepository.findById(id));
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        Cache<Object, Object> byEmail = cache(EMPLOYEES_BY_EMAIL);
+        if (byEmail.getIfPresent(email) instanceof Employee cached) {
+            return Optional.of(cached);
+        }
+        return load(byEmail, email, () -> employeeRepository.findByEmail(email));
+    }
+
+    private static Optional<Employee> load(Cache<Object, Object> cache, Object key, Supplier<Optional<Employee>> reader) {
+        Object token = new Object();
+        cache.put(key, token);
+        Optional<Employee> employee = reader.get();
+        // Fails if an eviction, or a newer load, replaced the token while the row was read
+        employee.ifPresentOrElse(found -> cache.asMap().replace(key, token, found),
+                () -> cache.asMap().remove(key, token));
+        return employee;
+    }
+
+    // fallbackExecution covers writers that run without a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Cache<Object, Object> byId = cache(EMPLOYEES_BY_ID);
+        Cache<Object, Object> byEmail = cache(EMPLOYEES_BY_EMAIL);
+        for (EmployeeChangedEvent.Change change : event.changes()) {
+            evict(byId, byEmail, change.before());
+            evict(byId, byEmail, change.after());
+        }
+    }
+
+    // For writes that bypass the entity layer, such as batch payroll updates
+    public void evictAll() {
+        cache(EMPLOYEES_BY_ID).invalidateAll();
+        cache(EMPLOYEES_BY_EMAIL).invalidateAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> cache(String name) {
+        return (Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+    }
+
+    private static void evict(Cache<Object, Object> byId, Cache<Object, Object> byEmail, EmployeeSnapshot employee) {
+        if (employee == null) {
+            return;
+        }
+        if (employee.id() != null) {
+            byId.invalidate(employee.id());
+        }
+        if (employee.email() != null) {
+            byEmail.invalidate(employee.email());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ranked employee search over name and email. Queries of three or more
+ * characters are answered by nearest-neighbour scans of pg_trgm GiST indexes,
+ * closest trigram match first; shorter ones use a name prefix scan. Until the
+ * trigram indexes are confirmed at startup, search falls back to a plain
+ * substring match.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EmployeeSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchService.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // Shortest query that produces a full trigram
+    private static final int MIN_TRIGRAM_LENGTH = 3;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private volatile boolean trigramAvailable;
+
+    public void setTrigramAvailable(boolean trigramAvailable) {
+        this.trigramAvailable = trigramAvailable;
+    }
+
+    public boolean isTrigramAvailable() {
+        return trigramAvailable;
+    }
+
+    public List<Employee> search(String query, boolean fuzzy, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_LIMIT);
+        }
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+
+        if (!trigramAvailable) {
+            logger.debug("🔍 Trigram search unavailable, using substring scan for: {}", normalized);
+            return employeeRepository.findByNameContainingIgnoreCase(normalized).stream().limit(limit).toList();
+        }
+        String escaped = escapeLike(normalized);
+        if (normalized.length() < MIN_TRIGRAM_LENGTH) {
+            return employeeRepository.searchByNamePrefix(escaped + "%", limit);
+        }
+        if (fuzzy) {
+            return employeeRepository.searchFuzzy(normalized, limit);
+        }
+        return employeeRepository.searchBySubstring(normalized, "%" + escaped + "%", limit);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,21 +1,40 @@
 package com.spring.restapi.service;
 
+import com.spring.restapi.dto.EmployeeCursor;
+import com.spring.restapi.dto.EmployeeFields;
+import com.spring.restapi.dto.EmployeeSnapshot;
 import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.AttendanceRepository;
 import com.spring.restapi.repository.EmployeeRepository;
+import com.spring.restapi.repository.EmployeeSpecifications;
 import com.spring.restapi.exception.EmployeeNotFoundException;
+import com.spring.restapi.exception.PreconditionFailedException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Validated
@@ -24,9 +43,42 @@ public class EmployeeService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Status given to employees whose delete has to keep their attendance history
+    public static final String INACTIVE = "Inactive";
+
+    public static final Set<String> PATCHABLE_FIELDS = Set.of(
+            "name", "email", "phone", "department", "position", "salary", "gender", "joinDate", "address", "status");
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeLookupService employeeLookupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Transactional
     public Employee saveEmployee(@Valid Employee employee) {
         logger.info("💾 Saving new employee: {}", employee.getEmail());
@@ -34,60 +86,138 @@ public class EmployeeService {
             logger.warn("⚠️ Email already exists: {}", employee.getEmail());
             throw new IllegalArgumentException("Email already exists: " + employee.getEmail());
         }
-        calculateDeductions(employee);
+        payrollService.applyDeductions(employee);
         Employee saved = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.inserted(EmployeeSnapshot.of(saved),
+                employeeRepository.currentTransactionId()));
         logger.info("✅ Employee saved with ID: {}", saved.getId());
         return saved;
     }
 
+    /**
+     * Deletes the employee, or marks them Inactive when they have attendance
+     * records, since fk_attendance_employee keeps that history. The row lock
+     * makes concurrent check-ins wait on their FK check, so the existence check
+     * cannot go stale before the delete.
+     *
+     * @return true if the employee was deleted, false if they were deactivated
+     */
     @Transactional
-    public void deleteEmployeeById(Long id) {
+    public boolean deleteEmployeeById(Long id) {
         logger.info("🗑️ Deleting employee ID: {}", id);
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> {
                     logger.warn("⚠️ Employee not found for deletion ID: {}", id);
                     return new EmployeeNotFoundException("Employee not found ID: " + id);
                 });
+        if (attendanceRepository.existsByEmployeeId(id)) {
+            EmployeeSnapshot before = EmployeeSnapshot.of(employee);
+            employee.setStatus(INACTIVE);
+            Employee updated = employeeRepository.save(employee);
+            eventPublisher.publishEvent(EmployeeChangedEvent.updated(before, EmployeeSnapshot.of(updated),
+                    employeeRepository.currentTransactionId()));
+            logger.info("✅ Employee ID: {} has attendance records, marked {}", id, INACTIVE);
+            return false;
+        }
         employeeRepository.delete(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(EmployeeSnapshot.of(employee),
+                employeeRepository.currentTransactionId()));
         logger.info("✅ Employee ID: {} deleted", id);
+        return true;
     }
 
-    private void calculateDeductions(Employee employee) {
-        BigDecimal salary = employee.getSalary();
-        employee.setBonus(salary.multiply(BigDecimal.valueOf(0.10)));
-        employee.setPf(salary.multiply(BigDecimal.valueOf(0.12)));
-        employee.setTax(calculateTax(salary));
+    public List<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
     }
 
-    private BigDecimal calculateTax(BigDecimal salary) {
-        if (salary.compareTo(BigDecimal.valueOf(250000)) <= 0)
-            return BigDecimal.ZERO;
-        if (salary.compareTo(BigDecimal.valueOf(500000)) <= 0)
-            return salary.subtract(BigDecimal.valueOf(250000)).multiply(BigDecimal.valueOf(0.05));
-        if (salary.compareTo(BigDecimal.valueOf(1000000)) <= 0)
-            return BigDecimal.valueOf(12500)
-                    .add(salary.subtract(BigDecimal.valueOf(500000)).multiply(BigDecimal.valueOf(0.20)));
-        return BigDecimal.valueOf(112500)
-                .add(salary.subtract(BigDecimal.valueOf(1000000)).multiply(BigDecimal.valueOf(0.30)));
+    // Keyset pagination; sort keys are backed by the (column, id) indexes on employees
+    public Window<Employee> getEmployeesPage(Specification<Employee> spec, EmployeeCursor cursor, int limit) {
+        checkPageSize(limit);
+        return employeeRepository.findBy(spec,
+                query -> query.sortBy(cursor.toSort()).limit(limit).scroll(cursor.toScrollPosition()));
     }
 
-    public List<Employee> getAllEmployees() {
-        List<Employee> employees = employeeRepository.findAll();
-        employees.forEach(this::calculateDeductions);
-        return employees;
+    private static void checkPageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
     }
 
-    public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id).map(e -> {
-            calculateDeductions(e);
-            return e;
+    public void streamAllEmployees(Consumer<? super Employee> sink) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            drain(employees, sink);
+        }
+    }
+
+    public void streamEmployeesByStatus(String status, Consumer<? super Employee> sink) {
+        try (Stream<Employee> employees = employeeRepository.streamByStatus(status)) {
+            drain(employees, sink);
+        }
+    }
+
+    public void streamEmployeesByGender(String gender, Consumer<? super Employee> sink) {
+        try (Stream<Employee> employees = employeeRepository.streamByGender(gender)) {
+            drain(employees, sink);
+        }
+    }
+
+    // Sparse fieldsets: only the requested columns are selected and serialized
+    public List<Map<String, Object>> getEmployeeFields(Specification<Employee> spec, EmployeeFields fields) {
+        return employeeRepository.findFields(spec, fields, Sort.by(EmployeeCursor.SORT_ID), 0);
+    }
+
+    public void streamEmployeeFields(Specification<Employee> spec, EmployeeFields fields, Consumer<? super Map<String, Object>> sink) {
+        try (Stream<Map<String, Object>> rows = employeeRepository.streamFields(spec, fields, Sort.by(EmployeeCursor.SORT_ID))) {
+            rows.forEach(sink);
+        }
+    }
+
+    // Rows always carry id and the sort key so the next cursor can be built
+    public Window<Map<String, Object>> getEmployeeFieldsPage(Specification<Employee> spec, EmployeeCursor cursor,
+                                                             int limit, EmployeeFields fields) {
+        checkPageSize(limit);
+        EmployeeFields selected = fields.with(EmployeeCursor.SORT_ID, cursor.getSortKey());
+        List<Map<String, Object>> rows = employeeRepository.findFields(spec.and(EmployeeSpecifications.after(cursor)),
+                selected, cursor.toSort(), limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<Map<String, Object>> content = hasNext ? rows.subList(0, limit) : rows;
+        return Window.from(content, index -> {
+            Map<String, Object> row = content.get(index);
+            return cursor.after((Long) row.get(EmployeeCursor.SORT_ID), row.get(cursor.getSortKey())).toScrollPosition();
+        }, hasNext);
+    }
+
+    // Detach each row once written so the persistence context never holds more than one
+    private void drain(Stream<Employee> employees, Consumer<? super Employee> sink) {
+        employees.forEach(employee -> {
+            sink.accept(employee);
+            entityManager.detach(employee);
         });
     }
 
+    public Optional<Long> getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    // Changes whenever any employee row is written
+    public OptionalLong getEmployeesVersion() {
+        return tableVersionService.getVersion("employees");
+    }
+
+    public Optional<Employee> getEmployeeById(Long id) {
+        return employeeLookupService.findById(id);
+    }
+
+    public Optional<Employee> getEmployeeById(Long id, Optional<Long> currentVersion) {
+        return employeeLookupService.findById(id, currentVersion);
+    }
+
+    public Optional<Employee> getEmployeeByEmail(String email) {
+        return employeeLookupService.findByEmail(email);
+    }
+
     public List<Employee> getEmployeesByDepartment(String department) {
-        List<Employee> employees = employeeRepository.findByDepartment(department);
-        employees.forEach(this::calculateDeductions);
-        return employees;
+        return employeeRepository.findByDepartment(department);
     }
 
     @Transactional
@@ -104,6 +234,10 @@ public class EmployeeService {
             throw new IllegalArgumentException("Email already exists: " + details.getEmail());
         }
 
+        EmployeeSnapshot before = EmployeeSnapshot.of(employee);
+        boolean salaryChanged = employee.getSalary() == null || details.getSalary() == null
+                || employee.getSalary().compareTo(details.getSalary()) != 0;
+
         employee.setName(details.getName());
         employee.setEmail(details.getEmail());
         employee.setPhone(details.getPhone());
@@ -115,49 +249,75 @@ public class EmployeeService {
         employee.setAddress(details.getAddress());
         employee.setStatus(details.getStatus());
 
-        calculateDeductions(employee);
+        if (salaryChanged || !payrollService.isCurrent(employee)) {
+            payrollService.applyDeductions(employee);
+        }
         Employee updated = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(before, EmployeeSnapshot.of(updated),
+                employeeRepository.currentTransactionId()));
         logger.info("✅ Employee ID: {} updated successfully", id);
         return updated;
     }
 
-    public List<String> getAllDepartments() {
-        return employeeRepository.findDistinctDepartments();
-    }
-
-    public Employee convertMapToEmployee(Map<String, Object> data) {
-        Employee e = new Employee();
-        if (data.containsKey("name"))
-            e.setName((String) data.get("name"));
-        if (data.containsKey("email"))
-            e.setEmail((String) data.get("email"));
-        if (data.containsKey("phone"))
-            e.setPhone((String) data.get("phone"));
-        if (data.containsKey("department"))
-            e.setDepartment((String) data.get("department"));
-        if (data.containsKey("position"))
-            e.setPosition((String) data.get("position"));
-        if (data.containsKey("salary")) {
-            Object s = data.get("salary");
-            e.setSalary(
-                    s instanceof Number ? BigDecimal.valueOf(((Number) s).doubleValue()) : new BigDecimal((String) s));
-        }
-        if (data.containsKey("gender"))
-            e.setGender((String) data.get("gender"));
-        if (data.containsKey("joinDate") && data.get("joinDate") instanceof String) {
-            try {
-                e.setJoinDate(LocalDate.parse((String) data.get("joinDate")));
-            } catch (DateTimeParseException ex) {
-                throw new IllegalArgumentException("Invalid date format");
+    /**
+     * Applies a partial document to an employee. Only changed columns are written
+     * (the entity uses dynamic updates) and the version check in the UPDATE turns
+     * a concurrent write into an optimistic locking failure. When
+     * {@code expectedVersions} is non-null the current version must be one of them.
+     */
+    @Transactional
+    public Employee patchEmployee(Long id, Map<String, Object> changes, Set<Long> expectedVersions) {
+        logger.info("🩹 Patching employee ID: {} fields: {}", id, changes.keySet());
+        for (String field : changes.keySet()) {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Field cannot be patched: " + field);
             }
         }
-        if (data.containsKey("status"))
-            e.setStatus((String) data.get("status"));
-        return e;
-    }
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.warn("⚠️ Employee not found for patch ID: {}", id);
+                    return new EmployeeNotFoundException("Not found ID: " + id);
+                });
+        if (expectedVersions != null && !expectedVersions.contains(employee.getVersion())) {
+            logger.warn("⚠️ Stale patch for employee ID: {} (current version {})", id, employee.getVersion());
+            throw new PreconditionFailedException("Employee " + id + " has been modified (current version "
+                    + employee.getVersion() + ")");
+        }
+
+        // Checked before mutating: the query would otherwise auto-flush the new email
+        Object email = changes.get("email");
+        if (email instanceof String newEmail && !newEmail.equals(employee.getEmail())
+                && employeeRepository.existsByEmail(newEmail)) {
+            logger.warn("⚠️ Cannot patch. Email already exists: {}", newEmail);
+            throw new IllegalArgumentException("Email already exists: " + newEmail);
+        }
+
+        EmployeeSnapshot before = EmployeeSnapshot.of(employee);
+        BigDecimal previousSalary = employee.getSalary();
+        try {
+            objectMapper.updateValue(employee, changes);
+        } catch (JsonMappingException e) {
+            throw new IllegalArgumentException("Invalid value: " + e.getOriginalMessage());
+        }
 
-    public Employee createEmployeeFromMap(Map<String, Object> data) {
-        return saveEmployee(convertMapToEmployee(data));
+        Map<String, String> errors = new TreeMap<>();
+        for (ConstraintViolation<Employee> violation : validator.validate(employee)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Validation failed: " + errors);
+        }
+
+        if (previousSalary == null || previousSalary.compareTo(employee.getSalary()) != 0
+                || !payrollService.isCurrent(employee)) {
+            payrollService.applyDeductions(employee);
+        }
+        // Flush so the returned entity carries the incremented version
+        Employee patched = employeeRepository.saveAndFlush(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(before, EmployeeSnapshot.of(patched),
+                employeeRepository.currentTransactionId()));
+        logger.info("✅ Employee ID: {} patched, version {}", id, patched.getVersion());
+        return patched;
     }
 
     public String testDatabaseConnection() {
@@ -178,19 +338,11 @@ public class EmployeeService {
     }
 
     public List<Employee> searchEmployeesByName(String name) {
-        List<Employee> employees = employeeRepository.findByNameContainingIgnoreCase(name);
-        employees.forEach(this::calculateDeductions);
-        return employees;
-    }
-
-    public List<String> getAllPositions() {
-        return employeeRepository.findDistinctPositions();
+        return employeeRepository.findByNameContainingIgnoreCase(name);
     }
 
     public List<Employee> getEmployeesByStatus(String status) {
-        List<Employee> employees = employeeRepository.findByStatus(status);
-        employees.forEach(this::calculateDeductions);
-        return employees;
+        return employeeRepository.findByStatus(status);
     }
 
     public int getEmployeeCount() {
@@ -198,31 +350,18 @@ public class EmployeeService {
     }
 
     public List<Employee> getEmployeesByGender(String gender) {
-        List<Employee> employees = employeeRepository.findByGender(gender);
-        employees.forEach(this::calculateDeductions);
-        return employees;
+        return employeeRepository.findByGender(gender);
     }
 
     public List<Employee> getActiveEmployees() {
-        List<Employee> employees = employeeRepository.findActiveEmployees();
-        employees.forEach(this::calculateDeductions);
-        return employees;
+        return employeeRepository.findActiveEmployees();
     }
 
     public List<Employee> findBySalaryGreaterThan(Double minSalary) {
-        List<Employee> employees = employeeRepository.findBySalaryGreaterThan(BigDecimal.valueOf(minSalary));
-        employees.forEach(this::calculateDeductions);
-        return employees;
+        return employeeRepository.findBySalaryGreaterThan(BigDecimal.valueOf(minSalary));
     }
 
     public List<Employee> findBySalaryBetween(Double minSalary, Double maxSalary) {
-        List<Employee> employees = employeeRepository.findBySalaryBetween(BigDecimal.valueOf(minSalary), BigDecimal.valueOf(maxSalary));
-        employees.forEach(this::calculateDeductions);
-        return employees;
-    }
-
-    public List<Employee> saveAllEmployees(List<Employee> employees) {
-        employees.forEach(this::calculateDeductions);
-        return employeeRepository.saveAll(employees);
+        return employeeRepository.findBySalaryBetween(BigDecimal.valueOf(minSalary), BigDecimal.valueOf(maxSalary));
     }
 }
@@ -0,0 +1,155 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies the active {@link TaxEngine} rules (bonus, PF and slab tax). Deductions
+ * are derived once when an employee is written and stored alongside the row with
+ * the rules version that produced them; reads trust the stored values. When the
+ * rules version changes, stale rows are re-derived in the background.
+ */
+@Service
+public class PayrollService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollService.class);
+
+    // One statement per batch: the employees statement trigger bumps the table_versions
+    // counter only after every row lock is held, so a concurrent single-row edit that
+    // holds its row and waits on the counter cannot deadlock with the batch
+    private static final String UPDATE_DEDUCTIONS_SQL = "UPDATE employees e SET bonus = d.bonus, pf = d.pf, tax = d.tax, "
+            + "deductions_version = ?, version = e.version + 1 "
+            + "FROM unnest(?::bigint[], ?::numeric[], ?::numeric[], ?::numeric[], ?::numeric[]) "
+            + "AS d(id, salary, bonus, pf, tax) WHERE e.id = d.id AND e.salary = d.salary";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaxEngine taxEngine;
+
+    @Autowired
+    private EmployeeLookupService employeeLookupService;
+
+    @Value("${empsync.payroll.rederive-batch-size:500}")
+    private int rederiveBatchSize;
+
+    private final AtomicBoolean rederiving = new AtomicBoolean(false);
+    private final AtomicBoolean rederiveRequested = new AtomicBoolean(false);
+
+    public int getRulesVersion() {
+        return taxEngine.getRules().getVersion();
+    }
+
+    public boolean isCurrent(Employee employee) {
+        return employee.getDeductionsVersion() != null && employee.getDeductionsVersion() == getRulesVersion();
+    }
+
+    public void applyDeductions(Employee employee) {
+        TaxEngine.PayrollRules rules = taxEngine.getRules();
+        long salary = TaxEngine.toPaise(employee.getSalary());
+        employee.setBonus(TaxEngine.fromPaise(rules.bonus(salary)));
+        employee.setPf(TaxEngine.fromPaise(rules.pf(salary)));
+        employee.setTax(TaxEngine.fromPaise(rules.tax(salary)));
+        employee.setDeductionsVersion(rules.getVersion());
+    }
+
+    /**
+     * Walks rows whose deductions were computed under another rules version in id
+     * order and rewrites each batch with one set-based UPDATE in its own
+     * transaction. The salary guard in the UPDATE skips rows whose salary changed
+     * meanwhile; those were already re-derived by the writer. A call made while a pass is running
+     * is not dropped: the running caller makes another pass under the rules then
+     * active, and keeps going until no new request arrived during its last pass.
+     */
+    @Scheduled(fixedDelayString = "${empsync.payroll.rederive-interval-ms:300000}",
+            initialDelayString = "${empsync.payroll.rederive-initial-delay-ms:15000}")
+    public void rederiveStaleDeductions() {
+        rederiveRequested.set(true);
+        // Requested is set before the CAS and checked after the release, so a
+        // request either wins the CAS itself or is seen by the running caller
+        while (rederiveRequested.get() && rederiving.compareAndSet(false, true)) {
+            try {
+                rederiveRequested.set(false);
+                rederivePass();
+            } finally {
+                rederiving.set(false);
+            }
+        }
+    }
+
+    private void rederivePass() {
+        try {
+            TaxEngine.PayrollRules rules = taxEngine.getRules();
+            int rulesVersion = rules.getVersion();
+            long afterId = 0;
+            long updated = 0;
+            while (true) {
+                List<Object[]> batch = employeeRepository.findStaleDeductions(rulesVersion, afterId, Limit.of(rederiveBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                int n = batch.size();
+                long[] salaries = new long[n];
+                for (int i = 0; i < n; i++) {
+                    salaries[i] = TaxEngine.toPaise((BigDecimal) batch.get(i)[1]);
+                }
+                long[] bonus = new long[n];
+                long[] pf = new long[n];
+                long[] tax = new long[n];
+                rules.computeColumn(salaries, bonus, pf, tax);
+
+                Long[] ids = new Long[n];
+                BigDecimal[] salaryColumn = new BigDecimal[n];
+                BigDecimal[] bonusColumn = new BigDecimal[n];
+                BigDecimal[] pfColumn = new BigDecimal[n];
+                BigDecimal[] taxColumn = new BigDecimal[n];
+                for (int i = 0; i < n; i++) {
+                    Object[] row = batch.get(i);
+                    ids[i] = (Long) row[0];
+                    salaryColumn[i] = (BigDecimal) row[1];
+                    bonusColumn[i] = TaxEngine.fromPaise(bonus[i]);
+                    pfColumn[i] = TaxEngine.fromPaise(pf[i]);
+                    taxColumn[i] = TaxEngine.fromPaise(tax[i]);
+                }
+                afterId = ids[n - 1];
+                Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(UPDATE_DEDUCTIONS_SQL, ps -> {
+                    Connection connection = ps.getConnection();
+                    ps.setInt(1, rulesVersion);
+                    ps.setArray(2, connection.createArrayOf("bigint", ids));
+                    ps.setArray(3, connection.createArrayOf("numeric", salaryColumn));
+                    ps.setArray(4, connection.createArrayOf("numeric", bonusColumn));
+                    ps.setArray(5, connection.createArrayOf("numeric", pfColumn));
+                    ps.setArray(6, connection.createArrayOf("numeric", taxColumn));
+                }));
+                updated += rows == null ? 0 : rows;
+            }
+            if (updated > 0) {
+                employeeLookupService.evictAll();
+                logger.info("💰 Re-derived deductions for {} employees (rules version {})", updated, rulesVersion);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Deduction re-derivation failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.spring.restapi.service;
 
+import com.spring.restapi.dto.PerformanceUpdateRequest;
 import com.spring.restapi.models.Performance;
 import com.spring.restapi.models.Employee;
 import com.spring.restapi.repository.PerformanceRepository;
-import com.spring.restapi.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -26,18 +30,21 @@ public class PerformanceService {
     private PerformanceRepository performanceRepository;
 
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private EmployeeLookupService employeeLookupService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public Performance createPerformanceReview(Performance performance) {
         logger.info("CREATING PERFORMANCE REVIEW - Employee ID: {}, Review Period: {}", 
                 performance.getEmployeeId(), performance.getReviewPeriod());
 
-        Optional<Employee> employee = employeeRepository.findById(performance.getEmployeeId());
+        Optional<Employee> employee = employeeLookupService.findById(performance.getEmployeeId());
         if (employee.isEmpty()) {
             throw new IllegalArgumentException("Employee not found with id: " + performance.getEmployeeId());
         }
 
-        Optional<Employee> reviewer = employeeRepository.findById(performance.getReviewerId());
+        Optional<Employee> reviewer = employeeLookupService.findById(performance.getReviewerId());
         if (reviewer.isEmpty()) {
             throw new IllegalArgumentException("Reviewer not found with id: " + performance.getReviewerId());
         }
@@ -57,7 +64,7 @@ public class PerformanceService {
         return savedPerformance;
     }
 
-    public Performance updatePerformanceReview(Long id, Performance performanceDetails) {
+    public Performance updatePerformanceReview(Long id, PerformanceUpdateRequest performanceDetails) {
         logger.info("UPDATING PERFORMANCE REVIEW - ID: {}", id);
 
         Optional<Performance> existingPerformance = performanceRepository.findById(id);
@@ -66,21 +73,7 @@ public class PerformanceService {
         }
 
         Performance performance = existingPerformance.get();
-        
-        performance.setOverallRating(performanceDetails.getOverallRating());
-        performance.setQualityRating(performanceDetails.getQualityRating());
-        performance.setProductivityRating(performanceDetails.getProductivityRating());
-        performance.setTeamworkRating(performanceDetails.getTeamworkRating());
-        performance.setCommunicationRating(performanceDetails.getCommunicationRating());
-        performance.setInitiativeRating(performanceDetails.getInitiativeRating());
-        performance.setStrengths(performanceDetails.getStrengths());
-        performance.setAreasForImprovement(performanceDetails.getAreasForImprovement());
-        performance.setGoals(performanceDetails.getGoals());
-        performance.setEmployeeComments(performanceDetails.getEmployeeComments());
-        performance.setReviewerComments(performanceDetails.getReviewerComments());
-        performance.setStatus(performanceDetails.getStatus());
-        performance.setReviewDate(performanceDetails.getReviewDate());
-        performance.setNextReviewDate(performanceDetails.getNextReviewDate());
+        performanceDetails.applyTo(performance);
 
         Performance savedPerformance = performanceRepository.save(performance);
         logger.info("PERFORMANCE REVIEW UPDATED SUCCESSFULLY - ID: {}", savedPerformance.getId());
@@ -144,6 +137,17 @@ public class PerformanceService {
         return performanceRepository.findByReviewDateBetween(startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
+    public void streamPerformanceByDateRange(LocalDateTime startDate, LocalDateTime endDate, Consumer<? super Performance> sink) {
+        logger.info("STREAMING PERFORMANCE BY DATE RANGE - Start: {}, End: {}", startDate, endDate);
+        try (Stream<Performance> performances = performanceRepository.streamByReviewDateBetween(startDate, endDate)) {
+            performances.forEach(performance -> {
+                sink.accept(performance);
+                entityManager.detach(performance);
+            });
+        }
+    }
+
     public List<Performance> getPendingReviews() {
         logger.info("GETTING PENDING REVIEWS");
         return performanceRepository.findByStatus("Pending");
@@ -0,0 +1,235 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.EmployeeSnapshot;
+import com.spring.restapi.models.Attendance;
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.AttendanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open attendances (checked in, not checked out) held in memory, keyed by
+ * employee id, with live counts per department and location. Built from the
+ * database once the application is ready and then kept current from committed
+ * attendance and employee changes, so "who is in" and "is X checked in" never
+ * query the table. Reads are lock-free; updates are serialized. The cached
+ * {@link Attendance} instances are shared and must not be modified.
+ */
+@Service
+public class PresenceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceIndex.class);
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private EmployeeLookupService employeeLookupService;
+
+    private final Object lock = new Object();
+
+    // Null until the first rebuild completes; replaced whole by later rebuilds
+    private volatile State state;
+
+    // Guarded by lock; non-null while a rebuild is reading the database
+    private List<Object> changesDuringRebuild;
+
+    public boolean isReady() {
+        return state != null;
+    }
+
+    public Optional<Attendance> getActive(Long employeeId) {
+        Presence presence = state.byEmployee.get(employeeId);
+        return presence == null ? Optional.empty() : Optional.of(presence.attendance());
+    }
+
+    public List<Attendance> getActiveAttendances() {
+        List<Attendance> active = new ArrayList<>(state.byEmployee.size());
+        state.byEmployee.values().forEach(presence -> active.add(presence.attendance()));
+        return active;
+    }
+
+    public int getActiveCount() {
+        return state.byEmployee.size();
+    }
+
+    public Map<String, Long> getCountsByDepartment() {
+        return counts(state.byDepartment);
+    }
+
+    public Map<String, Long> getCountsByLocation() {
+        return counts(state.byLocation);
+    }
+
+    // Also resynchronizes with writes made outside the application
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${empsync.presence.index-refresh-interval-ms:600000}",
+            initialDelayString = "${empsync.presence.index-refresh-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (lock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            List<Object[]> rows = attendanceRepository.findActiveAttendancesWithDepartment();
+            State rebuilt = new State();
+            for (Object[] row : rows) {
+                Attendance attendance = (Attendance) row[0];
+                rebuilt.put(new Presence(attendance, key((String) row[1])));
+            }
+            synchronized (lock) {
+                // Changes committed while the query ran may or may not be in its
+                // result; reapplying them is harmless either way
+                for (Object change : changesDuringRebuild) {
+                    apply(rebuilt, change);
+                }
+                changesDuringRebuild = null;
+                state = rebuilt;
+            }
+            logger.info("📍 Presence index rebuilt: {} employees checked in", rebuilt.byEmployee.size());
+        } catch (Exception e) {
+            synchronized (lock) {
+                changesDuringRebuild = null;
+            }
+            logger.error("❌ Failed to rebuild presence index: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        Object change = event;
+        if (AttendanceChangedEvent.CHECK_IN.equals(event.type())) {
+            // Resolved outside the lock; the lookup is cached
+            String department = employeeLookupService.findById(event.employeeId())
+                    .map(Employee::getDepartment)
+                    .orElse(null);
+            change = new Presence(toAttendance(event), key(department));
+        } else if (!AttendanceChangedEvent.CHECK_OUT.equals(event.type())) {
+            return;
+        }
+        record(change);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        for (EmployeeChangedEvent.Change change : event.changes()) {
+            if (change.isDelete() || (!change.isInsert()
+                    && !Objects.equals(change.before().department(), change.after().department()))) {
+                record(change);
+            }
+        }
+    }
+
+    private void record(Object change) {
+        synchronized (lock) {
+            if (state != null) {
+                apply(state, change);
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    // Caller holds lock
+    private static void apply(State state, Object change) {
+        if (change instanceof Presence presence) {
+            state.put(presence);
+        } else if (change instanceof AttendanceChangedEvent checkOut) {
+            state.remove(checkOut.employeeId(), checkOut.attendanceId());
+        } else if (change instanceof EmployeeChangedEvent.Change employee) {
+            EmployeeSnapshot before = employee.before();
+            Presence presence = state.byEmployee.get(before.id());
+            if (presence == null) {
+                return;
+            }
+            state.remove(before.id(), presence.attendance().getId());
+            if (!employee.isDelete()) {
+                state.put(new Presence(presence.attendance(), key(employee.after().department())));
+            }
+        }
+    }
+
+    private static Attendance toAttendance(AttendanceChangedEvent event) {
+        Attendance attendance = new Attendance();
+        attendance.setId(event.attendanceId());
+        attendance.setEmployeeId(event.employeeId());
+        attendance.setDate(event.date());
+        attendance.setWorkDay(event.date().toLocalDate());
+        attendance.setCheckIn(event.checkIn());
+        attendance.setStatus(event.status());
+        attendance.setOvertimeHours(0.0);
+        attendance.setLocation(event.location());
+        attendance.setNotes(event.notes());
+        // Check-ins are inserted with created_at = updated_at = check_in
+        attendance.setCreatedAt(event.checkIn());
+        attendance.setUpdatedAt(event.checkIn());
+        return attendance;
+    }
+
+    private static String key(String group) {
+        return group == null ? "" : group;
+    }
+
+    private static Map<String, Long> counts(Map<String, LongAdder> counters) {
+        Map<String, Long> counts = new TreeMap<>();
+        counters.forEach((group, counter) -> {
+            long count = counter.sum();
+            if (count > 0) {
+                counts.put(group, count);
+            }
+        });
+        return counts;
+    }
+
+    private record Presence(Attendance attendance, String department) {
+
+        String location() {
+            return key(attendance.getLocation());
+        }
+    }
+
+    private static final class State {
+
+        final Map<Long, Presence> byEmployee = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byDepartment = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byLocation = new ConcurrentHashMap<>();
+
+        // An employee has at most one open attendance here: the latest check-in wins
+        void put(Presence presence) {
+            Presence previous = byEmployee.put(presence.attendance().getEmployeeId(), presence);
+            if (previous != null) {
+                count(previous, -1);
+            }
+            count(presence, 1);
+        }
+
+        void remove(Long employeeId, Long attendanceId) {
+            Presence current = byEmployee.get(employeeId);
+            if (current != null && current.attendance().getId().equals(attendanceId)) {
+                byEmployee.remove(employeeId);
+                count(current, -1);
+            }
+        }
+
+        private void count(Presence presence, int delta) {
+            byDepartment.computeIfAbsent(presence.department(), group -> new LongAdder()).add(delta);
+            byLocation.computeIfAbsent(presence.location(), group -> new LongAdder()).add(delta);
+        }
+    }
+}
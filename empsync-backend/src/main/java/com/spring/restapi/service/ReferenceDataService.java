@@ -0,0 +1,226 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.EmployeeSnapshot;
+import com.spring.restapi.dto.ReferenceData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * In-memory dictionary of the departments, positions, statuses and genders in
+ * use. Each value carries the number of employees using it, so committed
+ * employee writes adjust the dictionary without querying; a new snapshot is
+ * published only when a value appears or disappears. A periodic rebuild picks
+ * up writes made by other instances or outside the application.
+ */
+@Service
+public class ReferenceDataService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    // GROUPING() is a bitmask of the columns not grouped in that row's set
+    private static final String BUILD_SQL = "SELECT GROUPING(department, position, status, gender) AS grouping_set, "
+            + "department, position, status, gender, count(*) AS employees FROM employees "
+            + "GROUP BY GROUPING SETS ((department), (position), (status), (gender))";
+
+    private static final int DEPARTMENT_SET = 0b0111;
+    private static final int POSITION_SET = 0b1011;
+    private static final int STATUS_SET = 0b1101;
+    private static final int GENDER_SET = 0b1110;
+
+    private static final Comparator<String> ORDER =
+            String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private Dictionary dictionary = new Dictionary();
+    private long version;
+
+    // Guarded by lock; non-null while a rebuild is reading the database
+    private List<EmployeeChangedEvent> changesDuringRebuild;
+
+    private volatile ReferenceData snapshot = new ReferenceData(0, etag(List.of(), List.of(), List.of(), List.of()),
+            List.of(), List.of(), List.of(), List.of());
+
+    public ReferenceData get() {
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${empsync.reference-data.refresh-interval-ms:300000}",
+            initialDelayString = "${empsync.reference-data.refresh-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (lock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Dictionary rebuilt = new Dictionary();
+            // Repeatable read makes the query see exactly the snapshot read before it
+            TransactionTemplate repeatableRead = new TransactionTemplate(transactionManager);
+            repeatableRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            repeatableRead.setReadOnly(true);
+            TransactionSnapshot snapshot = repeatableRead.execute(status -> {
+                TransactionSnapshot queried = TransactionSnapshot.current(jdbcTemplate);
+                jdbcTemplate.query(BUILD_SQL, rs -> {
+                    long employees = rs.getLong("employees");
+                    switch (rs.getInt("grouping_set")) {
+                        case DEPARTMENT_SET -> rebuilt.departments.add(rs.getString("department"), employees);
+                        case POSITION_SET -> rebuilt.positions.add(rs.getString("position"), employees);
+                        case STATUS_SET -> rebuilt.statuses.add(rs.getString("status"), employees);
+                        case GENDER_SET -> rebuilt.genders.add(rs.getString("gender"), employees);
+                        default -> { }
+                    }
+                });
+                return queried;
+            });
+            synchronized (lock) {
+                // Counts are deltas, so only changes the query did not see are added to its result
+                for (EmployeeChangedEvent event : changesDuringRebuild) {
+                    if (!snapshot.isVisible(event.txid())) {
+                        event.changes().forEach(change -> apply(rebuilt, change));
+                    }
+                }
+                changesDuringRebuild = null;
+                dictionary = rebuilt;
+                publish();
+            }
+        } catch (Exception e) {
+            synchronized (lock) {
+                changesDuringRebuild = null;
+            }
+            logger.error("❌ Failed to rebuild reference data: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        synchronized (lock) {
+            boolean changed = false;
+            for (EmployeeChangedEvent.Change change : event.changes()) {
+                changed |= apply(dictionary, change);
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            if (changed) {
+                publish();
+            }
+        }
+    }
+
+    // Caller holds lock
+    private static boolean apply(Dictionary dictionary, EmployeeChangedEvent.Change change) {
+        boolean changed = apply(dictionary.departments, change, EmployeeSnapshot::department);
+        changed |= apply(dictionary.positions, change, EmployeeSnapshot::position);
+        changed |= apply(dictionary.statuses, change, EmployeeSnapshot::status);
+        changed |= apply(dictionary.genders, change, EmployeeSnapshot::gender);
+        return changed;
+    }
+
+    // Returns true when the set of values changed
+    private static boolean apply(Counts counts, EmployeeChangedEvent.Change change,
+                                 Function<EmployeeSnapshot, String> field) {
+        String before = change.before() == null ? null : field.apply(change.before());
+        String after = change.after() == null ? null : field.apply(change.after());
+        if (change.before() != null && change.after() != null && Objects.equals(before, after)) {
+            return false;
+        }
+        boolean changed = false;
+        if (change.before() != null) {
+            changed = counts.add(before, -1);
+        }
+        if (change.after() != null) {
+            changed |= counts.add(after, 1);
+        }
+        return changed;
+    }
+
+    private void publish() {
+        List<String> departments = dictionary.departments.sortedValues();
+        List<String> positions = dictionary.positions.sortedValues();
+        List<String> statuses = dictionary.statuses.sortedValues();
+        List<String> genders = dictionary.genders.sortedValues();
+        String etag = etag(departments, positions, statuses, genders);
+        if (etag.equals(snapshot.getEtag())) {
+            return;
+        }
+        snapshot = new ReferenceData(++version, etag, departments, positions, statuses, genders);
+        logger.info("📚 Reference data version {}: {} departments, {} positions, {} statuses, {} genders",
+                version, departments.size(), positions.size(), statuses.size(), genders.size());
+    }
+
+    private static String etag(List<String> departments, List<String> positions, List<String> statuses, List<String> genders) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (List<String> values : List.of(departments, positions, statuses, genders)) {
+            for (String value : values) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            digest.update((byte) 1);
+        }
+        return "\"ref-" + HexFormat.of().formatHex(digest.digest(), 0, 12) + "\"";
+    }
+
+    private static final class Dictionary {
+        final Counts departments = new Counts();
+        final Counts positions = new Counts();
+        final Counts statuses = new Counts();
+        final Counts genders = new Counts();
+    }
+
+    // Employees per distinct value; blank values are not reference data
+    private static final class Counts {
+        private final Map<String, Long> counts = new HashMap<>();
+
+        boolean add(String value, long amount) {
+            if (value == null || value.isBlank()) {
+                return false;
+            }
+            long updated = counts.getOrDefault(value, 0L) + amount;
+            if (updated <= 0) {
+                return counts.remove(value) != null;
+            }
+            return counts.put(value, updated) == null;
+        }
+
+        List<String> sortedValues() {
+            List<String> values = new ArrayList<>(counts.keySet());
+            values.sort(ORDER);
+            return List.copyOf(values);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.EmployeeSnapshot;
+import com.spring.restapi.dto.SalaryDistribution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Salary percentiles and histograms per department and position, served from
+ * in-memory sketches. The sketches are built in one unordered pass over
+ * employees and then kept current from committed employee changes, so no
+ * request ever sorts the table. Overall figures merge the department sketches.
+ */
+@Service
+public class SalaryAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalaryAnalyticsService.class);
+
+    private static final String SCAN_SQL = "SELECT department, position, salary FROM employees";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private Map<String, SalarySketch> byDepartment = new HashMap<>();
+    private Map<String, SalarySketch> byPosition = new HashMap<>();
+
+    // Guarded by lock; non-null while a rebuild is scanning employees
+    private List<EmployeeChangedEvent> changesDuringRebuild;
+
+    public SalaryDistribution getOverall(int bins) {
+        synchronized (lock) {
+            return SalarySketch.merge(byDepartment.values()).summarize(bins);
+        }
+    }
+
+    public Map<String, SalaryDistribution> getByDepartment(int bins) {
+        synchronized (lock) {
+            return summarize(byDepartment, bins);
+        }
+    }
+
+    public Map<String, SalaryDistribution> getByPosition(int bins) {
+        synchronized (lock) {
+            return summarize(byPosition, bins);
+        }
+    }
+
+    private static Map<String, SalaryDistribution> summarize(Map<String, SalarySketch> sketches, int bins) {
+        Map<String, SalaryDistribution> distributions = new TreeMap<>();
+        sketches.forEach((group, sketch) -> distributions.put(group, sketch.summarize(bins)));
+        return distributions;
+    }
+
+    // Also resynchronizes with writes made outside the application
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${empsync.analytics.refresh-interval-ms:3600000}",
+            initialDelayString = "${empsync.analytics.refresh-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (lock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Map<String, SalarySketch> departments = new HashMap<>();
+            Map<String, SalarySketch> positions = new HashMap<>();
+            // Inside a transaction the driver honours the fetch size and streams the rows;
+            // repeatable read makes the scan see exactly the snapshot read before it
+            TransactionTemplate repeatableRead = new TransactionTemplate(transactionManager);
+            repeatableRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            repeatableRead.setReadOnly(true);
+            TransactionSnapshot snapshot = repeatableRead.execute(status -> {
+                TransactionSnapshot scanned = TransactionSnapshot.current(jdbcTemplate);
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SCAN_SQL);
+                    statement.setFetchSize(1000);
+                    return statement;
+                }, rs -> {
+                    BigDecimal salary = rs.getBigDecimal("salary");
+                    sketch(departments, rs.getString("department")).add(salary);
+                    sketch(positions, rs.getString("position")).add(salary);
+                });
+                return scanned;
+            });
+            synchronized (lock) {
+                // Adding a salary to a sketch is not idempotent, so only changes the
+                // scan did not see are replayed
+                for (EmployeeChangedEvent event : changesDuringRebuild) {
+                    if (!snapshot.isVisible(event.txid())) {
+                        event.changes().forEach(change -> apply(departments, positions, change));
+                    }
+                }
+                changesDuringRebuild = null;
+                byDepartment = departments;
+                byPosition = positions;
+            }
+            logger.info("📈 Salary sketches rebuilt: {} departments, {} positions", departments.size(), positions.size());
+        } catch (Exception e) {
+            synchronized (lock) {
+                changesDuringRebuild = null;
+            }
+            logger.error("❌ Failed to rebuild salary sketches: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        synchronized (lock) {
+            for (EmployeeChangedEvent.Change change : event.changes()) {
+                apply(byDepartment, byPosition, change);
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        }
+    }
+
+    // Caller holds lock
+    private static void apply(Map<String, SalarySketch> departments, Map<String, SalarySketch> positions,
+                              EmployeeChangedEvent.Change change) {
+        EmployeeSnapshot before = change.before();
+        EmployeeSnapshot after = change.after();
+        if (before != null) {
+            remove(departments, before.department(), before.salary());
+            remove(positions, before.position(), before.salary());
+        }
+        if (after != null) {
+            sketch(departments, after.department()).add(after.salary());
+            sketch(positions, after.position()).add(after.salary());
+        }
+    }
+
+    private static SalarySketch sketch(Map<String, SalarySketch> sketches, String group) {
+        return sketches.computeIfAbsent(group == null ? "" : group, key -> new SalarySketch());
+    }
+
+    private static void remove(Map<String, SalarySketch> sketches, String group, BigDecimal salary) {
+        SalarySketch sketch = sketches.get(group == null ? "" : group);
+        if (sketch != null) {
+            sketch.remove(salary);
+            if (sketch.isEmpty()) {
+                sketches.remove(group == null ? "" : group);
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.SalaryDistribution;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch over salaries with logarithmic buckets (as in
+ * DDSketch): bucket i holds values in (gamma^(i-1), gamma^i], so any quantile
+ * is answered within 1% relative error from about a thousand counters. Unlike
+ * t-digest, counts can be decremented exactly, which lets updates and deletes
+ * be applied incrementally. The smallest and largest salaries are tracked
+ * exactly and quantiles are clamped to them; once every copy of an extreme has
+ * been removed it falls back to its bucket until the next rebuild. Not
+ * thread-safe.
+ */
+final class SalarySketch {
+
+    static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    static final double[] QUANTILES = {0.10, 0.25, 0.50, 0.75, 0.90, 0.99};
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    private BigDecimal total = BigDecimal.ZERO;
+
+    // Exact extremes and how many values equal them; null once removals leave them unknown
+    private BigDecimal min;
+    private long minCount;
+    private BigDecimal max;
+    private long maxCount;
+
+    void add(BigDecimal salary) {
+        update(salary, 1);
+    }
+
+    void remove(BigDecimal salary) {
+        update(salary, -1);
+    }
+
+    static SalarySketch merge(Iterable<SalarySketch> sketches) {
+        SalarySketch merged = new SalarySketch();
+        for (SalarySketch sketch : sketches) {
+            sketch.buckets.forEach((index, bucketCount) -> merged.buckets.merge(index, bucketCount, Long::sum));
+            merged.zeroCount += sketch.zeroCount;
+            merged.count += sketch.count;
+            merged.total = merged.total.add(sketch.total);
+        }
+        merged.min = extreme(sketches, true);
+        merged.max = extreme(sketches, false);
+        for (SalarySketch sketch : sketches) {
+            if (sketch.isEmpty()) {
+                continue;
+            }
+            if (merged.min != null && merged.min.compareTo(sketch.min) == 0) {
+                merged.minCount += sketch.minCount;
+            }
+            if (merged.max != null && merged.max.compareTo(sketch.max) == 0) {
+                merged.maxCount += sketch.maxCount;
+            }
+        }
+        return merged;
+    }
+
+    // Null when any non-empty sketch has lost its exact extreme
+    private static BigDecimal extreme(Iterable<SalarySketch> sketches, boolean lowest) {
+        BigDecimal extreme = null;
+        for (SalarySketch sketch : sketches) {
+            if (sketch.isEmpty()) {
+                continue;
+            }
+            BigDecimal value = lowest ? sketch.min : sketch.max;
+            if (value == null) {
+                return null;
+            }
+            if (extreme == null || (lowest ? value.compareTo(extreme) < 0 : value.compareTo(extreme) > 0)) {
+                extreme = value;
+            }
+        }
+        return extreme;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    private void update(BigDecimal salary, long delta) {
+        if (salary == null) {
+            return;
+        }
+        double value = salary.doubleValue();
+        if (value <= 0) {
+            if (zeroCount + delta < 0) {
+                return;
+            }
+            zeroCount += delta;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+            long updated = buckets.getOrDefault(index, 0L) + delta;
+            if (updated < 0) {
+                // Removing a value that was never added; the next rebuild resynchronizes
+                return;
+            }
+            if (updated == 0) {
+                buckets.remove(index);
+            } else {
+                buckets.put(index, updated);
+            }
+        }
+        count += delta;
+        total = delta > 0 ? total.add(salary) : total.subtract(salary);
+        if (delta > 0) {
+            addExtremes(salary);
+        } else {
+            removeExtremes(salary);
+        }
+    }
+
+    private void addExtremes(BigDecimal salary) {
+        if (count == 1) {
+            min = salary;
+            max = salary;
+            minCount = 1;
+            maxCount = 1;
+            return;
+        }
+        if (min != null) {
+            int compared = salary.compareTo(min);
+            if (compared < 0) {
+                min = salary;
+                minCount = 1;
+            } else if (compared == 0) {
+                minCount++;
+            }
+        }
+        if (max != null) {
+            int compared = salary.compareTo(max);
+            if (compared > 0) {
+                max = salary;
+                maxCount = 1;
+            } else if (compared == 0) {
+                maxCount++;
+            }
+        }
+    }
+
+    private void removeExtremes(BigDecimal salary) {
+        if (count == 0) {
+            min = null;
+            max = null;
+            minCount = 0;
+            maxCount = 0;
+            return;
+        }
+        if (min != null && salary.compareTo(min) == 0 && --minCount == 0) {
+            min = null;
+        }
+        if (max != null && salary.compareTo(max) == 0 && --maxCount == 0) {
+            max = null;
+        }
+    }
+
+    // Midpoint of bucket i in relative terms, which bounds the error by RELATIVE_ACCURACY
+    private static double value(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    double quantile(double q) {
+        return Math.min(Math.max(bucketQuantile(q), min()), max());
+    }
+
+    private double bucketQuantile(double q) {
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return value(bucket.getKey());
+            }
+        }
+        return buckets.isEmpty() ? 0 : value(buckets.lastKey());
+    }
+
+    private double min() {
+        if (min != null) {
+            return min.doubleValue();
+        }
+        return zeroCount > 0 || buckets.isEmpty() ? 0 : value(buckets.firstKey());
+    }
+
+    private double max() {
+        if (max != null) {
+            return max.doubleValue();
+        }
+        return buckets.isEmpty() ? 0 : value(buckets.lastKey());
+    }
+
+    SalaryDistribution summarize(int bins) {
+        if (count == 0) {
+            return new SalaryDistribution(0, BigDecimal.ZERO, null, null, null, Map.of(), List.of(), RELATIVE_ACCURACY);
+        }
+        double min = min();
+        double max = max();
+
+        Map<String, BigDecimal> percentiles = new LinkedHashMap<>();
+        for (double q : QUANTILES) {
+            percentiles.put("p" + Math.round(q * 100), money(quantile(q)));
+        }
+
+        // Equal-width bins over [min, max]; each bucket lands in the bin holding its value
+        long[] counts = new long[bins];
+        double width = (max - min) / bins;
+        counts[0] += zeroCount;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            int bin = width == 0 ? 0 : (int) ((value(bucket.getKey()) - min) / width);
+            counts[Math.max(0, Math.min(bin, bins - 1))] += bucket.getValue();
+        }
+        List<SalaryDistribution.Bin> histogram = new ArrayList<>(bins);
+        for (int i = 0; i < bins; i++) {
+            histogram.add(new SalaryDistribution.Bin(money(min + i * width), money(min + (i + 1) * width), counts[i]));
+        }
+
+        BigDecimal mean = total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        return new SalaryDistribution(count, total, mean, money(min), money(max), percentiles, histogram,
+                RELATIVE_ACCURACY);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
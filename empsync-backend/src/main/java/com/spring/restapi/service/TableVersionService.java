@@ -0,0 +1,36 @@
+package com.spring.restapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Reads the committed change counters kept in table_versions. A single primary
+ * key lookup, cheap enough to run on every conditional GET.
+ */
+@Service
+public class TableVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableVersionService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Empty when the table is not tracked, so callers never serve a stale validator
+    public OptionalLong getVersion(String table) {
+        try {
+            List<Long> versions = jdbcTemplate.queryForList(
+                    "SELECT version FROM table_versions WHERE table_name = ?", Long.class, table);
+            return versions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versions.get(0));
+        } catch (DataAccessException e) {
+            logger.warn("⚠️ Change counter unavailable for {}: {}", table, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+}
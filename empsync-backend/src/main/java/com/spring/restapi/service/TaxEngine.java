@@ -0,0 +1,319 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.config.PayrollRulesProperties;
+import com.spring.restapi.models.TaxSlab;
+import com.spring.restapi.repository.TaxSlabRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Table-driven payroll rules. Slab tables come from configuration and the
+ * tax_slabs table and are compiled into sorted arrays of thresholds evaluated in
+ * paise with long arithmetic. The active rule set is an immutable snapshot that
+ * {@link #reload()} swaps atomically, so rules can change without a restart.
+ */
+@Service
+public class TaxEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaxEngine.class);
+
+    private static final long BASIS_POINTS = 10_000L;
+
+    @Autowired
+    private TaxSlabRepository taxSlabRepository;
+
+    @Autowired
+    private PayrollRulesProperties properties;
+
+    private final AtomicReference<PayrollRules> active = new AtomicReference<>();
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    public PayrollRules getRules() {
+        return active.get();
+    }
+
+    public synchronized PayrollRules reload() {
+        Map<String, List<long[]>> tables = new TreeMap<>();
+        Map<String, String> sources = new LinkedHashMap<>();
+
+        properties.getTaxTables().forEach((key, slabs) -> {
+            String normalized = normalizeKey(key);
+            tables.put(normalized, parseSlabs(key, slabs));
+            sources.put(normalized, "configuration");
+        });
+
+        Map<String, List<long[]>> stored = new LinkedHashMap<>();
+        for (TaxSlab slab : taxSlabRepository.findAllByOrderByFinancialYearAscRegimeAscLowerBoundAsc()) {
+            String key = normalizeKey(slab.getFinancialYear() + "." + slab.getRegime());
+            stored.computeIfAbsent(key, k -> new ArrayList<>())
+                    .add(new long[] { toPaise(slab.getLowerBound()), toBasisPoints(slab.getRatePercent()) });
+        }
+        stored.forEach((key, slabs) -> {
+            tables.put(key, slabs);
+            sources.put(key, "database");
+        });
+
+        String activeKey = selectTable(tables.keySet());
+        String[] parts = activeKey.split("\\.", 2);
+        PayrollRules rules = new PayrollRules(parts[0], parts[1], sources.get(activeKey), tables.get(activeKey),
+                toBasisPoints(properties.getBonusRatePercent()), toBasisPoints(properties.getPfRatePercent()),
+                List.copyOf(tables.keySet()));
+
+        PayrollRules previous = active.getAndSet(rules);
+        if (previous == null || previous.getVersion() != rules.getVersion()) {
+            logger.info("💰 Payroll rules active: {} {} from {} (version {})",
+                    rules.getFinancialYear(), rules.getRegime(), rules.getSource(), rules.getVersion());
+        }
+        return rules;
+    }
+
+    @Transactional
+    public void replaceTable(String financialYear, String regime, List<TaxSlab> slabs) {
+        String normalizedRegime = regime.trim().toUpperCase(Locale.ROOT);
+        List<long[]> compiled = new ArrayList<>();
+        for (TaxSlab slab : slabs) {
+            compiled.add(new long[] { toPaise(slab.getLowerBound()), toBasisPoints(slab.getRatePercent()) });
+        }
+        compile(compiled); // validate before touching the table
+
+        taxSlabRepository.deleteTable(financialYear, normalizedRegime);
+        taxSlabRepository.flush();
+        for (TaxSlab slab : slabs) {
+            taxSlabRepository.save(new TaxSlab(financialYear, normalizedRegime, slab.getLowerBound(), slab.getRatePercent()));
+        }
+    }
+
+    private String selectTable(Set<String> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No tax tables configured");
+        }
+        String regime = properties.getTaxRegime().trim().toUpperCase(Locale.ROOT);
+        String financialYear = properties.getFinancialYear();
+        if (financialYear == null || financialYear.isBlank()) {
+            financialYear = currentFinancialYear();
+        }
+
+        String exact = financialYear + "." + regime;
+        if (keys.contains(exact)) {
+            return exact;
+        }
+        // Fall back to the latest table for the regime that is not in the future
+        String best = null;
+        for (String key : keys) {
+            if (key.endsWith("." + regime) && key.compareTo(exact) <= 0) {
+                best = key;
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("No tax table for regime " + regime + " on or before " + financialYear);
+        }
+        return best;
+    }
+
+    static String currentFinancialYear() {
+        LocalDate today = LocalDate.now();
+        int start = today.getMonthValue() >= Month.APRIL.getValue() ? today.getYear() : today.getYear() - 1;
+        return String.format("%d-%02d", start, (start + 1) % 100);
+    }
+
+    private static String normalizeKey(String key) {
+        int dot = key.lastIndexOf('.');
+        if (dot <= 0 || dot == key.length() - 1) {
+            throw new IllegalArgumentException("Tax table key must look like <financialYear>.<REGIME>: " + key);
+        }
+        return key.substring(0, dot).trim() + "." + key.substring(dot + 1).trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static List<long[]> parseSlabs(String key, String slabs) {
+        List<long[]> parsed = new ArrayList<>();
+        for (String slab : slabs.split(",")) {
+            String[] pair = slab.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid slab '" + slab + "' in tax table " + key);
+            }
+            parsed.add(new long[] { toPaise(new BigDecimal(pair[0].trim())), toBasisPoints(new BigDecimal(pair[1].trim())) });
+        }
+        return parsed;
+    }
+
+    public static long toPaise(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal fromPaise(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    private static int toBasisPoints(BigDecimal percent) {
+        return percent.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    // Rounds half up; amount and basis points are never negative here
+    private static long applyRate(long amountPaise, long basisPoints) {
+        return (Math.multiplyExact(amountPaise, basisPoints) + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+
+    // Sorts slabs, ensures a zero threshold and precomputes the tax owed at each threshold
+    private static long[][] compile(List<long[]> slabs) {
+        long[][] sorted = slabs.toArray(new long[0][]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a[0], b[0]));
+        boolean zeroBased = sorted.length > 0 && sorted[0][0] == 0;
+        int n = sorted.length + (zeroBased ? 0 : 1);
+
+        long[] thresholds = new long[n];
+        long[] rates = new long[n];
+        int offset = zeroBased ? 0 : 1;
+        for (int i = 0; i < sorted.length; i++) {
+            thresholds[i + offset] = sorted[i][0];
+            rates[i + offset] = sorted[i][1];
+            if (sorted[i][0] < 0 || sorted[i][1] < 0 || sorted[i][1] > BASIS_POINTS) {
+                throw new IllegalArgumentException("Tax slabs need non-negative bounds and rates between 0 and 100%");
+            }
+            if (i > 0 && sorted[i][0] == sorted[i - 1][0]) {
+                throw new IllegalArgumentException("Duplicate tax slab lower bound: " + fromPaise(sorted[i][0]));
+            }
+        }
+
+        long[] baseTax = new long[n];
+        for (int i = 1; i < n; i++) {
+            baseTax[i] = baseTax[i - 1] + applyRate(thresholds[i] - thresholds[i - 1], rates[i - 1]);
+        }
+        return new long[][] { thresholds, rates, baseTax };
+    }
+
+    /**
+     * Immutable, compiled rule set. All amounts are in paise.
+     */
+    public static final class PayrollRules {
+
+        private final String financialYear;
+        private final String regime;
+        private final String source;
+        private final long[] thresholds;
+        private final long[] rates;
+        private final long[] baseTax;
+        private final long bonusRate;
+        private final long pfRate;
+        private final int version;
+        private final List<String> availableTables;
+
+        private PayrollRules(String financialYear, String regime, String source, List<long[]> slabs,
+                             int bonusRate, int pfRate, List<String> availableTables) {
+            long[][] compiled = compile(slabs);
+            this.financialYear = financialYear;
+            this.regime = regime;
+            this.source = source;
+            this.thresholds = compiled[0];
+            this.rates = compiled[1];
+            this.baseTax = compiled[2];
+            this.bonusRate = bonusRate;
+            this.pfRate = pfRate;
+            this.availableTables = availableTables;
+            this.version = fingerprint();
+        }
+
+        // Stable across restarts and only changes when the effective rules change
+        private int fingerprint() {
+            CRC32 crc = new CRC32();
+            crc.update((financialYear + "|" + regime + "|" + bonusRate + "|" + pfRate).getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < thresholds.length; i++) {
+                crc.update((";" + thresholds[i] + ":" + rates[i]).getBytes(StandardCharsets.UTF_8));
+            }
+            return (int) crc.getValue();
+        }
+
+        public long tax(long salaryPaise) {
+            int slab = slabFor(salaryPaise);
+            return slab < 0 ? 0 : baseTax[slab] + applyRate(salaryPaise - thresholds[slab], rates[slab]);
+        }
+
+        public long bonus(long salaryPaise) {
+            return applyRate(salaryPaise, bonusRate);
+        }
+
+        public long pf(long salaryPaise) {
+            return applyRate(salaryPaise, pfRate);
+        }
+
+        /**
+         * Computes deductions for a whole salary column in one pass. Output arrays
+         * must be at least as long as {@code salaryPaise}.
+         */
+        public void computeColumn(long[] salaryPaise, long[] bonusOut, long[] pfOut, long[] taxOut) {
+            long[] thresholds = this.thresholds;
+            long[] rates = this.rates;
+            long[] baseTax = this.baseTax;
+            int last = thresholds.length - 1;
+            for (int i = 0; i < salaryPaise.length; i++) {
+                long salary = salaryPaise[i];
+                bonusOut[i] = applyRate(salary, bonusRate);
+                pfOut[i] = applyRate(salary, pfRate);
+                int slab = last;
+                while (slab >= 0 && salary <= thresholds[slab]) {
+                    slab--;
+                }
+                taxOut[i] = slab < 0 ? 0 : baseTax[slab] + applyRate(salary - thresholds[slab], rates[slab]);
+            }
+        }
+
+        // Index of the highest threshold strictly below the salary, or -1
+        private int slabFor(long salaryPaise) {
+            int low = 0;
+            int high = thresholds.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (thresholds[mid] < salaryPaise) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        public String getFinancialYear() { return financialYear; }
+        public String getRegime() { return regime; }
+        public String getSource() { return source; }
+        public int getVersion() { return version; }
+        public List<String> getAvailableTables() { return availableTables; }
+        public BigDecimal getBonusRatePercent() { return BigDecimal.valueOf(bonusRate, 2); }
+        public BigDecimal getPfRatePercent() { return BigDecimal.valueOf(pfRate, 2); }
+
+        public List<Map<String, Object>> getSlabs() {
+            List<Map<String, Object>> slabs = new ArrayList<>(thresholds.length);
+            for (int i = 0; i < thresholds.length; i++) {
+                Map<String, Object> slab = new LinkedHashMap<>();
+                slab.put("lowerBound", fromPaise(thresholds[i]));
+                slab.put("ratePercent", BigDecimal.valueOf(rates[i], 2));
+                slabs.add(slab);
+            }
+            return slabs;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.spring.restapi.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A pg_snapshot in its text form {@code xmin:xmax:xip,...}. A committed
+ * transaction is visible to it unless it was still running when it was
+ * taken: at or past xmax, or listed in xip. Services that rebuild in-memory
+ * state from a query read one in the same repeatable-read transaction, then
+ * replay only the {@link EmployeeChangedEvent}s it does not include.
+ */
+record TransactionSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+    private static final String CURRENT_SQL = "SELECT CAST(pg_current_snapshot() AS text)";
+
+    // Under repeatable read, the snapshot every later query in the transaction sees
+    static TransactionSnapshot current(JdbcTemplate jdbcTemplate) {
+        return parse(jdbcTemplate.queryForObject(CURRENT_SQL, String.class));
+    }
+
+    static TransactionSnapshot parse(String text) {
+        String[] parts = text.split(":", -1);
+        Set<Long> inProgress = parts[2].isEmpty() ? Set.of()
+                : Arrays.stream(parts[2].split(",")).map(Long::valueOf).collect(Collectors.toSet());
+        return new TransactionSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+    }
+
+    boolean isVisible(long txid) {
+        return txid < xmin || (txid < xmax && !inProgress.contains(txid));
+    }
+}
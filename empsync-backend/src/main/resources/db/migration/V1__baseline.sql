@@ -0,0 +1,95 @@
+-- Schema as previously created by Hibernate (ddl-auto=update). Idempotent so it
+-- also applies cleanly to databases that were created that way; those are
+-- baselined at version 0 (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS employees (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(100)   NOT NULL,
+    email      VARCHAR(100)   NOT NULL,
+    phone      VARCHAR(15),
+    department VARCHAR(50)    NOT NULL,
+    position   VARCHAR(50)    NOT NULL,
+    salary     NUMERIC(38, 2) NOT NULL,
+    gender     VARCHAR(10),
+    join_date  DATE           NOT NULL,
+    address    VARCHAR(500),
+    status     VARCHAR(10),
+    bonus      NUMERIC(38, 2),
+    pf         NUMERIC(38, 2),
+    tax        NUMERIC(38, 2),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT ukj9xgmd0ya5jmus09o0b8pqrpb UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username             VARCHAR(50)  NOT NULL,
+    password             VARCHAR(255) NOT NULL,
+    email                VARCHAR(100) NOT NULL,
+    name                 VARCHAR(100) NOT NULL,
+    role                 VARCHAR(20),
+    user_type            VARCHAR(20),
+    department           VARCHAR(50),
+    position             VARCHAR(50),
+    phone_number         VARCHAR(15),
+    employee_id          VARCHAR(20),
+    status               VARCHAR(20),
+    email_verified       BOOLEAN,
+    verification_sent_at TIMESTAMP(6),
+    created_at           TIMESTAMP(6),
+    updated_at           TIMESTAMP(6),
+    CONSTRAINT ukr43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS verification_tokens (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token       VARCHAR(255) NOT NULL,
+    token_type  VARCHAR(255) NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    expiry_date TIMESTAMP(6) NOT NULL,
+    used        BOOLEAN,
+    created_at  TIMESTAMP(6),
+    CONSTRAINT uk6q9nsb665s9f8qajm3j07kd1e UNIQUE (token),
+    CONSTRAINT ukdqp95ggn6gvm865km5muba2o5 UNIQUE (user_id),
+    CONSTRAINT fk54y8mqsnq1rtyf581sfmrbp4f FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS attendance (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id    BIGINT       NOT NULL,
+    date           TIMESTAMP(6) NOT NULL,
+    check_in       TIMESTAMP(6) NOT NULL,
+    check_out      TIMESTAMP(6),
+    status         VARCHAR(20),
+    work_hours     DOUBLE PRECISION,
+    overtime_hours DOUBLE PRECISION,
+    location       VARCHAR(100),
+    notes          VARCHAR(500),
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS performance (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id           BIGINT        NOT NULL,
+    reviewer_id           BIGINT        NOT NULL,
+    review_period         VARCHAR(50)   NOT NULL,
+    overall_rating        INTEGER       NOT NULL CHECK (overall_rating >= 1 AND overall_rating <= 5),
+    productivity_rating   INTEGER CHECK (productivity_rating >= 1 AND productivity_rating <= 5),
+    quality_rating        INTEGER CHECK (quality_rating >= 1 AND quality_rating <= 5),
+    teamwork_rating       INTEGER CHECK (teamwork_rating >= 1 AND teamwork_rating <= 5),
+    communication_rating  INTEGER CHECK (communication_rating >= 1 AND communication_rating <= 5),
+    initiative_rating     INTEGER CHECK (initiative_rating >= 1 AND initiative_rating <= 5),
+    strengths             VARCHAR(1000),
+    areas_for_improvement VARCHAR(1000),
+    goals                 VARCHAR(1000),
+    reviewer_comments     VARCHAR(1000),
+    employee_comments     VARCHAR(1000),
+    status                VARCHAR(20),
+    review_date           TIMESTAMP(6),
+    next_review_date      TIMESTAMP(6),
+    created_at            TIMESTAMP(6),
+    updated_at            TIMESTAMP(6)
+);
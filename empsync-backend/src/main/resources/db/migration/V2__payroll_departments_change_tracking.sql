@@ -0,0 +1,70 @@
+-- Payroll rules: deductions are tagged with the rules version they were derived with
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS deductions_version INTEGER;
+
+-- Optimistic locking and per-employee ETags
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS tax_slabs (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    financial_year VARCHAR(9)     NOT NULL,
+    regime         VARCHAR(20)    NOT NULL,
+    lower_bound    NUMERIC(38, 2) NOT NULL,
+    rate_percent   NUMERIC(5, 2)  NOT NULL,
+    CONSTRAINT uk_tax_slabs_year_regime_bound UNIQUE (financial_year, regime, lower_bound)
+);
+
+CREATE TABLE IF NOT EXISTS departments (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(50) NOT NULL,
+    manager_name VARCHAR(100),
+    description  VARCHAR(500),
+    budget       NUMERIC(15, 2),
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT ukj6cwks7xecs5jov19ro8ge3qk UNIQUE (name)
+);
+
+-- Starting set of departments, formerly seeded by data.sql
+INSERT INTO departments (name, manager_name, description, budget, created_at, updated_at) VALUES
+    ('Engineering', 'Vinit Sahare', 'Software development and infrastructure', 5000000.00, now(), now()),
+    ('HR', 'Anjali Sharma', 'Human resources and recruitment', 1000000.00, now(), now()),
+    ('Marketing', 'Priya Iyer', 'Brand management and growth', 2000000.00, now(), now()),
+    ('Finance', 'Aditya Gupta', 'Financial planning and accounting', 3000000.00, now(), now()),
+    ('IT', 'Sneha Patil', 'Internal IT support and security', 1500000.00, now(), now()),
+    ('Sales', 'Amit Patel', 'Direct sales and relationship management', 4000000.00, now(), now())
+ON CONFLICT (name) DO NOTHING;
+
+-- Maintained incrementally by DepartmentService from employee change events
+CREATE TABLE IF NOT EXISTS department_stats (
+    department   VARCHAR(50) PRIMARY KEY,
+    headcount    BIGINT         NOT NULL,
+    salary_sum   NUMERIC(38, 2) NOT NULL,
+    salary_min   NUMERIC(38, 2),
+    salary_max   NUMERIC(38, 2),
+    male_count   BIGINT         NOT NULL,
+    female_count BIGINT         NOT NULL,
+    other_count  BIGINT         NOT NULL,
+    updated_at   TIMESTAMP(6)
+);
+
+-- Per-table change counters for collection ETags, bumped in the writing transaction
+CREATE TABLE IF NOT EXISTS table_versions (
+    table_name VARCHAR(63) PRIMARY KEY,
+    version    BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE OR REPLACE FUNCTION bump_table_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE table_versions SET version = version + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+INSERT INTO table_versions (table_name) VALUES ('employees') ON CONFLICT DO NOTHING;
+
+DROP TRIGGER IF EXISTS trg_employees_version ON employees;
+CREATE TRIGGER trg_employees_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON employees
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_version();
+
+-- Trigram operator classes for employee search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
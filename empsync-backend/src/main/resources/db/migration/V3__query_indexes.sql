@@ -0,0 +1,31 @@
+-- Indexes behind the hot queries. CONCURRENTLY keeps writes flowing while an
+-- index is built on a large table, so this migration runs outside a transaction.
+
+-- Keyset pagination: (sort column, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_name_id ON employees (name, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_join_date_id ON employees (join_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_salary_id ON employees (salary, id);
+
+-- Filters: equality columns lead, the range column comes last. The leading
+-- columns also serve plain department and status lookups.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_department_salary ON employees (department, salary);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_department_join_date ON employees (department, join_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_department_gender_status ON employees (department, gender, status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_position_salary ON employees (position, salary);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_status_join_date ON employees (status, join_date);
+
+-- Search ranks by trigram distance with ORDER BY ... <-> ... LIMIT, which only
+-- GiST can return in order, so the limit bounds the scan; GiST also serves LIKE.
+-- The larger signature keeps the index selective at a million rows; the
+-- default 12 bytes saturates and turns no-match queries into full scans.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_name_trgm_gist ON employees USING gist (lower(name) gist_trgm_ops(siglen=256));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_email_trgm_gist ON employees USING gist (lower(email) gist_trgm_ops(siglen=256));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_name_prefix ON employees ((lower(name) COLLATE "C"), id);
+
+-- Attendance: per-employee days and date range scans
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attendance_employee_date ON attendance (employee_id, date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attendance_date_id ON attendance (date, id);
+
+-- Performance: per-employee reviews and review date range scans
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_performance_employee_period ON performance (employee_id, review_period);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_performance_review_date_id ON performance (review_date, id);
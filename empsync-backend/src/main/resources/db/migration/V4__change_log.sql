@@ -0,0 +1,58 @@
+-- Append-only log of row changes for the delta sync feed (GET /api/changes).
+-- Written by triggers in the writing transaction, so JDBC batches and writes
+-- made outside the application are captured too. Readers page by (txid, id)
+-- and only up to the oldest transaction still running, which keeps the feed
+-- free of gaps even though transactions commit out of order.
+CREATE TABLE IF NOT EXISTS change_log (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    txid       XID8         NOT NULL DEFAULT pg_current_xact_id(),
+    table_name VARCHAR(63)  NOT NULL,
+    row_id     BIGINT       NOT NULL,
+    operation  VARCHAR(6)   NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_txid_id ON change_log (txid, id);
+
+-- Retention. ChangeFeedService prunes entries older than
+-- empsync.changes.retention-days, oldest first in (txid, id) order, and records
+-- the last pruned position here before deleting anything; a cursor behind it
+-- may have missed changes, so the feed rejects it and the client resyncs.
+CREATE TABLE IF NOT EXISTS change_log_state (
+    name        VARCHAR(63) PRIMARY KEY,
+    pruned_txid XID8        NOT NULL,
+    pruned_id   BIGINT      NOT NULL,
+    pruned_at   TIMESTAMP(6)
+);
+
+-- Statement-level with transition tables: one INSERT per statement, not per row
+CREATE OR REPLACE FUNCTION log_row_changes() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO change_log (table_name, row_id, operation) SELECT TG_TABLE_NAME, id, 'INSERT' FROM new_rows;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO change_log (table_name, row_id, operation) SELECT TG_TABLE_NAME, id, 'UPDATE' FROM new_rows;
+    ELSE
+        INSERT INTO change_log (table_name, row_id, operation) SELECT TG_TABLE_NAME, id, 'DELETE' FROM old_rows;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    tracked TEXT;
+BEGIN
+    FOREACH tracked IN ARRAY ARRAY['employees', 'attendance', 'performance'] LOOP
+        EXECUTE format('DROP TRIGGER IF EXISTS trg_%1$s_log_insert ON %1$s', tracked);
+        EXECUTE format('DROP TRIGGER IF EXISTS trg_%1$s_log_update ON %1$s', tracked);
+        EXECUTE format('DROP TRIGGER IF EXISTS trg_%1$s_log_delete ON %1$s', tracked);
+        EXECUTE format('CREATE TRIGGER trg_%1$s_log_insert AFTER INSERT ON %1$s REFERENCING NEW TABLE AS new_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION log_row_changes()', tracked);
+        EXECUTE format('CREATE TRIGGER trg_%1$s_log_update AFTER UPDATE ON %1$s REFERENCING NEW TABLE AS new_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION log_row_changes()', tracked);
+        EXECUTE format('CREATE TRIGGER trg_%1$s_log_delete AFTER DELETE ON %1$s REFERENCING OLD TABLE AS old_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION log_row_changes()', tracked);
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,78 @@
+-- One attendance record per employee and day, enforced by the database so
+-- check-in, check-out and mark-absent can each be a single statement.
+
+ALTER TABLE attendance ADD COLUMN IF NOT EXISTS work_day DATE;
+UPDATE attendance SET work_day = date::date WHERE work_day IS NULL;
+
+-- Concurrent check-ins could record a day twice. Each such day is merged into
+-- its first record: earliest check-in, latest check-out, hours recomputed. The
+-- original rows are copied to attendance_archive.attendance_duplicates first.
+CREATE SCHEMA IF NOT EXISTS attendance_archive;
+CREATE TABLE IF NOT EXISTS attendance_archive.attendance_duplicates (LIKE attendance);
+
+DO $$
+DECLARE
+    merged BIGINT;
+BEGIN
+    CREATE TEMP TABLE attendance_duplicate_days ON COMMIT DROP AS
+    SELECT employee_id, work_day, min(id) AS keep_id,
+           min(check_in) AS check_in, max(check_out) AS check_out,
+           (array_agg(status ORDER BY check_in NULLS LAST, id))[1] AS status,
+           (array_agg(location ORDER BY id) FILTER (WHERE location IS NOT NULL))[1] AS location,
+           (array_agg(notes ORDER BY id) FILTER (WHERE notes IS NOT NULL))[1] AS notes,
+           max(overtime_hours) AS overtime_hours, min(created_at) AS created_at, max(updated_at) AS updated_at
+    FROM attendance GROUP BY employee_id, work_day HAVING count(*) > 1;
+    GET DIAGNOSTICS merged = ROW_COUNT;
+    IF merged = 0 THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO attendance_archive.attendance_duplicates
+    SELECT a.* FROM attendance a JOIN attendance_duplicate_days d USING (employee_id, work_day);
+
+    -- Hours as check-out computes them: whole minutes, overtime beyond 8 hours
+    UPDATE attendance a SET
+        check_in = d.check_in,
+        check_out = CASE WHEN d.check_out >= d.check_in THEN d.check_out END,
+        work_hours = CASE WHEN d.check_out >= d.check_in
+                          THEN floor(extract(epoch FROM (d.check_out - d.check_in)) / 60) / 60.0 END,
+        overtime_hours = CASE WHEN d.check_out >= d.check_in
+                                   AND floor(extract(epoch FROM (d.check_out - d.check_in)) / 60) / 60.0 > 8
+                              THEN floor(extract(epoch FROM (d.check_out - d.check_in)) / 60) / 60.0 - 8
+                              ELSE d.overtime_hours END,
+        status = d.status, location = d.location, notes = d.notes,
+        created_at = d.created_at, updated_at = d.updated_at
+    FROM attendance_duplicate_days d WHERE a.id = d.keep_id;
+
+    DELETE FROM attendance a USING attendance_duplicate_days d
+    WHERE a.employee_id = d.employee_id AND a.work_day = d.work_day AND a.id <> d.keep_id;
+
+    RAISE NOTICE 'merged % attendance days recorded more than once; originals in attendance_archive.attendance_duplicates', merged;
+END;
+$$;
+
+ALTER TABLE attendance ALTER COLUMN work_day SET NOT NULL;
+
+-- Absences have no check-in time
+ALTER TABLE attendance ALTER COLUMN check_in DROP NOT NULL;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_attendance_employee_work_day') THEN
+        ALTER TABLE attendance ADD CONSTRAINT uk_attendance_employee_work_day UNIQUE (employee_id, work_day);
+    END IF;
+
+    -- NOT VALID checks new rows only; existing rows of deleted employees are
+    -- left alone here. V8 moves them to attendance_archive.attendance_orphans
+    -- and adds the constraint validated on the partitioned table. No cascade:
+    -- EmployeeService marks an employee with attendance Inactive instead of
+    -- deleting them, so the history is kept.
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_attendance_employee') THEN
+        ALTER TABLE attendance ADD CONSTRAINT fk_attendance_employee FOREIGN KEY (employee_id)
+            REFERENCES employees (id) NOT VALID;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM attendance a WHERE NOT EXISTS (SELECT 1 FROM employees e WHERE e.id = a.employee_id)) THEN
+        ALTER TABLE attendance VALIDATE CONSTRAINT fk_attendance_employee;
+    END IF;
+END;
+$$;
@@ -0,0 +1,5 @@
+-- Open attendances (checked in, not yet checked out) are a small slice of the
+-- table; a partial index keeps the presence index rebuild and the per-employee
+-- fallback from scanning every closed day. Runs outside a transaction, as V3.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attendance_open ON attendance (employee_id)
+    WHERE check_in IS NOT NULL AND check_out IS NULL;
@@ -0,0 +1,149 @@
+-- Attendance rollups behind the stats endpoints. The per-employee tables are
+-- kept current by a trigger in the writing transaction; the per-department
+-- tables are rebuilt by the nightly compaction up to compacted_through, and
+-- readers count later days from attendance itself.
+CREATE TABLE IF NOT EXISTS attendance_employee_daily (
+    employee_id    BIGINT           NOT NULL,
+    work_day       DATE             NOT NULL,
+    records        INTEGER          NOT NULL,
+    hours_count    INTEGER          NOT NULL,
+    work_hours     DOUBLE PRECISION NOT NULL,
+    overtime_hours DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (employee_id, work_day)
+);
+
+CREATE TABLE IF NOT EXISTS attendance_employee_monthly (
+    employee_id    BIGINT           NOT NULL,
+    month          DATE             NOT NULL,
+    records        INTEGER          NOT NULL,
+    hours_count    INTEGER          NOT NULL,
+    work_hours     DOUBLE PRECISION NOT NULL,
+    overtime_hours DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (employee_id, month)
+);
+
+CREATE TABLE IF NOT EXISTS attendance_department_daily (
+    department  VARCHAR(50)      NOT NULL,
+    work_day    DATE             NOT NULL,
+    status      VARCHAR(20)      NOT NULL,
+    records     INTEGER          NOT NULL,
+    hours_count INTEGER          NOT NULL,
+    work_hours  DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (department, work_day, status)
+);
+
+CREATE INDEX IF NOT EXISTS idx_attendance_department_daily_day ON attendance_department_daily (work_day);
+
+CREATE TABLE IF NOT EXISTS attendance_department_monthly (
+    department  VARCHAR(50)      NOT NULL,
+    month       DATE             NOT NULL,
+    status      VARCHAR(20)      NOT NULL,
+    records     INTEGER          NOT NULL,
+    hours_count INTEGER          NOT NULL,
+    work_hours  DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (department, month, status)
+);
+
+CREATE INDEX IF NOT EXISTS idx_attendance_department_monthly_month ON attendance_department_monthly (month);
+
+CREATE TABLE IF NOT EXISTS attendance_rollup_state (
+    name              VARCHAR(63) PRIMARY KEY,
+    compacted_through DATE,
+    compacted_at      TIMESTAMP(6)
+);
+
+-- Backfill
+INSERT INTO attendance_employee_daily (employee_id, work_day, records, hours_count, work_hours, overtime_hours)
+SELECT employee_id, work_day, count(*), count(work_hours), COALESCE(sum(work_hours), 0), COALESCE(sum(overtime_hours), 0)
+FROM attendance GROUP BY employee_id, work_day
+ON CONFLICT DO NOTHING;
+
+INSERT INTO attendance_employee_monthly (employee_id, month, records, hours_count, work_hours, overtime_hours)
+SELECT employee_id, date_trunc('month', work_day)::date, sum(records), sum(hours_count), sum(work_hours), sum(overtime_hours)
+FROM attendance_employee_daily GROUP BY employee_id, date_trunc('month', work_day)
+ON CONFLICT DO NOTHING;
+
+INSERT INTO attendance_department_daily (department, work_day, status, records, hours_count, work_hours)
+SELECT COALESCE(e.department, ''), a.work_day, COALESCE(a.status, ''), count(*), count(a.work_hours), COALESCE(sum(a.work_hours), 0)
+FROM attendance a LEFT JOIN employees e ON e.id = a.employee_id
+WHERE a.work_day < current_date
+GROUP BY COALESCE(e.department, ''), a.work_day, COALESCE(a.status, '')
+ON CONFLICT DO NOTHING;
+
+INSERT INTO attendance_department_monthly (department, month, status, records, hours_count, work_hours)
+SELECT department, date_trunc('month', work_day)::date, status, sum(records), sum(hours_count), sum(work_hours)
+FROM attendance_department_daily GROUP BY department, date_trunc('month', work_day), status
+ON CONFLICT DO NOTHING;
+
+INSERT INTO attendance_rollup_state (name, compacted_through, compacted_at)
+VALUES ('attendance', current_date - 1, now())
+ON CONFLICT DO NOTHING;
+
+-- Statement-level with transition tables, like log_row_changes: a batch of
+-- check-ins or check-outs applies one aggregated delta per employee and day.
+-- It first takes a shared per-day lock on each work day it changes, so writers
+-- never wait for each other; the nightly compaction (AttendanceRollupService)
+-- takes the lock exclusively for the one past day it is rebuilding, so only
+-- late edits to that day wait, never today's punches. Key:
+-- (hashtext('attendance_rollup'), days since 1970-01-01).
+CREATE OR REPLACE FUNCTION rollup_attendance_changes() RETURNS trigger AS $$
+DECLARE
+    changed TEXT;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        changed := 'SELECT 1 AS sign, employee_id, work_day, work_hours, overtime_hours FROM new_rows';
+    ELSIF TG_OP = 'UPDATE' THEN
+        changed := 'SELECT 1 AS sign, employee_id, work_day, work_hours, overtime_hours FROM new_rows '
+                   'UNION ALL SELECT -1, employee_id, work_day, work_hours, overtime_hours FROM old_rows';
+    ELSE
+        changed := 'SELECT -1 AS sign, employee_id, work_day, work_hours, overtime_hours FROM old_rows';
+    END IF;
+
+    EXECUTE format($sql$
+        SELECT pg_advisory_xact_lock_shared(hashtext('attendance_rollup'), work_day - DATE '1970-01-01')
+        FROM (SELECT DISTINCT work_day FROM (%s) changed) days
+        ORDER BY work_day
+    $sql$, changed);
+
+    EXECUTE format($sql$
+        WITH delta AS (
+            SELECT employee_id, work_day,
+                   sum(sign) AS records,
+                   sum(CASE WHEN work_hours IS NULL THEN 0 ELSE sign END) AS hours_count,
+                   sum(sign * COALESCE(work_hours, 0)) AS work_hours,
+                   sum(sign * COALESCE(overtime_hours, 0)) AS overtime_hours
+            FROM (%s) changed
+            GROUP BY employee_id, work_day
+            HAVING sum(sign) <> 0 OR sum(CASE WHEN work_hours IS NULL THEN 0 ELSE sign END) <> 0
+                OR sum(sign * COALESCE(work_hours, 0)) <> 0 OR sum(sign * COALESCE(overtime_hours, 0)) <> 0
+        ), daily AS (
+            INSERT INTO attendance_employee_daily AS r (employee_id, work_day, records, hours_count, work_hours, overtime_hours)
+            SELECT employee_id, work_day, records, hours_count, work_hours, overtime_hours FROM delta
+            ON CONFLICT (employee_id, work_day) DO UPDATE SET
+                records = r.records + EXCLUDED.records,
+                hours_count = r.hours_count + EXCLUDED.hours_count,
+                work_hours = r.work_hours + EXCLUDED.work_hours,
+                overtime_hours = r.overtime_hours + EXCLUDED.overtime_hours
+        )
+        INSERT INTO attendance_employee_monthly AS r (employee_id, month, records, hours_count, work_hours, overtime_hours)
+        SELECT employee_id, date_trunc('month', work_day)::date, sum(records), sum(hours_count), sum(work_hours), sum(overtime_hours)
+        FROM delta GROUP BY employee_id, date_trunc('month', work_day)
+        ON CONFLICT (employee_id, month) DO UPDATE SET
+            records = r.records + EXCLUDED.records,
+            hours_count = r.hours_count + EXCLUDED.hours_count,
+            work_hours = r.work_hours + EXCLUDED.work_hours,
+            overtime_hours = r.overtime_hours + EXCLUDED.overtime_hours
+    $sql$, changed);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_attendance_rollup_insert ON attendance;
+DROP TRIGGER IF EXISTS trg_attendance_rollup_update ON attendance;
+DROP TRIGGER IF EXISTS trg_attendance_rollup_delete ON attendance;
+CREATE TRIGGER trg_attendance_rollup_insert AFTER INSERT ON attendance REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION rollup_attendance_changes();
+CREATE TRIGGER trg_attendance_rollup_update AFTER UPDATE ON attendance REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION rollup_attendance_changes();
+CREATE TRIGGER trg_attendance_rollup_delete AFTER DELETE ON attendance REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION rollup_attendance_changes();
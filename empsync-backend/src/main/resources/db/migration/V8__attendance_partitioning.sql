@@ -0,0 +1,127 @@
+-- Monthly range partitions of attendance on date (midnight of work_day), so
+-- date-bounded queries only touch the months they cover and retention can
+-- detach whole months. Unique keys of a partitioned table must include the
+-- partition key, hence (id, date) and (employee_id, work_day, date); a check
+-- holds date to midnight of work_day, so the one-record-per-day rule is unchanged.
+
+CREATE SCHEMA IF NOT EXISTS attendance_archive;
+
+-- Creates the partition for the month containing the given day if missing.
+-- Used by this migration and by AttendancePartitionService; concurrent callers
+-- for a missing month are serialized, so only one creates it.
+CREATE OR REPLACE FUNCTION ensure_attendance_partition(day DATE) RETURNS TEXT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', day)::date;
+    partition   TEXT := format('attendance_p%s', to_char(month_start, 'YYYY_MM'));
+BEGIN
+    IF to_regclass(format('public.%I', partition)) IS NOT NULL THEN
+        RETURN partition;
+    END IF;
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_attendance_partition'));
+    IF to_regclass(format('public.%I', partition)) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF attendance FOR VALUES FROM (%L) TO (%L)',
+                       partition, month_start::timestamp, (month_start + INTERVAL '1 month')::timestamp);
+    END IF;
+    RETURN partition;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    first_month DATE;
+    month       DATE;
+    next_id     BIGINT;
+    orphans     BIGINT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'attendance'::regclass) THEN
+        RETURN;
+    END IF;
+
+    CREATE TABLE attendance_partitioned (
+        id             BIGINT       NOT NULL,
+        employee_id    BIGINT       NOT NULL,
+        date           TIMESTAMP(6) NOT NULL,
+        work_day       DATE         NOT NULL,
+        check_in       TIMESTAMP(6),
+        check_out      TIMESTAMP(6),
+        status         VARCHAR(20),
+        work_hours     DOUBLE PRECISION,
+        overtime_hours DOUBLE PRECISION,
+        location       VARCHAR(100),
+        notes          VARCHAR(500),
+        created_at     TIMESTAMP(6),
+        updated_at     TIMESTAMP(6)
+    ) PARTITION BY RANGE (date);
+
+    -- Rows of employees deleted before V5 (its FK stayed NOT VALID for them)
+    -- move to the archive schema, so fk_attendance_employee is always enforced
+    CREATE TABLE IF NOT EXISTS attendance_archive.attendance_orphans (LIKE attendance_partitioned);
+    WITH moved AS (
+        DELETE FROM attendance a WHERE NOT EXISTS (SELECT 1 FROM employees e WHERE e.id = a.employee_id)
+        RETURNING a.*
+    )
+    INSERT INTO attendance_archive.attendance_orphans (id, employee_id, date, work_day, check_in, check_out, status,
+                                                      work_hours, overtime_hours, location, notes, created_at, updated_at)
+    SELECT id, employee_id, date, work_day, check_in, check_out, status, work_hours,
+           overtime_hours, location, notes, created_at, updated_at
+    FROM moved;
+    GET DIAGNOSTICS orphans = ROW_COUNT;
+    IF orphans > 0 THEN
+        RAISE NOTICE 'moved % attendance rows of deleted employees to attendance_archive.attendance_orphans', orphans;
+    END IF;
+
+    SELECT COALESCE(date_trunc('month', min(date))::date, date_trunc('month', current_date)::date),
+           COALESCE(max(id), 0) + 1
+    INTO first_month, next_id FROM attendance;
+    -- Ids of moved rows are not handed out again
+    SELECT GREATEST(next_id, COALESCE(max(id), 0) + 1) INTO next_id FROM attendance_archive.attendance_orphans;
+
+    month := first_month;
+    WHILE month <= date_trunc('month', current_date) + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF attendance_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       format('attendance_p%s', to_char(month, 'YYYY_MM')),
+                       month::timestamp, (month + INTERVAL '1 month')::timestamp);
+        month := month + INTERVAL '1 month';
+    END LOOP;
+
+    INSERT INTO attendance_partitioned (id, employee_id, date, work_day, check_in, check_out, status, work_hours,
+                                        overtime_hours, location, notes, created_at, updated_at)
+    SELECT id, employee_id, work_day::timestamp, work_day, check_in, check_out, status, work_hours,
+           overtime_hours, location, notes, created_at, updated_at
+    FROM attendance;
+
+    -- Drops the old triggers, indexes and identity sequence with it
+    DROP TABLE attendance;
+    ALTER TABLE attendance_partitioned RENAME TO attendance;
+
+    -- Identity columns on partitioned tables need PostgreSQL 17; a sequence default behaves the same
+    CREATE SEQUENCE attendance_id_seq OWNED BY attendance.id;
+    PERFORM setval('attendance_id_seq', next_id, false);
+    ALTER TABLE attendance ALTER COLUMN id SET DEFAULT nextval('attendance_id_seq');
+
+    ALTER TABLE attendance ADD CONSTRAINT attendance_pkey PRIMARY KEY (id, date);
+    ALTER TABLE attendance ADD CONSTRAINT uk_attendance_employee_work_day UNIQUE (employee_id, work_day, date);
+    -- The unique key only means one record per day while date is that day's midnight
+    ALTER TABLE attendance ADD CONSTRAINT ck_attendance_date_work_day CHECK (date = work_day::timestamp);
+    CREATE INDEX idx_attendance_employee_date ON attendance (employee_id, date);
+    CREATE INDEX idx_attendance_date_id ON attendance (date, id);
+    CREATE INDEX idx_attendance_open ON attendance (employee_id) WHERE check_in IS NOT NULL AND check_out IS NULL;
+
+    ALTER TABLE attendance ADD CONSTRAINT fk_attendance_employee FOREIGN KEY (employee_id)
+        REFERENCES employees (id);
+
+    -- Statement-level triggers on the partitioned table see rows of every partition
+    CREATE TRIGGER trg_attendance_log_insert AFTER INSERT ON attendance REFERENCING NEW TABLE AS new_rows
+        FOR EACH STATEMENT EXECUTE FUNCTION log_row_changes();
+    CREATE TRIGGER trg_attendance_log_update AFTER UPDATE ON attendance REFERENCING NEW TABLE AS new_rows
+        FOR EACH STATEMENT EXECUTE FUNCTION log_row_changes();
+    CREATE TRIGGER trg_attendance_log_delete AFTER DELETE ON attendance REFERENCING OLD TABLE AS old_rows
+        FOR EACH STATEMENT EXECUTE FUNCTION log_row_changes();
+    CREATE TRIGGER trg_attendance_rollup_insert AFTER INSERT ON attendance REFERENCING NEW TABLE AS new_rows
+        FOR EACH STATEMENT EXECUTE FUNCTION rollup_attendance_changes();
+    CREATE TRIGGER trg_attendance_rollup_update AFTER UPDATE ON attendance REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+        FOR EACH STATEMENT EXECUTE FUNCTION rollup_attendance_changes();
+    CREATE TRIGGER trg_attendance_rollup_delete AFTER DELETE ON attendance REFERENCING OLD TABLE AS old_rows
+        FOR EACH STATEMENT EXECUTE FUNCTION rollup_attendance_changes();
+END;
+$$;
@@ -0,0 +1,41 @@
+-- Months of past attendance changed since they were written to the columnar
+-- archive (AttendanceArchiveService). Trend queries read a marked month from
+-- attendance until the export has written it again and cleared the mark.
+CREATE TABLE IF NOT EXISTS attendance_archive_dirty (
+    month     DATE         PRIMARY KEY,
+    marked_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+-- Punches only touch the current month, so the live path inserts nothing
+CREATE OR REPLACE FUNCTION mark_attendance_archive_dirty() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO attendance_archive_dirty (month)
+        SELECT DISTINCT date_trunc('month', work_day)::date FROM new_rows
+        WHERE work_day < date_trunc('month', current_date)
+        ON CONFLICT (month) DO NOTHING;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO attendance_archive_dirty (month)
+        SELECT DISTINCT date_trunc('month', work_day)::date
+        FROM (SELECT work_day FROM new_rows UNION ALL SELECT work_day FROM old_rows) changed
+        WHERE work_day < date_trunc('month', current_date)
+        ON CONFLICT (month) DO NOTHING;
+    ELSE
+        INSERT INTO attendance_archive_dirty (month)
+        SELECT DISTINCT date_trunc('month', work_day)::date FROM old_rows
+        WHERE work_day < date_trunc('month', current_date)
+        ON CONFLICT (month) DO NOTHING;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_attendance_archive_insert ON attendance;
+DROP TRIGGER IF EXISTS trg_attendance_archive_update ON attendance;
+DROP TRIGGER IF EXISTS trg_attendance_archive_delete ON attendance;
+CREATE TRIGGER trg_attendance_archive_insert AFTER INSERT ON attendance REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION mark_attendance_archive_dirty();
+CREATE TRIGGER trg_attendance_archive_update AFTER UPDATE ON attendance REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION mark_attendance_archive_dirty();
+CREATE TRIGGER trg_attendance_archive_delete AFTER DELETE ON attendance REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION mark_attendance_archive_dirty();
@@ -0,0 +1,40 @@
+package com.spring.restapi.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeCursorTest {
+
+    @Test
+    void roundTrips() {
+        ChangeCursor decoded = ChangeCursor.decode(new ChangeCursor(9_000_000_123L, 77).encode());
+
+        assertThat(decoded.getTxid()).isEqualTo(9_000_000_123L);
+        assertThat(decoded.getId()).isEqualTo(77);
+    }
+
+    @Test
+    void startsFromTheBeginningWithoutAToken() {
+        assertThat(ChangeCursor.decode(null)).isSameAs(ChangeCursor.START);
+        assertThat(ChangeCursor.decode("  ")).isSameAs(ChangeCursor.START);
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        for (String token : new String[] { "%%%", encodeRaw("c0|1|2"), encodeRaw("c1|1"),
+                encodeRaw("c1|-1|2"), encodeRaw("c1|1|x") }) {
+            assertThatThrownBy(() -> ChangeCursor.decode(token))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Invalid cursor");
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
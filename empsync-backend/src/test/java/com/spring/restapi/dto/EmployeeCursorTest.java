@@ -0,0 +1,98 @@
+package com.spring.restapi.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class EmployeeCursorTest {
+
+    @Test
+    void roundTripsEachSortKey() {
+        assertRoundTrip(EmployeeCursor.first("name", "asc").after(42L, "Zoë | O'Brien"), "Zoë | O'Brien");
+        assertRoundTrip(EmployeeCursor.first("joinDate", "DESC").after(7L, LocalDate.of(2024, 2, 29)), LocalDate.of(2024, 2, 29));
+        assertRoundTrip(EmployeeCursor.first("salary", "desc").after(9L, new BigDecimal("650000.50")), new BigDecimal("650000.50"));
+        assertRoundTrip(EmployeeCursor.first(null, null).after(Long.MAX_VALUE, null), null);
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        String token = EmployeeCursor.first("name", "asc").after(1L, "?>?>~~~ ü").encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void firstPageDefaultsToAscendingById() {
+        EmployeeCursor cursor = EmployeeCursor.first(" ", "");
+
+        assertThat(cursor.getSortKey()).isEqualTo(EmployeeCursor.SORT_ID);
+        assertThat(cursor.getDirection()).isEqualTo(Sort.Direction.ASC);
+        assertThat(cursor.getLastId()).isNull();
+        assertThat(cursor.toScrollPosition()).isEqualTo(ScrollPosition.keyset());
+        assertThat(cursor.toSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    void sortsAndSeeksOnTheSortValueThenId() {
+        EmployeeCursor cursor = EmployeeCursor.first("salary", "desc").after(9L, new BigDecimal("100.00"));
+
+        assertThat(cursor.toSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "salary").and(Sort.by(Sort.Direction.DESC, "id")));
+        KeysetScrollPosition position = (KeysetScrollPosition) cursor.toScrollPosition();
+        assertThat(position.getKeys()).containsExactly(
+                entry("salary", new BigDecimal("100.00")),
+                entry("id", 9L));
+        assertThat(position.scrollsForward()).isTrue();
+    }
+
+    @Test
+    void rejectsUnknownSortKeysAndDirections() {
+        assertThatThrownBy(() -> EmployeeCursor.first("email", "asc"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported sort key");
+        assertThatThrownBy(() -> EmployeeCursor.first("name", "sideways"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported sort direction");
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        assertInvalid("not base64!");
+        assertInvalid(encodeRaw("v0|name|ASC|1|Amit"));
+        assertInvalid(encodeRaw("v1|name|ASC|1"));
+        assertInvalid(encodeRaw("v1|email|ASC|1|a@b.c"));
+        assertInvalid(encodeRaw("v1|name|UP|1|Amit"));
+        assertInvalid(encodeRaw("v1|name|ASC|one|Amit"));
+        assertInvalid(encodeRaw("v1|joinDate|ASC|1|2024-02-30"));
+        assertInvalid(encodeRaw("v1|salary|ASC|1|lots"));
+    }
+
+    private static void assertRoundTrip(EmployeeCursor cursor, Object value) {
+        EmployeeCursor decoded = EmployeeCursor.decode(cursor.encode());
+
+        assertThat(decoded.getSortKey()).isEqualTo(cursor.getSortKey());
+        assertThat(decoded.getDirection()).isEqualTo(cursor.getDirection());
+        assertThat(decoded.getLastId()).isEqualTo(cursor.getLastId());
+        assertThat(decoded.getLastValue()).isEqualTo(value);
+        assertThat(decoded.encode()).isEqualTo(cursor.encode());
+    }
+
+    private static void assertInvalid(String token) {
+        assertThatThrownBy(() -> EmployeeCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
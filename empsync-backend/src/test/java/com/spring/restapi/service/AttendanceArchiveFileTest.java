@@ -0,0 +1,115 @@
+package com.spring.restapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttendanceArchiveFileTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 2);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsEveryColumn() throws IOException {
+        AttendanceArchiveFile file = AttendanceArchiveFile.open(writeSample());
+
+        assertThat(file.getMonth()).isEqualTo(MONTH);
+        assertThat(file.getRows()).isEqualTo(5);
+        assertThat(scan(file, 1, MONTH.lengthOfMonth(), null)).containsExactly(
+                "2|1|480|0|Present",
+                "2|28|-1|-1|null",
+                "3|14|0|0|Absent",
+                // Ids far apart need multi-byte deltas
+                "300|2|555|75|Present",
+                "5000000000|3|1|0|Half Day");
+    }
+
+    @Test
+    void filtersByEmployeeAndDay() throws IOException {
+        AttendanceArchiveFile file = AttendanceArchiveFile.open(writeSample());
+
+        assertThat(scan(file, 1, 28, 2L)).containsExactly("2|1|480|0|Present", "2|28|-1|-1|null");
+        assertThat(scan(file, 2, 14, null)).containsExactly("3|14|0|0|Absent", "300|2|555|75|Present", "5000000000|3|1|0|Half Day");
+        assertThat(scan(file, 1, 28, 4L)).isEmpty();
+    }
+
+    @Test
+    void writesAnEmptyMonth() throws IOException {
+        Path path = directory.resolve("empty.col");
+        new AttendanceArchiveFile.Writer(MONTH).writeTo(path);
+
+        AttendanceArchiveFile file = AttendanceArchiveFile.open(path);
+        assertThat(file.getRows()).isZero();
+        assertThat(scan(file, 1, 28, null)).isEmpty();
+    }
+
+    @Test
+    void detectsCorruptionWithTheChecksum() throws IOException {
+        Path path = writeSample();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 3] ^= 0x01;
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> AttendanceArchiveFile.open(path))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("checksum mismatch");
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path path = directory.resolve("other.col");
+        Files.write(path, new byte[] { 'n', 'o', 'p', 'e' });
+
+        assertThatThrownBy(() -> AttendanceArchiveFile.open(path))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Not an attendance archive file");
+    }
+
+    @Test
+    void writerRejectsRowsOutOfOrderOrOutsideTheMonth() {
+        AttendanceArchiveFile.Writer writer = new AttendanceArchiveFile.Writer(MONTH);
+        writer.add(5, MONTH.atDay(3), 8.0, 0.0, "Present");
+
+        assertThatThrownBy(() -> writer.add(5, MONTH.atDay(3), 8.0, 0.0, "Present"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> writer.add(4, MONTH.atDay(4), 8.0, 0.0, "Present"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> writer.add(6, LocalDate.of(2025, 3, 1), 8.0, 0.0, "Present"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> writer.add(7, MONTH.atDay(1), 1100.0, 0.0, "Present"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path writeSample() throws IOException {
+        AttendanceArchiveFile.Writer writer = new AttendanceArchiveFile.Writer(MONTH);
+        writer.add(2, MONTH.atDay(1), 8.0, 0.0, "Present");
+        writer.add(2, MONTH.atDay(28), null, null, null);
+        writer.add(3, MONTH.atDay(14), 0.0, 0.0, "Absent");
+        writer.add(300, MONTH.atDay(2), 9.25, 1.25, "Present");
+        writer.add(5_000_000_000L, MONTH.atDay(3), 1 / 60.0, 0.0, "Half Day");
+        assertThat(writer.getRows()).isEqualTo(5);
+
+        Path path = directory.resolve("attendance-2025-02.col");
+        writer.writeTo(path);
+        return path;
+    }
+
+    private static List<String> scan(AttendanceArchiveFile file, int fromDay, int toDay, Long employeeId) {
+        List<String> rows = new ArrayList<>();
+        file.scan(fromDay, toDay, employeeId, (id, day, workMinutes, overtimeMinutes, status) ->
+                rows.add(id + "|" + day + "|" + workMinutes + "|" + overtimeMinutes + "|" + status));
+        return rows;
+    }
+}
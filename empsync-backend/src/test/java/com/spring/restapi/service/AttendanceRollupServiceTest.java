@@ -0,0 +1,95 @@
+package com.spring.restapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the employee stats window against in-memory rollups holding one record
+ * of 8 hours for every day of 2026: daily rows per day, monthly rows per month.
+ * Each day in the window must be counted once, from exactly one of the two.
+ */
+class AttendanceRollupServiceTest {
+
+    private static final LocalDate FIRST = LocalDate.of(2026, 1, 1);
+    private static final LocalDate LAST = LocalDate.of(2026, 12, 31);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private AttendanceRollupService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new AttendanceRollupService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> totals(invocation.getArgument(1),
+                        ((Date) invocation.getArgument(3)).toLocalDate(),
+                        ((Date) invocation.getArgument(4)).toLocalDate(),
+                        ((Date) invocation.getArgument(6)).toLocalDate()));
+    }
+
+    @Test
+    void midMonthStartsTakeDailyRowsUpToTheMonthBoundary() {
+        assertThat(service.getEmployeeStats(1L, LocalDateTime.of(2026, 10, 17, 0, 0)))
+                .containsEntry("totalDays", days(LocalDate.of(2026, 10, 17)))
+                .containsEntry("totalWorkHours", 8.0 * days(LocalDate.of(2026, 10, 17)))
+                .containsEntry("averageWorkHours", 8.0);
+    }
+
+    @Test
+    void firstOfTheMonthStartsTakeMonthlyRowsOnly() {
+        assertThat(service.getEmployeeStats(1L, LocalDateTime.of(2026, 3, 1, 0, 0)))
+                .containsEntry("totalDays", days(LocalDate.of(2026, 3, 1)));
+    }
+
+    @Test
+    void startsAfterMidnightSkipToTheNextDay() {
+        assertThat(service.getEmployeeStats(1L, LocalDateTime.of(2026, 2, 28, 9, 30)))
+                .containsEntry("totalDays", days(LocalDate.of(2026, 3, 1)));
+        assertThat(service.getEmployeeStats(1L, LocalDateTime.of(2026, 5, 14, 0, 0, 1)))
+                .containsEntry("totalDays", days(LocalDate.of(2026, 5, 15)));
+    }
+
+    private static long days(LocalDate from) {
+        return LAST.toEpochDay() - from.toEpochDay() + 1;
+    }
+
+    // Answers EMPLOYEE_TOTALS_SQL: daily rows in [dailyFrom, dailyTo) plus monthly rows from monthFrom
+    private static Map<String, Object> totals(RowMapper<Map<String, Object>> mapper, LocalDate dailyFrom,
+                                              LocalDate dailyTo, LocalDate monthFrom) throws Exception {
+        long records = 0;
+        for (LocalDate day = dailyFrom; day.isBefore(dailyTo); day = day.plusDays(1)) {
+            if (!day.isBefore(FIRST) && !day.isAfter(LAST)) {
+                records++;
+            }
+        }
+        for (YearMonth month = YearMonth.from(FIRST); !month.isAfter(YearMonth.from(LAST)); month = month.plusMonths(1)) {
+            if (!month.atDay(1).isBefore(monthFrom)) {
+                records += month.lengthOfMonth();
+            }
+        }
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("records")).thenReturn(records);
+        when(rs.getLong("hours_count")).thenReturn(records);
+        when(rs.getDouble("work_hours")).thenReturn(8.0 * records);
+        return mapper.mapRow(rs, 0);
+    }
+}
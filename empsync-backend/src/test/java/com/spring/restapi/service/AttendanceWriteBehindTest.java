@@ -0,0 +1,323 @@
+package com.spring.restapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.spring.restapi.dto.PunchStatus;
+import com.spring.restapi.models.Attendance;
+import com.spring.restapi.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the writer thread and journal against a stand-in database that can be
+ * taken down, so outages, restarts and crashes can be replayed.
+ */
+class AttendanceWriteBehindTest {
+
+    private static final long TIMEOUT_MS = 5_000;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final AttendanceService attendanceService = mock(AttendanceService.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final List<AttendanceWriteBehind> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (AttendanceWriteBehind writeBehind : started) {
+            writeBehind.shutdown();
+        }
+    }
+
+    @Test
+    void retriesABatchWhileTheDatabaseIsUnreachable() throws Exception {
+        FakeDatabase database = new FakeDatabase(7L);
+        database.failures.set(3);
+        AttendanceWriteBehind writeBehind = start(database);
+
+        String id = writeBehind.submit(AttendanceWriteBehind.CHECK_IN, 7L, "HQ", null).orElseThrow().punchId();
+
+        assertThat(awaitOutcome(writeBehind, id).status()).isEqualTo(PunchStatus.COMMITTED);
+        assertThat(database.calls.get()).isEqualTo(4);
+        assertThat(database.checkedIn).containsExactly(7L);
+        verifyNoInteractions(attendanceService);
+    }
+
+    @Test
+    void replaysPunchesStillPendingAtShutdown() throws Exception {
+        FakeDatabase database = new FakeDatabase(7L);
+        database.down = true;
+        AttendanceWriteBehind first = start(database);
+        String id = first.submit(AttendanceWriteBehind.CHECK_IN, 7L, null, "early").orElseThrow().punchId();
+        Thread.sleep(100);
+        first.shutdown();
+        started.remove(first);
+        assertThat(first.getStatus(id).orElseThrow().status()).isEqualTo(PunchStatus.ACCEPTED);
+
+        database.down = false;
+        AttendanceWriteBehind restarted = start(database);
+
+        assertThat(awaitOutcome(restarted, id).status()).isEqualTo(PunchStatus.COMMITTED);
+        assertThat(database.checkedIn).containsExactly(7L);
+    }
+
+    @Test
+    void definitiveRejectionsLeaveTheJournal() throws Exception {
+        FakeDatabase database = new FakeDatabase(7L);
+        AttendanceWriteBehind first = start(database);
+        when(employeeRepository.existsById(99L)).thenReturn(false);
+
+        String checkOut = first.submit(AttendanceWriteBehind.CHECK_OUT, 7L, null, null).orElseThrow().punchId();
+        String unknown = first.submit(AttendanceWriteBehind.CHECK_IN, 99L, null, null).orElseThrow().punchId();
+
+        assertThat(awaitOutcome(first, checkOut).message()).isEqualTo("No active check-in found for employee today");
+        assertThat(awaitOutcome(first, unknown).message()).isEqualTo("Employee not found with id: 99");
+        first.shutdown();
+        started.remove(first);
+
+        int calls = database.calls.get();
+        AttendanceWriteBehind restarted = start(database);
+        Thread.sleep(100);
+        assertThat(restarted.getStatus(checkOut)).isEmpty();
+        assertThat(restarted.getStatus(unknown)).isEmpty();
+        assertThat(database.calls.get()).isEqualTo(calls);
+    }
+
+    @Test
+    void writesOneByOneAfterAnIntegrityFailureAndRetriesOnlyTransientErrors() throws Exception {
+        FakeDatabase database = new FakeDatabase();
+        database.integrityFailure = true;
+        Attendance attendance = new Attendance();
+        attendance.setId(40L);
+        AtomicInteger attempts = new AtomicInteger();
+        when(attendanceService.checkIn(eq(7L), any(), any(), any())).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new CannotGetJdbcConnectionException("pool exhausted");
+            }
+            return attendance;
+        });
+        when(attendanceService.checkIn(eq(8L), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Employee not found with id: 8"));
+        AttendanceWriteBehind writeBehind = start(database);
+
+        String kept = writeBehind.submit(AttendanceWriteBehind.CHECK_IN, 7L, null, null).orElseThrow().punchId();
+        String rejected = writeBehind.submit(AttendanceWriteBehind.CHECK_IN, 8L, null, null).orElseThrow().punchId();
+
+        assertThat(awaitOutcome(writeBehind, kept).attendanceId()).isEqualTo(40L);
+        assertThat(awaitOutcome(writeBehind, rejected).status()).isEqualTo(PunchStatus.REJECTED);
+        verify(attendanceService, times(2)).checkIn(eq(7L), any(), any(), any());
+        verify(attendanceService, times(1)).checkIn(eq(8L), any(), any(), any());
+    }
+
+    @Test
+    void replaysOnlyPunchesWithoutADoneMarker() throws Exception {
+        String at = LocalDateTime.now().withNano(0).toString();
+        Files.writeString(journal(), String.join("\n",
+                "{\"punch\":{\"id\":\"a\",\"type\":\"check-in\",\"employeeId\":1,\"at\":\"" + at + "\"}}",
+                "{\"punch\":{\"id\":\"b\",\"type\":\"check-in\",\"employeeId\":2,\"at\":\"" + at + "\"}}",
+                "{\"done\":[\"a\"]}",
+                "",
+                "{\"punch\":{\"id\":\"c\",\"type\":\"check-in\",\"employeeId\":3,\"at\":\"" + at + "\"}}",
+                // Torn by a crash mid-append; its request was never acknowledged
+                "{\"punch\":{\"id\":\"d\",\"type\":\"check-in\",\"empl"), StandardCharsets.UTF_8);
+        FakeDatabase database = new FakeDatabase(1L, 2L, 3L);
+
+        AttendanceWriteBehind writeBehind = start(database);
+
+        assertThat(awaitOutcome(writeBehind, "b").status()).isEqualTo(PunchStatus.COMMITTED);
+        assertThat(awaitOutcome(writeBehind, "c").status()).isEqualTo(PunchStatus.COMMITTED);
+        assertThat(writeBehind.getStatus("a")).isEmpty();
+        assertThat(writeBehind.getStatus("d")).isEmpty();
+        assertThat(database.checkedIn).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void everyAcceptedPunchSurvivesACrash() throws Exception {
+        FakeDatabase down = new FakeDatabase();
+        down.down = true;
+        AttendanceWriteBehind crashed = start(down);
+
+        // Concurrent submitters share fsyncs; each must still be on disk once accepted
+        List<String> ids = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Optional<PunchStatus>>> futures = new ArrayList<>();
+            for (long employeeId = 1; employeeId <= 400; employeeId++) {
+                long id = employeeId;
+                futures.add(pool.submit(() -> crashed.submit(AttendanceWriteBehind.CHECK_IN, id, null, null)));
+            }
+            for (Future<Optional<PunchStatus>> future : futures) {
+                ids.add(future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS).orElseThrow().punchId());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // A second instance reads the journal as it was left, without a shutdown
+        FakeDatabase database = new FakeDatabase();
+        for (long employeeId = 1; employeeId <= 400; employeeId++) {
+            database.employees.add(employeeId);
+        }
+        AttendanceWriteBehind recovered = start(database);
+        for (String id : ids) {
+            assertThat(awaitOutcome(recovered, id).status()).isEqualTo(PunchStatus.COMMITTED);
+        }
+        assertThat(database.checkedIn).hasSize(400);
+    }
+
+    private AttendanceWriteBehind start(FakeDatabase database) throws Exception {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        AttendanceWriteBehind writeBehind = new AttendanceWriteBehind();
+        ReflectionTestUtils.setField(writeBehind, "enabled", true);
+        ReflectionTestUtils.setField(writeBehind, "flushIntervalMs", 5L);
+        ReflectionTestUtils.setField(writeBehind, "maxBatch", 100);
+        ReflectionTestUtils.setField(writeBehind, "queueCapacity", 1_000);
+        ReflectionTestUtils.setField(writeBehind, "journalPath", journal().toString());
+        ReflectionTestUtils.setField(writeBehind, "drainTimeoutMs", 200L);
+        ReflectionTestUtils.setField(writeBehind, "statusRetentionMs", 3_600_000L);
+        ReflectionTestUtils.setField(writeBehind, "retryMaxBackoffMs", 20L);
+        ReflectionTestUtils.setField(writeBehind, "jdbcTemplate", database.jdbcTemplate);
+        ReflectionTestUtils.setField(writeBehind, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(writeBehind, "attendanceService", attendanceService);
+        ReflectionTestUtils.setField(writeBehind, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(writeBehind, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(writeBehind, "eventPublisher", mock(ApplicationEventPublisher.class));
+        writeBehind.start();
+        started.add(writeBehind);
+        return writeBehind;
+    }
+
+    private Path journal() {
+        return directory.resolve("attendance-journal.ndjson");
+    }
+
+    private static PunchStatus awaitOutcome(AttendanceWriteBehind writeBehind, String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<PunchStatus> status = writeBehind.getStatus(id);
+            if (status.isPresent() && !PunchStatus.ACCEPTED.equals(status.get().status())) {
+                return status.get();
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Punch " + id + " was not written within " + TIMEOUT_MS + " ms");
+    }
+
+    /**
+     * Answers the batch statements like the attendance table would: check-ins
+     * for known employees on days not yet recorded, check-outs of open days.
+     */
+    private static final class FakeDatabase {
+
+        final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        final Set<Long> employees = new HashSet<>();
+        final List<Long> checkedIn = new ArrayList<>();
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean down;
+        volatile boolean integrityFailure;
+        private final Map<String, Attendance> days = new HashMap<>();
+        private long nextId = 1;
+
+        @SuppressWarnings("unchecked")
+        FakeDatabase(Long... employeeIds) throws Exception {
+            employees.addAll(List.of(employeeIds));
+            when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                    .thenAnswer(invocation -> execute(invocation.getArgument(0), invocation.getArgument(1)));
+        }
+
+        private synchronized List<Attendance> execute(String sql, PreparedStatementSetter setter) throws Exception {
+            calls.incrementAndGet();
+            if (down || failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new CannotGetJdbcConnectionException("Connection refused");
+            }
+            if (integrityFailure) {
+                throw new DataIntegrityViolationException("violates foreign key constraint");
+            }
+
+            List<Object[]> columns = new ArrayList<>();
+            Connection connection = mock(Connection.class);
+            when(connection.createArrayOf(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+                columns.add(invocation.getArgument(1));
+                return null;
+            });
+            PreparedStatement statement = mock(PreparedStatement.class);
+            when(statement.getConnection()).thenReturn(connection);
+            setter.setValues(statement);
+
+            List<Attendance> written = new ArrayList<>();
+            for (int i = 0; i < columns.get(0).length; i++) {
+                Long employeeId = (Long) columns.get(0)[i];
+                Date day = (Date) columns.get(1)[i];
+                Timestamp at = (Timestamp) columns.get(2)[i];
+                String key = employeeId + "|" + day;
+                Attendance existing = days.get(key);
+                if (sql.startsWith("INSERT")) {
+                    if (existing == null && employees.contains(employeeId)) {
+                        Attendance attendance = new Attendance();
+                        attendance.setId(nextId++);
+                        attendance.setEmployeeId(employeeId);
+                        attendance.setWorkDay(day.toLocalDate());
+                        attendance.setCheckIn(at.toLocalDateTime());
+                        days.put(key, attendance);
+                        checkedIn.add(employeeId);
+                        written.add(attendance);
+                    }
+                } else if (existing != null && existing.getCheckOut() == null) {
+                    existing.setCheckOut(at.toLocalDateTime());
+                    written.add(existing);
+                }
+            }
+            return written;
+        }
+    }
+}
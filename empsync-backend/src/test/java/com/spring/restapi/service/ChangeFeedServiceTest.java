@@ -0,0 +1,247 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.ChangeCursor;
+import com.spring.restapi.dto.ChangePage;
+import com.spring.restapi.exception.CursorExpiredException;
+import com.spring.restapi.models.Attendance;
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.AttendanceRepository;
+import com.spring.restapi.repository.EmployeeRepository;
+import com.spring.restapi.repository.PerformanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the service against an in-memory change_log that answers the page
+ * query the way PostgreSQL does: rows after the cursor in (txid, id) order,
+ * below the snapshot horizon, limited.
+ */
+class ChangeFeedServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+
+    private final List<LogRow> changeLog = new ArrayList<>();
+    private final Set<Long> existingEmployees = new HashSet<>();
+    private long horizon = Long.MAX_VALUE;
+    private ChangeCursor prunedThrough;
+
+    private ChangeFeedService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new ChangeFeedService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(service, "attendanceRepository", attendanceRepository);
+        ReflectionTestUtils.setField(service, "performanceRepository", mock(PerformanceRepository.class));
+
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any()))
+                .thenAnswer(invocation -> page(invocation.getArgument(1), invocation.getArgument(2),
+                        invocation.getArgument(3), invocation.getArgument(4)));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
+                .thenAnswer(invocation -> pruned(invocation.getArgument(1)));
+        when(employeeRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Employee> employees = new ArrayList<>();
+            for (Long id : (Iterable<Long>) invocation.getArgument(0)) {
+                if (existingEmployees.contains(id)) {
+                    Employee employee = new Employee();
+                    employee.setId(id);
+                    employees.add(employee);
+                }
+            }
+            return employees;
+        });
+        when(attendanceRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Attendance> rows = new ArrayList<>();
+            for (Long id : (Iterable<Long>) invocation.getArgument(0)) {
+                Attendance attendance = new Attendance();
+                attendance.setId(id);
+                rows.add(attendance);
+            }
+            return rows;
+        });
+    }
+
+    @Test
+    void pagesVisitEveryChangeOnceAcrossTransactionBoundaries() {
+        // Transaction 100 spans the first page boundary, 102 the second
+        log(1, 100, "employees", 1, "INSERT");
+        log(2, 100, "employees", 2, "INSERT");
+        log(3, 100, "employees", 3, "INSERT");
+        log(5, 101, "employees", 4, "INSERT");
+        log(4, 102, "employees", 5, "INSERT");
+        log(6, 102, "employees", 6, "INSERT");
+        existingEmployees.addAll(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        ChangeCursor cursor = ChangeCursor.START;
+        ChangePage page;
+        do {
+            page = service.getChanges(cursor, 2);
+            page.changes().forEach(change -> seen.add(change.id()));
+            pageSizes.add(page.changes().size());
+            cursor = page.next();
+        } while (page.hasMore());
+
+        // Log id 5 commits in an earlier transaction than log id 4, so it comes first
+        assertThat(seen).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(pageSizes).containsExactly(2, 2, 2);
+        assertThat(cursor.getTxid()).isEqualTo(102);
+        assertThat(cursor.getId()).isEqualTo(6);
+
+        ChangePage caughtUp = service.getChanges(cursor, 2);
+        assertThat(caughtUp.changes()).isEmpty();
+        assertThat(caughtUp.hasMore()).isFalse();
+        assertThat(caughtUp.next()).isSameAs(cursor);
+    }
+
+    @Test
+    void hasMoreOnlyWhenRowsRemainPastTheLimit() {
+        log(1, 100, "employees", 1, "INSERT");
+        log(2, 100, "employees", 2, "INSERT");
+        existingEmployees.addAll(List.of(1L, 2L));
+
+        ChangePage exact = service.getChanges(ChangeCursor.START, 2);
+        assertThat(exact.changes()).hasSize(2);
+        assertThat(exact.hasMore()).isFalse();
+
+        ChangePage partial = service.getChanges(ChangeCursor.START, 1);
+        assertThat(partial.changes()).hasSize(1);
+        assertThat(partial.hasMore()).isTrue();
+        assertThat(partial.next().getId()).isEqualTo(1);
+    }
+
+    @Test
+    void stopsAtTheOldestRunningTransaction() {
+        log(1, 100, "employees", 1, "INSERT");
+        log(2, 102, "employees", 2, "INSERT");
+        existingEmployees.addAll(List.of(1L, 2L));
+        horizon = 101;
+
+        ChangePage page = service.getChanges(ChangeCursor.START, 10);
+        assertThat(page.changes()).extracting(ChangePage.Entry::id).containsExactly(1L);
+        assertThat(page.hasMore()).isFalse();
+
+        // Once transaction 101 finishes, the next page picks up 102 from the same cursor
+        horizon = 103;
+        assertThat(service.getChanges(page.next(), 10).changes()).extracting(ChangePage.Entry::id).containsExactly(2L);
+    }
+
+    @Test
+    void collapsesRepeatedChangesToARowWithinAPage() {
+        log(1, 100, "employees", 1, "INSERT");
+        log(2, 100, "attendance", 7, "INSERT");
+        log(3, 101, "employees", 1, "UPDATE");
+        log(4, 101, "employees", 2, "INSERT");
+        log(5, 102, "employees", 2, "UPDATE");
+        existingEmployees.add(1L);
+
+        ChangePage page = service.getChanges(ChangeCursor.START, 10);
+
+        // Ordered by each row's last change; employee 2 is gone, so its update reads as a delete
+        assertThat(page.changes()).extracting(ChangePage.Entry::entity, ChangePage.Entry::id, ChangePage.Entry::operation)
+                .containsExactly(
+                        tuple("attendance", 7L, "INSERT"),
+                        tuple("employee", 1L, "UPDATE"),
+                        tuple("employee", 2L, "DELETE"));
+        assertThat(page.changes().get(2).data()).isNull();
+        assertThat(page.next().getTxid()).isEqualTo(102);
+        assertThat(page.next().getId()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsLimitsOutsideTheRange() {
+        assertThatThrownBy(() -> service.getChanges(ChangeCursor.START, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getChanges(ChangeCursor.START, ChangeFeedService.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void rejectsCursorsBehindThePrunedLog() {
+        log(5, 102, "employees", 1, "INSERT");
+        existingEmployees.add(1L);
+        prunedThrough = new ChangeCursor(101, 4);
+
+        for (ChangeCursor stale : new ChangeCursor[] { ChangeCursor.START, new ChangeCursor(100, 9), new ChangeCursor(101, 3) }) {
+            assertThatThrownBy(() -> service.getChanges(stale, 10)).isInstanceOf(CursorExpiredException.class);
+        }
+        // A client that read the last pruned entry has missed nothing
+        assertThat(service.getChanges(new ChangeCursor(101, 4), 10).changes())
+                .extracting(ChangePage.Entry::id).containsExactly(1L);
+    }
+
+    @Test
+    void headStartsAtTheSnapshotHorizon() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn("4021");
+
+        ChangeCursor head = service.getHead();
+        assertThat(head.getTxid()).isEqualTo(4021);
+        assertThat(head.getId()).isZero();
+    }
+
+    private void log(long id, long txid, String table, long rowId, String operation) {
+        changeLog.add(new LogRow(id, txid, table, rowId, operation));
+    }
+
+    private List<Object> page(RowMapper<?> mapper, String txid, long id, int limit) throws SQLException {
+        long afterTxid = Long.parseLong(txid);
+        List<LogRow> rows = changeLog.stream()
+                .filter(row -> row.txid() > afterTxid || (row.txid() == afterTxid && row.id() > id))
+                .filter(row -> row.txid() < horizon)
+                .sorted(Comparator.comparingLong(LogRow::txid).thenComparingLong(LogRow::id))
+                .limit(limit)
+                .toList();
+
+        List<Object> mapped = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            LogRow row = rows.get(i);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(row.id());
+            when(rs.getString("txid")).thenReturn(Long.toString(row.txid()));
+            when(rs.getString("table_name")).thenReturn(row.table());
+            when(rs.getLong("row_id")).thenReturn(row.rowId());
+            when(rs.getString("operation")).thenReturn(row.operation());
+            mapped.add(mapper.mapRow(rs, i));
+        }
+        return mapped;
+    }
+
+    private List<Object> pruned(RowMapper<?> mapper) throws SQLException {
+        if (prunedThrough == null) {
+            return List.of();
+        }
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("txid")).thenReturn(Long.toString(prunedThrough.getTxid()));
+        when(rs.getLong("id")).thenReturn(prunedThrough.getId());
+        return List.of(mapper.mapRow(rs, 0));
+    }
+
+    private record LogRow(long id, long txid, String table, long rowId, String operation) { }
+}
@@ -0,0 +1,92 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.EmployeeSnapshot;
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeLookupServiceTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+            EmployeeLookupService.EMPLOYEES_BY_ID, EmployeeLookupService.EMPLOYEES_BY_EMAIL);
+
+    private EmployeeLookupService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmployeeLookupService();
+        ReflectionTestUtils.setField(service, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(service, "cacheManager", cacheManager);
+    }
+
+    @Test
+    void servesRepeatedLookupsWithoutAQuery() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee(1L, "a@x.com", 3L)));
+
+        assertThat(service.findById(1L)).get().extracting(Employee::getVersion).isEqualTo(3L);
+        assertThat(service.findById(1L)).get().extracting(Employee::getVersion).isEqualTo(3L);
+        verify(employeeRepository, times(1)).findById(1L);
+        verify(employeeRepository, never()).findVersionById(1L);
+    }
+
+    @Test
+    void doesNotCacheARowReadBeforeAnEvictionThatLandedDuringTheLoad() {
+        // The reader reads version 1, then the update to version 2 commits and evicts before the reader caches
+        when(employeeRepository.findById(1L)).thenAnswer(invocation -> {
+            service.onEmployeeChanged(EmployeeChangedEvent.updated(snapshot(1L, "a@x.com"), snapshot(1L, "a@x.com"), 1L));
+            return Optional.of(employee(1L, "a@x.com", 1L));
+        });
+        when(employeeRepository.findByEmail("a@x.com")).thenAnswer(invocation -> {
+            service.onEmployeeChanged(EmployeeChangedEvent.updated(snapshot(1L, "a@x.com"), snapshot(1L, "a@x.com"), 1L));
+            return Optional.of(employee(1L, "a@x.com", 1L));
+        });
+
+        assertThat(service.findById(1L)).get().extracting(Employee::getVersion).isEqualTo(1L);
+        assertThat(service.findByEmail("a@x.com")).get().extracting(Employee::getVersion).isEqualTo(1L);
+        assertThat(cacheManager.getCache(EmployeeLookupService.EMPLOYEES_BY_ID).get(1L)).isNull();
+        assertThat(cacheManager.getCache(EmployeeLookupService.EMPLOYEES_BY_EMAIL).get("a@x.com")).isNull();
+    }
+
+    @Test
+    void reloadsWhenTheConditionalGetVersionIsNewer() {
+        cacheManager.getCache(EmployeeLookupService.EMPLOYEES_BY_ID).put(1L, employee(1L, "a@x.com", 1L));
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee(1L, "a@x.com", 2L)));
+
+        assertThat(service.findById(1L, Optional.of(2L))).get().extracting(Employee::getVersion).isEqualTo(2L);
+        assertThat(cacheManager.getCache(EmployeeLookupService.EMPLOYEES_BY_ID).get(1L, Employee.class).getVersion())
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void dropsACachedEmployeeThatWasDeleted() {
+        cacheManager.getCache(EmployeeLookupService.EMPLOYEES_BY_ID).put(1L, employee(1L, "a@x.com", 1L));
+
+        assertThat(service.findById(1L, Optional.empty())).isEmpty();
+        assertThat(cacheManager.getCache(EmployeeLookupService.EMPLOYEES_BY_ID).get(1L)).isNull();
+    }
+
+    private static EmployeeSnapshot snapshot(Long id, String email) {
+        return new EmployeeSnapshot(id, email, null, null, null, null, null);
+    }
+
+    private static Employee employee(Long id, String email, Long version) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmail(email);
+        employee.setVersion(version);
+        return employee;
+    }
+}
@@ -0,0 +1,140 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.EmployeeSnapshot;
+import com.spring.restapi.models.Attendance;
+import com.spring.restapi.models.Employee;
+import com.spring.restapi.repository.AttendanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PresenceIndexTest {
+
+    private final AttendanceRepository attendanceRepository = mock(AttendanceRepository.class);
+    private final EmployeeLookupService employeeLookupService = mock(EmployeeLookupService.class);
+
+    private final List<Object[]> openRows = new ArrayList<>();
+    private Runnable duringQuery = () -> { };
+
+    private PresenceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PresenceIndex();
+        ReflectionTestUtils.setField(index, "attendanceRepository", attendanceRepository);
+        ReflectionTestUtils.setField(index, "employeeLookupService", employeeLookupService);
+
+        when(employeeLookupService.findById(anyLong())).thenAnswer(invocation ->
+                Optional.of(employee(invocation.getArgument(0), "Engineering")));
+        when(attendanceRepository.findActiveAttendancesWithDepartment()).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>(openRows);
+            // Commits that land after the query's snapshot but before the rebuild installs its state
+            duringQuery.run();
+            return rows;
+        });
+    }
+
+    @Test
+    void aLateCheckOutOfAnEarlierAttendanceKeepsTheNewerCheckIn() {
+        index.rebuild();
+
+        index.onAttendanceChanged(event(AttendanceChangedEvent.CHECK_IN, 10L, 1L, LocalDate.of(2026, 10, 16)));
+        index.onAttendanceChanged(event(AttendanceChangedEvent.CHECK_IN, 11L, 1L, LocalDate.of(2026, 10, 17)));
+        index.onAttendanceChanged(event(AttendanceChangedEvent.CHECK_OUT, 10L, 1L, LocalDate.of(2026, 10, 16)));
+
+        assertThat(index.getActive(1L)).get().extracting(Attendance::getId).isEqualTo(11L);
+        assertThat(index.getActiveCount()).isEqualTo(1);
+        assertThat(index.getCountsByDepartment()).containsExactly(Map.entry("Engineering", 1L));
+
+        index.onAttendanceChanged(event(AttendanceChangedEvent.CHECK_OUT, 11L, 1L, LocalDate.of(2026, 10, 17)));
+        assertThat(index.getActive(1L)).isEmpty();
+        assertThat(index.getCountsByDepartment()).isEmpty();
+    }
+
+    @Test
+    void changesDuringARebuildAreReappliedOverItsSnapshot() {
+        // The query still sees employee 1 checked in and misses employee 2's check-in
+        openRows.add(new Object[] { attendance(10L, 1L, LocalDate.of(2026, 10, 17)), "Engineering" });
+        duringQuery = () -> {
+            index.onAttendanceChanged(event(AttendanceChangedEvent.CHECK_OUT, 10L, 1L, LocalDate.of(2026, 10, 17)));
+            index.onAttendanceChanged(event(AttendanceChangedEvent.CHECK_IN, 20L, 2L, LocalDate.of(2026, 10, 17)));
+        };
+
+        index.rebuild();
+
+        assertThat(index.getActive(1L)).isEmpty();
+        assertThat(index.getActive(2L)).get().extracting(Attendance::getId).isEqualTo(20L);
+        assertThat(index.getCountsByDepartment()).containsExactly(Map.entry("Engineering", 1L));
+    }
+
+    @Test
+    void checkInAndCheckOutDuringARebuildLeaveTheEmployeeOut() {
+        // The query sees the check-in; both events are replayed after it, in commit order
+        openRows.add(new Object[] { attendance(10L, 1L, LocalDate.of(2026, 10, 17)), "Engineering" });
+        duringQuery = () -> {
+            index.onAttendanceChanged(event(AttendanceChangedEvent.CHECK_IN, 10L, 1L, LocalDate.of(2026, 10, 17)));
+            index.onAttendanceChanged(event(AttendanceChangedEvent.CHECK_OUT, 10L, 1L, LocalDate.of(2026, 10, 17)));
+        };
+
+        index.rebuild();
+
+        assertThat(index.getActive(1L)).isEmpty();
+        assertThat(index.getActiveCount()).isZero();
+        assertThat(index.getCountsByDepartment()).isEmpty();
+    }
+
+    @Test
+    void departmentMovesAndDeletesFollowTheEmployee() {
+        index.rebuild();
+        index.onAttendanceChanged(event(AttendanceChangedEvent.CHECK_IN, 10L, 1L, LocalDate.of(2026, 10, 17)));
+
+        Employee before = employee(1L, "Engineering");
+        Employee after = employee(1L, "Sales");
+        index.onEmployeeChanged(EmployeeChangedEvent.updated(EmployeeSnapshot.of(before), EmployeeSnapshot.of(after), 1L));
+        assertThat(index.getCountsByDepartment()).containsExactly(Map.entry("Sales", 1L));
+
+        index.onEmployeeChanged(EmployeeChangedEvent.deleted(EmployeeSnapshot.of(after), 2L));
+        assertThat(index.getActive(1L)).isEmpty();
+        assertThat(index.getCountsByDepartment()).isEmpty();
+    }
+
+    private static AttendanceChangedEvent event(String type, Long attendanceId, Long employeeId, LocalDate day) {
+        LocalDateTime checkIn = day.atTime(9, 0);
+        LocalDateTime checkOut = AttendanceChangedEvent.CHECK_OUT.equals(type) ? day.atTime(18, 0) : null;
+        return new AttendanceChangedEvent(type, attendanceId, employeeId, day.atStartOfDay(), checkIn, checkOut,
+                "Present", null, null);
+    }
+
+    private static Attendance attendance(Long id, Long employeeId, LocalDate day) {
+        Attendance attendance = new Attendance();
+        attendance.setId(id);
+        attendance.setEmployeeId(employeeId);
+        attendance.setDate(day.atStartOfDay());
+        attendance.setWorkDay(day);
+        attendance.setCheckIn(day.atTime(9, 0));
+        attendance.setStatus("Present");
+        return attendance;
+    }
+
+    private static Employee employee(Long id, String department) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmail("employee" + id + "@example.com");
+        employee.setDepartment(department);
+        employee.setSalary(BigDecimal.valueOf(1000));
+        return employee;
+    }
+}
@@ -0,0 +1,61 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.EmployeeSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SalaryAnalyticsServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private SalaryAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SalaryAnalyticsService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void replaysOnlyChangesTheScanDidNotSee() throws Exception {
+        // Transaction 101 committed before the scan's snapshot, 102 was still running
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn("100:105:102");
+        ResultSet row = mock(ResultSet.class);
+        when(row.getBigDecimal("salary")).thenReturn(new BigDecimal("1000"));
+        when(row.getString("department")).thenReturn("Sales");
+        when(row.getString("position")).thenReturn("Rep");
+        doAnswer(invocation -> {
+            // Both are delivered while the scan runs; only 101's row is in it
+            service.onEmployeeChanged(EmployeeChangedEvent.inserted(employee(1L, "1000"), 101L));
+            service.onEmployeeChanged(EmployeeChangedEvent.inserted(employee(2L, "2000"), 102L));
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        service.rebuild();
+
+        assertThat(service.getByDepartment(4).get("Sales").count()).isEqualTo(2);
+        assertThat(service.getByDepartment(4).get("Sales").total()).isEqualByComparingTo("3000");
+    }
+
+    private static EmployeeSnapshot employee(Long id, String salary) {
+        return new EmployeeSnapshot(id, "e" + id + "@x.com", "Sales", "Rep", new BigDecimal(salary), "Male", "Active");
+    }
+}
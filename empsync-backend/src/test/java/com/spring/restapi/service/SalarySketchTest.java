@@ -0,0 +1,148 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.dto.SalaryDistribution;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SalarySketchTest {
+
+    @Test
+    void quantilesStayWithinTheRelativeAccuracy() {
+        List<BigDecimal> salaries = salaries(new Random(42), 20_000);
+        SalarySketch sketch = new SalarySketch();
+        salaries.forEach(sketch::add);
+
+        double[] sorted = sorted(salaries);
+        for (double q = 0; q <= 1.0; q += 0.01) {
+            assertWithinAccuracy(sketch.quantile(q), sorted, q);
+        }
+    }
+
+    @Test
+    void mergedSketchesMatchOneSketchOverAllValues() {
+        Random random = new Random(7);
+        List<BigDecimal> all = new ArrayList<>();
+        List<SalarySketch> parts = new ArrayList<>();
+        for (int part = 0; part < 4; part++) {
+            SalarySketch sketch = new SalarySketch();
+            for (BigDecimal salary : salaries(random, 2_500 * (part + 1))) {
+                sketch.add(salary);
+                all.add(salary);
+            }
+            parts.add(sketch);
+        }
+        SalarySketch merged = SalarySketch.merge(parts);
+
+        double[] sorted = sorted(all);
+        for (double q : SalarySketch.QUANTILES) {
+            assertWithinAccuracy(merged.quantile(q), sorted, q);
+        }
+        assertThat(merged.summarize(10).count()).isEqualTo(all.size());
+    }
+
+    @Test
+    void removalsKeepTheBoundForWhatRemains() {
+        List<BigDecimal> salaries = salaries(new Random(3), 10_000);
+        SalarySketch sketch = new SalarySketch();
+        salaries.forEach(sketch::add);
+        List<BigDecimal> kept = new ArrayList<>(salaries.subList(0, 4_000));
+        salaries.subList(4_000, salaries.size()).forEach(sketch::remove);
+
+        double[] sorted = sorted(kept);
+        for (double q : SalarySketch.QUANTILES) {
+            assertWithinAccuracy(sketch.quantile(q), sorted, q);
+        }
+        kept.forEach(sketch::remove);
+        assertThat(sketch.isEmpty()).isTrue();
+    }
+
+    @Test
+    void ignoresRemovalsOfValuesNeverAdded() {
+        SalarySketch sketch = new SalarySketch();
+        sketch.add(new BigDecimal("50000.00"));
+        sketch.remove(new BigDecimal("9000000.00"));
+        sketch.remove(BigDecimal.ZERO);
+
+        assertThat(sketch.summarize(1).count()).isEqualTo(1);
+        assertThat(sketch.quantile(0.5)).isCloseTo(50_000, within(500.0));
+    }
+
+    @Test
+    void summaryTotalsAreExact() {
+        SalarySketch sketch = new SalarySketch();
+        sketch.add(BigDecimal.ZERO);
+        sketch.add(new BigDecimal("300000.10"));
+        sketch.add(new BigDecimal("450000.25"));
+        sketch.add(new BigDecimal("1200000.00"));
+
+        SalaryDistribution distribution = sketch.summarize(4);
+        assertThat(distribution.count()).isEqualTo(4);
+        assertThat(distribution.total()).isEqualByComparingTo("1950000.35");
+        assertThat(distribution.mean()).isEqualByComparingTo("487500.09");
+        assertThat(distribution.min()).isEqualByComparingTo("0.00");
+        assertThat(distribution.max()).isEqualByComparingTo("1200000.00");
+        assertThat(distribution.histogram()).hasSize(4);
+        assertThat(distribution.histogram().stream().mapToLong(SalaryDistribution.Bin::count).sum()).isEqualTo(4);
+        assertThat(distribution.percentiles()).containsOnlyKeys("p10", "p25", "p50", "p75", "p90", "p99");
+    }
+
+    @Test
+    void extremesAreExactAndBoundThePercentiles() {
+        SalarySketch sketch = new SalarySketch();
+        sketch.add(new BigDecimal("51234.56"));
+
+        SalaryDistribution single = sketch.summarize(3);
+        assertThat(single.min()).isEqualByComparingTo("51234.56");
+        assertThat(single.max()).isEqualByComparingTo("51234.56");
+        assertThat(single.percentiles().values()).allSatisfy(p -> assertThat(p).isEqualByComparingTo("51234.56"));
+
+        sketch.add(new BigDecimal("40000.01"));
+        sketch.add(new BigDecimal("40000.01"));
+        sketch.remove(new BigDecimal("40000.01"));
+        SalaryDistribution merged = SalarySketch.merge(List.of(sketch, new SalarySketch())).summarize(3);
+        assertThat(merged.min()).isEqualByComparingTo("40000.01");
+        assertThat(merged.max()).isEqualByComparingTo("51234.56");
+        assertThat(merged.percentiles().get("p99")).isLessThanOrEqualTo(new BigDecimal("51234.56"));
+        assertThat(merged.relativeAccuracy()).isEqualTo(SalarySketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    void summarizesAnEmptySketch() {
+        SalaryDistribution distribution = new SalarySketch().summarize(5);
+        assertThat(distribution.count()).isZero();
+        assertThat(distribution.histogram()).isEmpty();
+    }
+
+    // Log-uniform between 10 thousand and 10 million
+    private static List<BigDecimal> salaries(Random random, int n) {
+        List<BigDecimal> salaries = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double value = Math.exp(Math.log(10_000) + random.nextDouble() * Math.log(1_000));
+            salaries.add(BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP));
+        }
+        return salaries;
+    }
+
+    private static double[] sorted(List<BigDecimal> salaries) {
+        double[] values = salaries.stream().mapToDouble(BigDecimal::doubleValue).toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    // The sketch ranks like quantile(): the value at floor(q * (n - 1))
+    private static void assertWithinAccuracy(double estimate, double[] sorted, double q) {
+        double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+        assertThat(Math.abs(estimate - exact) / exact)
+                .as("p%.2f: estimate %.2f, exact %.2f", q, estimate, exact)
+                .isLessThanOrEqualTo(SalarySketch.RELATIVE_ACCURACY + 1e-9);
+    }
+}
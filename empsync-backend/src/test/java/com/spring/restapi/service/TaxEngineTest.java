@@ -0,0 +1,158 @@
+package com.spring.restapi.service;
+
+import com.spring.restapi.config.PayrollRulesProperties;
+import com.spring.restapi.models.TaxSlab;
+import com.spring.restapi.repository.TaxSlabRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class TaxEngineTest {
+
+    private static final String DEFAULT_SLABS = "0:0,250000:5,500000:20,1000000:30";
+
+    private final TaxSlabRepository taxSlabRepository = mock(TaxSlabRepository.class);
+
+    @Test
+    void computesSlabTaxBonusAndPfInPaise() {
+        TaxEngine.PayrollRules rules = engine(DEFAULT_SLABS, "10", "12").getRules();
+
+        long[] salaries = paise("0", "250000", "500000", "1000000", "1500000");
+        long[] bonus = new long[salaries.length];
+        long[] pf = new long[salaries.length];
+        long[] tax = new long[salaries.length];
+        rules.computeColumn(salaries, bonus, pf, tax);
+
+        assertThat(tax).containsExactly(paise("0", "0", "12500", "112500", "262500"));
+        assertThat(bonus).containsExactly(paise("0", "25000", "50000", "100000", "150000"));
+        assertThat(pf).containsExactly(paise("0", "30000", "60000", "120000", "180000"));
+    }
+
+    @Test
+    void roundsHalfUpToThePaisa() {
+        // 12.34% in basis points: 1234
+        TaxEngine.PayrollRules rules = engine("0:12.34", "12.34", "0.01").getRules();
+
+        // 0.05 rupees: 5 * 1234 / 10000 = 0.617 paise, rounded to 1
+        assertThat(rules.bonus(5)).isEqualTo(1);
+        // 0.04 rupees: 0.4936 paise, rounded to 0
+        assertThat(rules.bonus(4)).isEqualTo(0);
+        // 50 paise at 1 basis point is exactly half a paisa, rounded up
+        assertThat(rules.pf(5_000)).isEqualTo(1);
+        assertThat(rules.pf(4_999)).isEqualTo(0);
+        assertThat(rules.tax(100_00)).isEqualTo(1_234);
+    }
+
+    @Test
+    void convertsAmountsAndRatesHalfUp() {
+        assertThat(TaxEngine.toPaise(new BigDecimal("12.345"))).isEqualTo(1_235);
+        assertThat(TaxEngine.toPaise(new BigDecimal("12.344"))).isEqualTo(1_234);
+        assertThat(TaxEngine.toPaise(new BigDecimal("1E+3"))).isEqualTo(100_000);
+        assertThat(TaxEngine.fromPaise(1_235)).isEqualByComparingTo("12.35");
+
+        TaxEngine.PayrollRules rules = engine("0:5.005", "10.005", "0").getRules();
+        assertThat(rules.getBonusRatePercent()).isEqualByComparingTo("10.01");
+        assertThat(rules.getSlabs().get(0).get("ratePercent")).isEqualTo(new BigDecimal("5.01"));
+    }
+
+    @Test
+    void columnMatchesPerSalaryComputation() {
+        TaxEngine.PayrollRules rules = engine(DEFAULT_SLABS, "8.33", "12").getRules();
+        Random random = new Random(11);
+        long[] salaries = new long[5_000];
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = i < 8 ? new long[] { 0, 1, 25_000_000, 25_000_001, 50_000_000, 50_000_001,
+                    100_000_000, 100_000_001 }[i] : (long) (random.nextDouble() * 500_000_000L);
+        }
+        long[] bonus = new long[salaries.length];
+        long[] pf = new long[salaries.length];
+        long[] tax = new long[salaries.length];
+        rules.computeColumn(salaries, bonus, pf, tax);
+
+        for (int i = 0; i < salaries.length; i++) {
+            assertThat(tax[i]).as("tax on %d paise", salaries[i]).isEqualTo(rules.tax(salaries[i]));
+            assertThat(bonus[i]).isEqualTo(rules.bonus(salaries[i]));
+            assertThat(pf[i]).isEqualTo(rules.pf(salaries[i]));
+        }
+    }
+
+    @Test
+    void addsAZeroSlabWhenTheTableStartsHigher() {
+        TaxEngine.PayrollRules rules = engine("300000:10", "10", "12").getRules();
+
+        assertThat(rules.getSlabs()).hasSize(2);
+        assertThat(rules.getSlabs().get(0).get("lowerBound")).isEqualTo(TaxEngine.fromPaise(0));
+        assertThat(rules.tax(TaxEngine.toPaise(new BigDecimal("300000")))).isZero();
+        assertThat(rules.tax(TaxEngine.toPaise(new BigDecimal("400000")))).isEqualTo(TaxEngine.toPaise(new BigDecimal("10000")));
+    }
+
+    @Test
+    void rejectsInvalidTables() {
+        assertThatThrownBy(() -> engine("0:0,100:101", "10", "12"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("between 0 and 100%");
+        assertThatThrownBy(() -> engine("0:0,-5:10", "10", "12"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> engine("0:0,0:10", "10", "12"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate tax slab lower bound");
+        assertThatThrownBy(() -> engine("0:0,250000", "10", "12"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid slab");
+    }
+
+    @Test
+    void replaceTableValidatesBeforeTouchingStoredSlabs() {
+        TaxEngine engine = engine(DEFAULT_SLABS, "10", "12");
+
+        assertThatThrownBy(() -> engine.replaceTable("2025-26", "old", List.of(
+                new TaxSlab(null, null, new BigDecimal("0"), new BigDecimal("5")),
+                new TaxSlab(null, null, new BigDecimal("0"), new BigDecimal("10")))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(taxSlabRepository, never()).deleteTable(any(), any());
+        verify(taxSlabRepository, never()).save(any());
+    }
+
+    @Test
+    void versionOnlyChangesWithTheEffectiveRules() {
+        int version = engine(DEFAULT_SLABS, "10", "12").getRules().getVersion();
+
+        assertThat(engine("250000:5,0:0,1000000:30,500000:20", "10", "12").getRules().getVersion()).isEqualTo(version);
+        assertThat(engine(DEFAULT_SLABS, "10", "12.5").getRules().getVersion()).isNotEqualTo(version);
+        assertThat(engine("0:0,250000:5,500000:20,1000000:31", "10", "12").getRules().getVersion()).isNotEqualTo(version);
+    }
+
+    private TaxEngine engine(String slabs, String bonusRatePercent, String pfRatePercent) {
+        PayrollRulesProperties properties = new PayrollRulesProperties();
+        properties.setFinancialYear("2025-26");
+        properties.setBonusRatePercent(new BigDecimal(bonusRatePercent));
+        properties.setPfRatePercent(new BigDecimal(pfRatePercent));
+        properties.setTaxTables(new LinkedHashMap<>(Map.of("2025-26.OLD", slabs)));
+
+        TaxEngine engine = new TaxEngine();
+        ReflectionTestUtils.setField(engine, "properties", properties);
+        ReflectionTestUtils.setField(engine, "taxSlabRepository", taxSlabRepository);
+        engine.reload();
+        return engine;
+    }
+
+    private static long[] paise(String... rupees) {
+        long[] paise = new long[rupees.length];
+        for (int i = 0; i < rupees.length; i++) {
+            paise[i] = TaxEngine.toPaise(new BigDecimal(rupees[i]));
+        }
+        return paise;
+    }
+}
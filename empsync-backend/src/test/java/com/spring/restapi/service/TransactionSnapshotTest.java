@@ -0,0 +1,20 @@
+package com.spring.restapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionSnapshotTest {
+
+    @Test
+    void treatsRunningAndLaterTransactionsAsInvisible() {
+        TransactionSnapshot snapshot = TransactionSnapshot.parse("100:105:101,103");
+
+        assertThat(snapshot.isVisible(99)).isTrue();
+        assertThat(snapshot.isVisible(102)).isTrue();
+        assertThat(snapshot.isVisible(101)).isFalse();
+        assertThat(snapshot.isVisible(103)).isFalse();
+        assertThat(snapshot.isVisible(105)).isFalse();
+        assertThat(TransactionSnapshot.parse("100:100:").isVisible(100)).isFalse();
+    }
+}